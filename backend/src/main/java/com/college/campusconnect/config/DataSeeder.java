@@ -1,16 +1,22 @@
 package com.college.campusconnect.config;
 
 import com.college.campusconnect.entity.Role;
+import com.college.campusconnect.repository.EventRepository;
 import com.college.campusconnect.repository.RoleRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
 
+// First of the startup runners: others (e.g. the load-test dataset) rely on the roles
 @Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
 @RequiredArgsConstructor
 public class DataSeeder implements CommandLineRunner {
 
     private final RoleRepository roleRepository;
+    private final EventRepository eventRepository;
 
     @Override
     public void run(String... args) throws Exception {
@@ -34,5 +40,9 @@ public class DataSeeder implements CommandLineRunner {
             facultyRole.setName("ROLE_FACULTY");
             roleRepository.save(facultyRole);
         }
+
+        // Bring the denormalized attendee counters in line with the registrations table
+        // (fills the column for events created before it existed)
+        eventRepository.resyncRegisteredCounts();
     }
 }
\ No newline at end of file
@@ -0,0 +1,46 @@
+package com.college.campusconnect.config;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+// Moves the users/events table generators past ids that were assigned without them.
+// Runs while the context is being built, so before the web server takes requests: an
+// insert can never draw a block from a generator that still overlaps existing rows.
+// Depends on the entity manager factory, which creates or updates the schema first.
+@Component
+@DependsOn("entityManagerFactory")
+@RequiredArgsConstructor
+public class IdGeneratorAligner {
+
+    // allocationSize of the users/events table generators
+    private static final int ID_BLOCK = 50;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // Also called after rows were inserted with explicit ids, bypassing the generators
+    @PostConstruct
+    public void alignIdGenerators() {
+        alignIdGenerator("users", "users");
+        alignIdGenerator("events", "events");
+    }
+
+    // Rows inserted while the ids were IDENTITY columns are unknown to the table generator.
+    // A pooled block read from the generator ends at the stored value, so keeping that value
+    // at least one block above the highest id means no block can reach an existing row.
+    // The value is only ever raised, which is safe while other instances hold blocks.
+    private void alignIdGenerator(String name, String table) {
+        Long maxId = jdbcTemplate.queryForObject("select coalesce(max(id), 0) from " + table, Long.class);
+        long floor = maxId + ID_BLOCK + 1;
+        Integer rows = jdbcTemplate.queryForObject(
+                "select count(*) from id_generators where sequence_name = ?", Integer.class, name);
+        if (rows == 0) {
+            jdbcTemplate.update("insert into id_generators (sequence_name, next_val) values (?, ?)", name, floor);
+        } else {
+            jdbcTemplate.update("update id_generators set next_val = ? where sequence_name = ? and next_val < ?",
+                    floor, name, floor);
+        }
+    }
+}
@@ -1,28 +1,49 @@
 package com.college.campusconnect.config;
 
+import com.college.campusconnect.dto.TokenClaims;
 import com.college.campusconnect.service.JwtService;
+import com.college.campusconnect.service.TokenRevocationService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import lombok.RequiredArgsConstructor;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 @Component
-@RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
-    private final UserDetailsService userDetailsService;
+    private final TokenRevocationService tokenRevocationService;
+
+    // Time spent checking bearer tokens, by result (valid, invalid, revoked)
+    private final Timer validTokens;
+    private final Timer invalidTokens;
+    private final Timer revokedTokens;
+
+    public JwtAuthenticationFilter(
+            JwtService jwtService,
+            TokenRevocationService tokenRevocationService,
+            MeterRegistry meterRegistry
+    ) {
+        this.jwtService = jwtService;
+        this.tokenRevocationService = tokenRevocationService;
+        this.validTokens = tokenTimer(meterRegistry, "valid");
+        this.invalidTokens = tokenTimer(meterRegistry, "invalid");
+        this.revokedTokens = tokenTimer(meterRegistry, "revoked");
+    }
 
     @Override
     protected void doFilterInternal(
@@ -33,7 +54,6 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         final String authHeader = request.getHeader("Authorization");
         final String jwt;
-        final String userEmail;
 
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
             filterChain.doFilter(request, response);
@@ -41,15 +61,27 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
 
         jwt = authHeader.substring(7); // "Bearer ".length()
-        userEmail = jwtService.extractUsername(jwt);
 
-        if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = this.userDetailsService.loadUserByUsername(userEmail);
-            if (jwtService.isTokenValid(jwt, userDetails)) {
+        // One parse verifies signature and expiry; an invalid token simply leaves the request anonymous
+        long started = System.nanoTime();
+        Optional<TokenClaims> claims = jwtService.validateToken(jwt);
+        Timer timer = claims.isPresent() ? validTokens : invalidTokens;
+
+        if (claims.isPresent() && SecurityContextHolder.getContext().getAuthentication() == null) {
+            TokenClaims tokenClaims = claims.get();
+
+            // Stateless: the principal (the user's email) and roles come from the signed token,
+            // so no database lookup is needed. Only users whose tokens were revoked are checked.
+            if (tokenRevocationService.isRevoked(tokenClaims.getSubject(), tokenClaims.getTokenVersion())) {
+                timer = revokedTokens;
+            } else {
+                List<SimpleGrantedAuthority> authorities = tokenClaims.getRoles().stream()
+                        .map(SimpleGrantedAuthority::new)
+                        .toList();
                 UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                        userDetails,
+                        tokenClaims.getSubject(),
                         null,
-                        userDetails.getAuthorities()
+                        authorities
                 );
                 authToken.setDetails(
                         new WebAuthenticationDetailsSource().buildDetails(request)
@@ -57,6 +89,14 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                 SecurityContextHolder.getContext().setAuthentication(authToken);
             }
         }
+        timer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
         filterChain.doFilter(request, response);
     }
-}
\ No newline at end of file
+
+    private static Timer tokenTimer(MeterRegistry meterRegistry, String result) {
+        return Timer.builder("auth.jwt.validation")
+                .description("Bearer token checks")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,181 @@
+package com.college.campusconnect.config;
+
+import com.college.campusconnect.service.RateLimitService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.SequenceInputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Answers 429 with Retry-After once a caller goes over a limit in {@link RateLimitService}.
+ * Runs right after the JWT filter, so per-user limits see the signed-in user.
+ */
+@Component
+@RequiredArgsConstructor
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    // Plenty for a login or sign-up form; larger bodies are not buffered to find the email
+    private static final int MAX_ACCOUNT_BODY = 8 * 1024;
+
+    private final RateLimitService rateLimitService;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+
+        // The client address; behind a proxy this comes from X-Forwarded-For (server.forward-headers-strategy)
+        AccountReader account = new AccountReader(request);
+        RateLimitService.Rejection rejection = rateLimitService.check(
+                request.getMethod(), request.getRequestURI(), request.getRemoteAddr(), currentUser(), account::email);
+        if (rejection == null) {
+            filterChain.doFilter(account.request(), response);
+            return;
+        }
+
+        // Whole seconds, rounded up so a client that waits that long gets through
+        long seconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(rejection.retryAfterNanos() + 999_999_999L));
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(seconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getWriter().write("{\"status\":429,\"error\":\"Too Many Requests\","
+                + "\"message\":\"Too many requests. Please try again in " + seconds + " seconds.\"}");
+    }
+
+    private static String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || authentication instanceof AnonymousAuthenticationToken
+                || !authentication.isAuthenticated()) {
+            return null;
+        }
+        return authentication.getName();
+    }
+
+    // Login and sign-up are also limited per account, named by the email in their JSON body.
+    // The body is only read when such a route asks for it, and then at most MAX_ACCOUNT_BODY
+    // bytes of it: a larger body gets no account key (only the per-IP limit). Whatever was read
+    // is replayed downstream ahead of the rest of the stream.
+    private final class AccountReader {
+
+        private final HttpServletRequest request;
+        private byte[] head;
+
+        AccountReader(HttpServletRequest request) {
+            this.request = request;
+        }
+
+        String email() {
+            if (request.getContentLengthLong() > MAX_ACCOUNT_BODY) {
+                return null;
+            }
+            try {
+                head = request.getInputStream().readNBytes(MAX_ACCOUNT_BODY + 1);
+                if (head.length > MAX_ACCOUNT_BODY) {
+                    return null;
+                }
+                JsonNode email = objectMapper.readTree(head).path("email");
+                return email.isTextual() ? email.asText().trim().toLowerCase(Locale.ROOT) : null;
+            } catch (IOException e) {
+                // Not JSON (or not readable): the controller will refuse it, no account to count
+                if (head == null) {
+                    head = new byte[0];
+                }
+                return null;
+            }
+        }
+
+        HttpServletRequest request() {
+            return head == null ? request : new ReplayedHeadRequest(request, head);
+        }
+    }
+
+    private static final class ReplayedHeadRequest extends HttpServletRequestWrapper {
+
+        private final byte[] head;
+        private ServletInputStream body;
+
+        ReplayedHeadRequest(HttpServletRequest request, byte[] head) {
+            super(request);
+            this.head = head;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() throws IOException {
+            if (body == null) {
+                body = replay(new SequenceInputStream(new ByteArrayInputStream(head), super.getInputStream()));
+            }
+            return body;
+        }
+
+        private static ServletInputStream replay(InputStream in) {
+            return new ServletInputStream() {
+                private boolean finished;
+
+                @Override
+                public int read() throws IOException {
+                    int b = in.read();
+                    finished = b < 0;
+                    return b;
+                }
+
+                @Override
+                public int read(byte[] buffer, int offset, int length) throws IOException {
+                    int n = in.read(buffer, offset, length);
+                    finished = n < 0;
+                    return n;
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return finished;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    throw new UnsupportedOperationException("The body is read blocking after the rate-limit check");
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() throws IOException {
+            String encoding = getCharacterEncoding();
+            Charset charset = encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8;
+            return new BufferedReader(new InputStreamReader(getInputStream(), charset));
+        }
+    }
+}
@@ -1,8 +1,12 @@
 package com.college.campusconnect.config;
 
+import com.college.campusconnect.controller.PublicController;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationProvider;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -24,6 +28,7 @@ import java.util.Arrays;
 public class SecurityConfig {
 
     private final JwtAuthenticationFilter jwtAuthFilter;
+    private final RateLimitFilter rateLimitFilter;
     private final AuthenticationProvider authenticationProvider;
 
     @Bean
@@ -32,23 +37,39 @@ public class SecurityConfig {
                 .csrf(AbstractHttpConfigurer::disable)
                 .cors(cors -> cors.configurationSource(corsConfigurationSource()))
                 .authorizeHttpRequests(auth -> auth
+                        // Container re-dispatches (streamed body completion, error pages) of a request
+                        // that was already authorized on the way in
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC, DispatcherType.ERROR).permitAll()
+
                         // Public endpoints
                         .requestMatchers(
                                 "/api/auth/**",
-                                "/api/public/**"
+                                "/api/public/**",
+                                "/uploads/**"
                         ).permitAll()
 
+                        // Liveness check; details stay on the admin-only actuator endpoint
+                        .requestMatchers(HttpMethod.GET, "/api/health").permitAll()
+
+                        // Payment gateway callbacks, authenticated by their signature
+                        .requestMatchers(HttpMethod.POST, "/api/payment/webhook").permitAll()
+
                         // User endpoints
                         .requestMatchers("/api/user/**").hasAnyRole("STUDENT", "FACULTY", "ADMIN")
 
                         // Admin endpoints
                         .requestMatchers("/api/admin/**").hasRole("ADMIN")
 
+                        // Operational endpoints (health details, metrics, Prometheus scrape)
+                        .requestMatchers("/actuator/**").hasRole("ADMIN")
+
                         .anyRequest().authenticated()
                 )
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authenticationProvider(authenticationProvider)
-                .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class);
+                .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class)
+                // Per-user limits need the user from the token, so this runs after it
+                .addFilterAfter(rateLimitFilter, JwtAuthenticationFilter.class);
 
         return http.build();
     }
@@ -69,6 +90,9 @@ public class SecurityConfig {
         // 4. Allow sending credentials (JWT tokens)
         configuration.setAllowCredentials(true);
 
+        // 5. Let the browser read the pagination cursor on event listings and the wait after a 429
+        configuration.setExposedHeaders(Arrays.asList(PublicController.NEXT_CURSOR_HEADER, HttpHeaders.RETRY_AFTER));
+
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
         source.registerCorsConfiguration("/**", configuration);
         return source;
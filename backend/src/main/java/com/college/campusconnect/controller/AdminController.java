@@ -3,15 +3,27 @@ package com.college.campusconnect.controller;
 import com.college.campusconnect.dto.CategoryDto;
 import com.college.campusconnect.dto.EventDto;
 import com.college.campusconnect.dto.EventRequest;
+import com.college.campusconnect.dto.ImportResult;
+import com.college.campusconnect.dto.RefundDuePayment;
 import com.college.campusconnect.dto.UserDto;
+import com.college.campusconnect.service.AttendeeExportService;
 import com.college.campusconnect.service.CategoryService;
 import com.college.campusconnect.service.EventService;
+import com.college.campusconnect.service.ImportService;
+import com.college.campusconnect.service.UserService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 
 @RestController
@@ -21,6 +33,9 @@ public class AdminController {
 
     private final EventService eventService;
     private final CategoryService categoryService;
+    private final UserService userService;
+    private final AttendeeExportService attendeeExportService;
+    private final ImportService importService;
 
     // --- Event Management ---
 
@@ -52,6 +67,30 @@ public class AdminController {
         return ResponseEntity.ok(eventService.getEventAttendees(id));
     }
 
+    // Streams the full attendee list as CSV (default) or NDJSON without loading it into memory
+    @GetMapping("/events/{id}/attendees/export")
+    public ResponseEntity<StreamingResponseBody> exportEventAttendees(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "csv") String format
+    ) {
+        AttendeeExportService.Format exportFormat = AttendeeExportService.Format.from(format);
+        attendeeExportService.checkEventExists(id);
+
+        StreamingResponseBody body = out -> attendeeExportService.writeAttendees(id, exportFormat, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.getContentType() + ";charset=UTF-8"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("event-" + id + "-attendees." + exportFormat.getExtension())
+                        .build().toString())
+                .body(body);
+    }
+
+    // Payments captured after their registration expired, with no seat left to give them
+    @GetMapping("/payments/refund-due")
+    public ResponseEntity<List<RefundDuePayment>> getRefundDuePayments() {
+        return ResponseEntity.ok(eventService.getRefundDuePayments());
+    }
+
     // --- Category Management ---
 
     @PostMapping("/categories")
@@ -76,4 +115,29 @@ public class AdminController {
         categoryService.deleteCategory(id);
         return ResponseEntity.ok("Category deleted successfully.");
     }
-}
\ No newline at end of file
+
+    // --- User Management ---
+
+    @PostMapping("/users/{id}/revoke-tokens")
+    public ResponseEntity<String> revokeUserTokens(@PathVariable Long id) {
+        userService.revokeTokens(id);
+        return ResponseEntity.ok("User tokens revoked.");
+    }
+
+    // --- Bulk Import ---
+
+    // CSV with a header row; the result has a CREATED or FAILED entry for every data row
+    @PostMapping("/import/users")
+    public ResponseEntity<ImportResult> importUsers(@RequestParam("file") MultipartFile file) throws IOException {
+        try (InputStream in = file.getInputStream()) {
+            return ResponseEntity.ok(importService.importUsers(in));
+        }
+    }
+
+    @PostMapping("/import/events")
+    public ResponseEntity<ImportResult> importEvents(@RequestParam("file") MultipartFile file) throws IOException {
+        try (InputStream in = file.getInputStream()) {
+            return ResponseEntity.ok(importService.importEvents(in));
+        }
+    }
+}
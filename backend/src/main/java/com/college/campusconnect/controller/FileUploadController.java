@@ -1,5 +1,6 @@
 package com.college.campusconnect.controller;
 
+import com.college.campusconnect.entity.PosterAsset;
 import com.college.campusconnect.service.FileStorageService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
@@ -7,6 +8,7 @@ import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 @RestController
@@ -19,11 +21,16 @@ public class FileUploadController {
     @PostMapping
     public ResponseEntity<Map<String, String>> uploadFile(@RequestParam("file") MultipartFile file) {
         try {
-            // Store the file and get the access URL
-            String fileUrl = fileStorageService.storeFile(file);
+            // Store the file (or find the identical one uploaded before)
+            PosterAsset poster = fileStorageService.storeFile(file);
 
-            // Return URL in JSON format: { "url": "http://localhost:8080/uploads/..." }
-            return ResponseEntity.ok(Map.of("url", fileUrl));
+            // Return URLs in JSON format: { "url": "https://...", "thumbnailUrl": "https://..." }
+            Map<String, String> body = new LinkedHashMap<>();
+            body.put("url", poster.getUrl());
+            if (poster.getThumbnailUrl() != null) {
+                body.put("thumbnailUrl", poster.getThumbnailUrl());
+            }
+            return ResponseEntity.ok(body);
 
         } catch (IOException e) {
             return ResponseEntity.internalServerError().body(Map.of("error", "File upload failed: " + e.getMessage()));
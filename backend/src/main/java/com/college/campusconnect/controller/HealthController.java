@@ -0,0 +1,27 @@
+package com.college.campusconnect.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.health.HealthEndpoint;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+@RestController
+@RequiredArgsConstructor
+public class HealthController {
+
+    private final HealthEndpoint healthEndpoint;
+
+    // Public liveness check (KeepAliveTask, uptime monitors): the actuator's overall status
+    // without component details, which stay behind /actuator/health for admins
+    @GetMapping("/api/health")
+    public ResponseEntity<Map<String, String>> health() {
+        Status status = healthEndpoint.health().getStatus();
+        HttpStatus code = Status.UP.equals(status) ? HttpStatus.OK : HttpStatus.SERVICE_UNAVAILABLE;
+        return ResponseEntity.status(code).body(Map.of("status", status.getCode()));
+    }
+}
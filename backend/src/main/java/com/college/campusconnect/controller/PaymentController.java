@@ -1,17 +1,18 @@
 package com.college.campusconnect.controller;
 
-import com.college.campusconnect.entity.Registration;
-import com.college.campusconnect.exception.ResourceNotFoundException;
-import com.college.campusconnect.repository.RegistrationRepository;
-import com.razorpay.RazorpayClient;
+import com.college.campusconnect.service.EventService;
+import com.college.campusconnect.service.PaymentWebhookService;
 import com.razorpay.RazorpayException;
 import com.razorpay.Utils;
+import io.micrometer.core.annotation.Timed;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import org.json.JSONObject;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.nio.charset.StandardCharsets;
 import java.util.Map;
 
 @RestController
@@ -19,11 +20,14 @@ import java.util.Map;
 @RequiredArgsConstructor
 public class PaymentController {
 
-    private final RegistrationRepository registrationRepository;
+    private final EventService eventService;
+    private final PaymentWebhookService paymentWebhookService;
+    private final MeterRegistry meterRegistry;
 
     @Value("${razorpay.key_secret}")
     private String razorpayKeySecret;
 
+    @Timed("payments.verify")
     @PostMapping("/verify")
     public ResponseEntity<?> verifyPayment(@RequestBody Map<String, String> data) {
         String orderId = data.get("razorpay_order_id");
@@ -41,20 +45,34 @@ public class PaymentController {
 
             if (isValid) {
                 // 2. Update Registration Status to PAID
-                Registration registration = registrationRepository.findByRazorpayOrderId(orderId)
-                        .orElseThrow(() -> new ResourceNotFoundException("Registration not found for order: " + orderId));
-
-                registration.setPaymentStatus("PAID");
-                registration.setRazorpayPaymentId(paymentId);
-                registrationRepository.save(registration);
+                eventService.confirmPayment(orderId, paymentId);
 
+                verified("success");
                 return ResponseEntity.ok(Map.of("status", "success"));
             } else {
+                verified("invalid_signature");
                 return ResponseEntity.badRequest().body(Map.of("status", "failure", "message", "Invalid signature"));
             }
 
         } catch (RazorpayException e) {
+            verified("error");
             return ResponseEntity.internalServerError().body(Map.of("error", e.getMessage()));
         }
     }
-}
\ No newline at end of file
+
+    // Called by Razorpay, not the browser: only stores the event, see PaymentWebhookService.
+    // The body is taken as bytes so the signature is checked against exactly what was sent.
+    @PostMapping("/webhook")
+    public ResponseEntity<?> receiveWebhook(
+            @RequestBody byte[] body,
+            @RequestHeader(value = "X-Razorpay-Signature", required = false) String signature,
+            @RequestHeader(value = "X-Razorpay-Event-Id", required = false) String eventId) {
+        paymentWebhookService.ingest(new String(body, StandardCharsets.UTF_8), signature, eventId);
+        return ResponseEntity.ok(Map.of("status", "received"));
+    }
+
+    // Timer counts cover every call; this tells successes from bad signatures and gateway errors
+    private void verified(String result) {
+        meterRegistry.counter("payments.verify.results", "result", result).increment();
+    }
+}
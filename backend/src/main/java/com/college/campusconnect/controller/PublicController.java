@@ -1,15 +1,30 @@
 package com.college.campusconnect.controller;
 
-import com.college.campusconnect.dto.CategoryDto;
 import com.college.campusconnect.dto.EventDto;
-import com.college.campusconnect.service.CategoryService;
+import com.college.campusconnect.dto.EventFacets;
+import com.college.campusconnect.dto.EventFilter;
+import com.college.campusconnect.dto.EventPage;
+import com.college.campusconnect.service.PublicResponseCache;
+import com.college.campusconnect.service.PublicResponseCache.RenderedJson;
+import com.college.campusconnect.service.EventFacetService;
+import com.college.campusconnect.service.EventSearchService;
 import com.college.campusconnect.service.EventService;
+import com.college.campusconnect.service.SeatAvailabilityHub;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 
@@ -18,17 +33,67 @@ import java.util.List;
 @RequiredArgsConstructor
 public class PublicController {
 
+    // Event listings are keyset-paginated: the body stays a plain JSON array and the
+    // cursor for the following page is sent in this header (absent on the last page)
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     private final EventService eventService;
-    private final CategoryService categoryService;
+    private final PublicResponseCache publicResponseCache;
+    private final EventSearchService eventSearchService;
+    private final EventFacetService eventFacetService;
+    private final SeatAvailabilityHub seatAvailabilityHub;
 
     @GetMapping("/events")
-    public ResponseEntity<List<EventDto>> getUpcomingEvents() {
-        return ResponseEntity.ok(eventService.getUpcomingEvents());
+    public ResponseEntity<?> getUpcomingEvents(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + EventService.DEFAULT_PAGE_SIZE) int size,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding
+    ) {
+        // The first page is what the landing page shows (and polls), so it is served pre-rendered
+        if (cursor == null) {
+            return toResponse(publicResponseCache.getUpcomingEvents(size), ifNoneMatch, acceptEncoding);
+        }
+        return toResponse(eventService.getUpcomingEvents(cursor, size));
     }
 
     @GetMapping("/events/all")
-    public ResponseEntity<List<EventDto>> getAllEvents() {
-        return ResponseEntity.ok(eventService.getAllEvents());
+    public ResponseEntity<List<EventDto>> getAllEvents(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + EventService.DEFAULT_PAGE_SIZE) int size
+    ) {
+        return toResponse(eventService.getAllEvents(cursor, size));
+    }
+
+    // Faceted listing; filters as query parameters (see EventFilter), cursor in X-Next-Cursor
+    @GetMapping("/events/filter")
+    public ResponseEntity<List<EventDto>> filterEvents(
+            @Valid @ModelAttribute EventFilter filter,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + EventService.DEFAULT_PAGE_SIZE) int size
+    ) {
+        return toResponse(eventService.getFilteredEvents(filter, cursor, size));
+    }
+
+    // Counts per facet value for the same filters
+    @GetMapping("/events/facets")
+    public ResponseEntity<EventFacets> getEventFacets(@Valid @ModelAttribute EventFilter filter) {
+        return ResponseEntity.ok(eventFacetService.getFacets(filter));
+    }
+
+    // Best matches first; searches name, description, club, venue and category name
+    @GetMapping("/events/search")
+    public ResponseEntity<List<EventDto>> searchEvents(
+            @RequestParam("q") String query,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        return ResponseEntity.ok(eventSearchService.search(query, size));
+    }
+
+    // Live remaining seats (SSE) for up to 100 events, e.g. ?ids=1,2,3 for what a page shows
+    @GetMapping(value = "/events/seats/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamSeats(@RequestParam("ids") List<Long> eventIds) {
+        return seatAvailabilityHub.subscribe(eventIds);
     }
 
     @GetMapping("/events/{id}")
@@ -37,12 +102,71 @@ public class PublicController {
     }
 
     @GetMapping("/categories")
-    public ResponseEntity<List<CategoryDto>> getAllCategories() {
-        return ResponseEntity.ok(categoryService.getAllCategories());
+    public ResponseEntity<byte[]> getAllCategories(
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding
+    ) {
+        return toResponse(publicResponseCache.getAllCategories(), ifNoneMatch, acceptEncoding);
     }
 
     @GetMapping("/categories/{id}/events")
-    public ResponseEntity<List<EventDto>> getEventsByCategory(@PathVariable Long id) {
-        return ResponseEntity.ok(eventService.getEventsByCategory(id));
+    public ResponseEntity<List<EventDto>> getEventsByCategory(
+            @PathVariable Long id,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + EventService.DEFAULT_PAGE_SIZE) int size
+    ) {
+        return toResponse(eventService.getEventsByCategory(id, cursor, size));
+    }
+
+    private ResponseEntity<List<EventDto>> toResponse(EventPage page) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.body(page.getEvents());
+    }
+
+    // Pre-rendered JSON: 304 when the client already has this version, otherwise the
+    // stored bytes (gzip variant if accepted). no-cache makes clients revalidate every time.
+    private ResponseEntity<byte[]> toResponse(RenderedJson rendered, String ifNoneMatch, String acceptEncoding) {
+        boolean gzip = acceptEncoding != null && acceptEncoding.contains("gzip");
+        String etag = "\"" + rendered.getEtag() + (gzip ? "-gzip" : "") + "\"";
+
+        boolean notModified = etagMatches(ifNoneMatch, rendered.getEtag());
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(notModified ? HttpStatus.NOT_MODIFIED : HttpStatus.OK)
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (rendered.getNextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, rendered.getNextCursor());
+        }
+        if (notModified) {
+            return response.build();
+        }
+
+        response.contentType(MediaType.APPLICATION_JSON);
+        if (gzip) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(rendered.getGzip());
+        }
+        return response.body(rendered.getJson());
+    }
+
+    // Either encoding's tag counts as a match: both describe the same JSON
+    private static boolean etagMatches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.startsWith("W/")) {
+                value = value.substring(2);
+            }
+            value = value.replace("\"", "");
+            if (value.equals("*") || value.equals(etag) || value.equals(etag + "-gzip")) {
+                return true;
+            }
+        }
+        return false;
     }
-}
\ No newline at end of file
+}
@@ -1,16 +1,18 @@
 package com.college.campusconnect.controller;
 
 import com.college.campusconnect.dto.EventDto;
+import com.college.campusconnect.dto.RegistrationStatusDto;
 import com.college.campusconnect.dto.UserDto;
+import com.college.campusconnect.dto.WaitlistStatusDto;
 import com.college.campusconnect.service.EventService;
 import com.college.campusconnect.service.UserService;
+import com.college.campusconnect.service.WaitlistService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
-import java.util.Map;
 
 @RestController
 @RequestMapping("/api/user")
@@ -19,6 +21,7 @@ public class UserController {
 
     private final UserService userService;
     private final EventService eventService;
+    private final WaitlistService waitlistService;
 
     // Helper method to get the logged-in user's email
     private String getEmailFromPrincipal(Authentication authentication) {
@@ -37,22 +40,29 @@ public class UserController {
         return ResponseEntity.ok(userService.getMyRegisteredEvents(email));
     }
 
-    // UPDATED: Now returns the Razorpay Order ID for payment processing
+    // Returns a registration handle: PAID for free events, otherwise PENDING (202) until
+    // the Razorpay order id is available via GET /registrations/{id}
     @PostMapping("/events/{id}/register")
-    public ResponseEntity<Map<String, String>> registerForEvent(
+    public ResponseEntity<RegistrationStatusDto> registerForEvent(
             @PathVariable Long id,
             Authentication authentication
     ) {
         String email = getEmailFromPrincipal(authentication);
+        RegistrationStatusDto registration = eventService.registerForEvent(id, email);
 
-        // This returns the Razorpay Order ID (or "FREE" if price is 0)
-        String orderId = eventService.registerForEvent(id, email);
+        if ("PENDING".equals(registration.getStatus()) && registration.getOrderId() == null) {
+            return ResponseEntity.accepted().body(registration);
+        }
+        return ResponseEntity.ok(registration);
+    }
 
-        // Send it to the frontend
-        return ResponseEntity.ok(Map.of(
-                "message", "Registration initiated",
-                "orderId", orderId
-        ));
+    @GetMapping("/registrations/{id}")
+    public ResponseEntity<RegistrationStatusDto> getRegistrationStatus(
+            @PathVariable Long id,
+            Authentication authentication
+    ) {
+        String email = getEmailFromPrincipal(authentication);
+        return ResponseEntity.ok(eventService.getRegistrationStatus(id, email));
     }
 
     @DeleteMapping("/events/{id}/unregister")
@@ -64,4 +74,33 @@ public class UserController {
         eventService.unregisterFromEvent(id, email);
         return ResponseEntity.ok("Successfully unregistered from event.");
     }
-}
\ No newline at end of file
+
+    // A full event answers register with 409; the user can then queue for a seat
+    @PostMapping("/events/{id}/waitlist")
+    public ResponseEntity<WaitlistStatusDto> joinWaitlist(
+            @PathVariable Long id,
+            Authentication authentication
+    ) {
+        String email = getEmailFromPrincipal(authentication);
+        return ResponseEntity.ok(waitlistService.join(id, email));
+    }
+
+    @GetMapping("/events/{id}/waitlist")
+    public ResponseEntity<WaitlistStatusDto> getWaitlistStatus(
+            @PathVariable Long id,
+            Authentication authentication
+    ) {
+        String email = getEmailFromPrincipal(authentication);
+        return ResponseEntity.ok(waitlistService.getStatus(id, email));
+    }
+
+    @DeleteMapping("/events/{id}/waitlist")
+    public ResponseEntity<String> leaveWaitlist(
+            @PathVariable Long id,
+            Authentication authentication
+    ) {
+        String email = getEmailFromPrincipal(authentication);
+        waitlistService.leave(id, email);
+        return ResponseEntity.ok("Successfully left the waitlist.");
+    }
+}
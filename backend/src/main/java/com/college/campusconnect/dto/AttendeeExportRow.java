@@ -0,0 +1,24 @@
+package com.college.campusconnect.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// One line of the attendee export, built directly by the query (constructor expression)
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class AttendeeExportRow {
+    private Long userId;
+    private String name;
+    private String email;
+    private String mobileNumber;
+    private String department;
+    private String registrationNumber;
+    private Integer year;
+    private String gender;
+    private String paymentStatus;
+    private LocalDateTime registrationTime;
+}
@@ -0,0 +1,48 @@
+package com.college.campusconnect.dto;
+
+import com.college.campusconnect.exception.BadRequestException;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position in an event listing ordered by (dateTime, id).
+ * Sent to clients as an opaque URL-safe string; the next page starts strictly after it.
+ */
+@Getter
+@AllArgsConstructor
+public class EventCursor {
+
+    // Sorts before every real event, used when a listing starts from the beginning
+    public static final EventCursor START = new EventCursor(LocalDateTime.of(1970, 1, 1, 0, 0), 0L);
+
+    private final LocalDateTime dateTime;
+    private final Long id;
+
+    // Starts after every event at the given instant (ids are never larger than this)
+    public static EventCursor after(LocalDateTime dateTime) {
+        return new EventCursor(dateTime, Long.MAX_VALUE);
+    }
+
+    public String encode() {
+        String raw = dateTime + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static EventCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf('|');
+            return new EventCursor(
+                    LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1))
+            );
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new BadRequestException("Invalid cursor: " + cursor);
+        }
+    }
+}
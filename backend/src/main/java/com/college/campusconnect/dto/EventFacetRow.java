@@ -0,0 +1,18 @@
+package com.college.campusconnect.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// One group of the facet aggregate: how many events share these facet values
+@Getter
+@AllArgsConstructor
+public class EventFacetRow {
+    private Long categoryId;
+    private String categoryName;
+    private String club;
+    // "free" or "paid"
+    private String price;
+    // "available" or "full"
+    private String availability;
+    private long count;
+}
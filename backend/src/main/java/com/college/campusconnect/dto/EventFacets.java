@@ -0,0 +1,26 @@
+package com.college.campusconnect.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Counts for each facet value under the current filters. A facet's own selection is left
+ * out of its counts, so the other values of a facet stay visible with what picking them
+ * would return.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class EventFacets {
+    // Events matching every filter
+    private long total;
+    private List<FacetCount> categories;
+    private List<FacetCount> clubs;
+    // "free" / "paid"
+    private List<FacetCount> price;
+    // "available" / "full"
+    private List<FacetCount> availability;
+}
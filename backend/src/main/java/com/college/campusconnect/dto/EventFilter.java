@@ -0,0 +1,49 @@
+package com.college.campusconnect.dto;
+
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.PositiveOrZero;
+import lombok.Data;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Filters of the faceted event listing, bound from query parameters.
+ * Empty fields don't filter; list parameters take comma-separated values.
+ */
+@Data
+public class EventFilter {
+
+    public static final String FREE = "free";
+    public static final String PAID = "paid";
+
+    // Any of these category ids
+    private List<Long> categories;
+
+    // Any of these organizing clubs (exact names)
+    private List<String> clubs;
+
+    @Pattern(regexp = FREE + "|" + PAID, message = "Price must be 'free' or 'paid'")
+    private String price;
+
+    @PositiveOrZero(message = "Price cannot be negative")
+    private Double minPrice;
+
+    @PositiveOrZero(message = "Price cannot be negative")
+    private Double maxPrice;
+
+    // Date window; "from" defaults to now, so the listing shows upcoming events
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime from;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime to;
+
+    // true: only events that still have seats
+    private Boolean available;
+
+    public LocalDateTime fromOrNow() {
+        return from != null ? from : LocalDateTime.now();
+    }
+}
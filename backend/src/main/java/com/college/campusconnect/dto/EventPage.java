@@ -0,0 +1,17 @@
+package com.college.campusconnect.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class EventPage {
+    private List<EventDto> events;
+
+    // Opaque cursor for the next page, null when this is the last one
+    private String nextCursor;
+}
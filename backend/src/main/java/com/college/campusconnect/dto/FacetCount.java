@@ -0,0 +1,15 @@
+package com.college.campusconnect.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class FacetCount {
+    // What to send back as the filter value (e.g. a category id)
+    private String value;
+    private String label;
+    private long count;
+}
@@ -0,0 +1,18 @@
+package com.college.campusconnect.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ImportResult {
+    private int created;
+    private int failed;
+
+    // One entry per data row, in file order
+    private List<ImportRowResult> rows;
+}
@@ -0,0 +1,22 @@
+package com.college.campusconnect.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ImportRowResult {
+
+    public static final String CREATED = "CREATED";
+    public static final String FAILED = "FAILED";
+
+    // Line of the CSV file the row starts on (the header is line 1)
+    private int line;
+    private String status;
+
+    // Id of the created user or event; null when the row failed
+    private Long id;
+    private String error;
+}
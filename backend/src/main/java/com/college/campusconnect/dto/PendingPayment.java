@@ -0,0 +1,16 @@
+package com.college.campusconnect.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+// What the payment reconciler needs to know about a PENDING registration
+@Getter
+@AllArgsConstructor
+public class PendingPayment {
+    private Long registrationId;
+    private Long eventId;
+    private String orderId;
+    private LocalDateTime registrationTime;
+}
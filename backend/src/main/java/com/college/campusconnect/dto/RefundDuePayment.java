@@ -0,0 +1,22 @@
+package com.college.campusconnect.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// A captured payment whose registration got no seat, for the admins to refund
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class RefundDuePayment {
+    private Long registrationId;
+    private Long eventId;
+    private String eventName;
+    private String userEmail;
+    private String razorpayOrderId;
+    private String razorpayPaymentId;
+    private double amountPaid;
+    private LocalDateTime registrationTime;
+}
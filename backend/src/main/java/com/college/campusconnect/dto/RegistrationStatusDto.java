@@ -0,0 +1,16 @@
+package com.college.campusconnect.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Handle returned by registration and status polling; orderId stays null until the gateway answers
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class RegistrationStatusDto {
+    private Long registrationId;
+    private Long eventId;
+    private String status;
+    private String orderId;
+}
@@ -0,0 +1,12 @@
+package com.college.campusconnect.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// Remaining seats of one event, as the seat stream reads them
+@Getter
+@AllArgsConstructor
+public class SeatCountRow {
+    private Long eventId;
+    private int remaining;
+}
@@ -0,0 +1,16 @@
+package com.college.campusconnect.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// One message of the seat stream. remaining is authoritative; delta is the change since the
+// previous message for the event (0 on the first one a subscriber gets)
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class SeatUpdateDto {
+    private Long eventId;
+    private int remaining;
+    private int delta;
+}
@@ -0,0 +1,19 @@
+package com.college.campusconnect.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Date;
+import java.util.List;
+
+/**
+ * What a verified JWT says about its bearer, read from a single parse of the token.
+ */
+@Getter
+@AllArgsConstructor
+public class TokenClaims {
+    private final String subject;
+    private final List<String> roles;
+    private final int tokenVersion;
+    private final Date expiresAt;
+}
@@ -0,0 +1,13 @@
+package com.college.campusconnect.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// A waitlist entry as the in-memory index holds it
+@Getter
+@AllArgsConstructor
+public class WaitlistRow {
+    private Long entryId;
+    private Long eventId;
+    private Long userId;
+}
@@ -0,0 +1,19 @@
+package com.college.campusconnect.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// A user's place on an event's waitlist. WAITING comes with the 1-based position;
+// REGISTERED means the user holds a seat, e.g. after being promoted (the registration
+// id to pay or check); NONE means neither
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class WaitlistStatusDto {
+    private Long eventId;
+    private String status;
+    private Integer position;
+    private int waiting;
+    private Long registrationId;
+}
@@ -10,14 +10,24 @@ import java.util.HashSet;
 import java.util.Set;
 
 @Entity
-@Table(name = "events")
+@Table(name = "events", indexes = {
+        // Keyset pagination over (date_time, id), and per-category listings in the same order
+        @Index(name = "idx_events_date_time_id", columnList = "date_time, id"),
+        @Index(name = "idx_events_category_date_time_id", columnList = "category_id, date_time, id"),
+        // Faceted listing: club or free/paid picked, then the same (date_time, id) order and window
+        @Index(name = "idx_events_club_date_time_id", columnList = "organizing_club, date_time, id"),
+        @Index(name = "idx_events_price_date_time_id", columnList = "registration_price, date_time, id")
+})
 @Getter
 @Setter
 @NoArgsConstructor
 public class Event {
 
+    // Block-allocated like User ids, so imported events go out in JDBC batches
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "events_ids")
+    @TableGenerator(name = "events_ids", table = "id_generators", pkColumnName = "sequence_name",
+            valueColumnName = "next_val", pkColumnValue = "events", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -41,6 +51,13 @@ public class Event {
 
     private double registrationPrice;
 
+    // Denormalized number of registrations, kept in step by EventRepository's
+    // reserve/release queries so listings never load the registrations set.
+    // Not updatable through the entity, so saving an edited Event can't overwrite
+    // seats taken concurrently.
+    @Column(nullable = false, updatable = false)
+    private int registeredCount;
+
     // Relationship: Many Events belong to One Category (Unchanged)
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "category_id", nullable = false)
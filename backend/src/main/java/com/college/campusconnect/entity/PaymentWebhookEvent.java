@@ -0,0 +1,44 @@
+package com.college.campusconnect.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+// A verified webhook delivery from the payment gateway, stored as received and applied later
+@Entity
+@Table(name = "payment_webhook_events", indexes = {
+        // The consumer walks unprocessed events in id order
+        @Index(name = "idx_payment_webhook_events_processed_at_id", columnList = "processed_at, id")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+public class PaymentWebhookEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // The gateway's delivery id (X-Razorpay-Event-Id); a redelivery of the same event is dropped
+    @Column(unique = true, length = 64)
+    private String eventId;
+
+    @Lob
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String payload;
+
+    @Column(nullable = false)
+    private LocalDateTime receivedAt;
+
+    // Null until the consumer has applied the event
+    private LocalDateTime processedAt;
+
+    // PAID, DUPLICATE, IGNORED or REJECTED once processed
+    @Column(length = 16)
+    private String outcome;
+
+    private String error;
+}
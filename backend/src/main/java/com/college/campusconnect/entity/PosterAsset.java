@@ -0,0 +1,32 @@
+package com.college.campusconnect.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+// An uploaded poster, keyed by the SHA-256 of the original file so a re-upload is served from here
+@Entity
+@Table(name = "poster_assets")
+@Getter
+@Setter
+@NoArgsConstructor
+public class PosterAsset {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, unique = true, length = 64)
+    private String contentHash;
+
+    @Column(nullable = false)
+    private String url;
+
+    // Null when the upload could not be decoded and was stored as-is
+    private String thumbnailUrl;
+
+    private LocalDateTime createdAt;
+}
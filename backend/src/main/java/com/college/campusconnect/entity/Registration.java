@@ -7,7 +7,14 @@ import jakarta.persistence.*;
         import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "registrations")
+@Table(name = "registrations", uniqueConstraints = {
+        @UniqueConstraint(columnNames = {"user_id", "event_id"})
+}, indexes = {
+        // Payment verification looks registrations up by order id
+        @Index(name = "idx_registrations_razorpay_order_id", columnList = "razorpay_order_id"),
+        // The reconciler walks PENDING registrations in id order
+        @Index(name = "idx_registrations_payment_status_id", columnList = "payment_status, id")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -20,12 +27,13 @@ public class Registration {
     private Long id;
 
     // Link to the User who is registering
-    @ManyToOne
+    // LAZY: listing registrations must not pull every user/event row one by one
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
 
     // Link to the Event they are registering for
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "event_id", nullable = false)
     private Event event;
 
@@ -39,7 +47,9 @@ public class Registration {
     // The Payment ID generated by Razorpay AFTER user pays
     private String razorpayPaymentId;
 
-    // Status: "PENDING" (created but not paid), "PAID" (success), "FAILED"
+    // Status: "PENDING" (created but not paid), "PAID" (success), "FAILED" (no order could be
+    // created, or the gateway does not know it), "EXPIRED" (left unpaid), "REFUND_DUE" (paid after
+    // it expired, with no seat left; to be refunded). Only PENDING and PAID hold a seat.
     private String paymentStatus;
 
     // Amount paid (stored to verify later)
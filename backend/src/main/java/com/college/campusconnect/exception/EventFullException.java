@@ -0,0 +1,13 @@
+package com.college.campusconnect.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+// No seat left; the client can join the event's waitlist instead of retrying
+@ResponseStatus(value = HttpStatus.CONFLICT)
+public class EventFullException extends RuntimeException {
+
+    public EventFullException() {
+        super("Event is already full.");
+    }
+}
@@ -0,0 +1,14 @@
+package com.college.campusconnect.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+// Captured after the registration expired and the event filled up in the meantime; the
+// registration is kept as REFUND_DUE with its payment id so the payment can be refunded
+@ResponseStatus(value = HttpStatus.CONFLICT)
+public class PaidWithoutSeatException extends RuntimeException {
+
+    public PaidWithoutSeatException() {
+        super("The event filled up before your payment arrived. The payment will be refunded.");
+    }
+}
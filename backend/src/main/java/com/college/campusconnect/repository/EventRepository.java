@@ -1,17 +1,106 @@
 package com.college.campusconnect.repository;
 
+import com.college.campusconnect.dto.EventFacetRow;
+import com.college.campusconnect.dto.SeatCountRow;
 import com.college.campusconnect.entity.Event;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
-public interface EventRepository extends JpaRepository<Event, Long> {
+public interface EventRepository extends JpaRepository<Event, Long>, JpaSpecificationExecutor<Event> {
 
-    // "SELECT * FROM events WHERE category_id = ?"
-    List<Event> findByCategoryId(Long categoryId);
+    // Category is fetched in the same query so mapping a listing doesn't issue one select per event
+    @Override
+    @EntityGraph(attributePaths = "category")
+    List<Event> findAll();
 
-    // "SELECT * FROM events WHERE date_time > ?"
-    // This will be used for the "Upcoming Events" feature
-    List<Event> findByDateTimeAfter(LocalDateTime currentDateTime);
+    // Search results and index updates: the given events with their category, by primary key
+    @EntityGraph(attributePaths = "category")
+    List<Event> findByIdIn(Collection<Long> ids);
+
+    @Query("select e.id from Event e where e.category.id = :categoryId")
+    List<Long> findIdsByCategoryId(@Param("categoryId") Long categoryId);
+
+    // Keyset pages ordered by (date_time, id): "WHERE (date_time, id) > (?, ?) ORDER BY date_time, id LIMIT ?".
+    // Written as date_time >= ? AND (...) so MySQL can start an index range scan at the cursor,
+    // which keeps deep pages as cheap as the first one.
+    @EntityGraph(attributePaths = "category")
+    @Query("select e from Event e where e.dateTime >= :afterDateTime " +
+            "and (e.dateTime > :afterDateTime or e.id > :afterId) " +
+            "order by e.dateTime asc, e.id asc")
+    List<Event> findPageAfter(@Param("afterDateTime") LocalDateTime afterDateTime,
+                              @Param("afterId") Long afterId,
+                              Limit limit);
+
+    @EntityGraph(attributePaths = "category")
+    @Query("select e from Event e where e.category.id = :categoryId and e.dateTime >= :afterDateTime " +
+            "and (e.dateTime > :afterDateTime or e.id > :afterId) " +
+            "order by e.dateTime asc, e.id asc")
+    List<Event> findPageByCategoryAfter(@Param("categoryId") Long categoryId,
+                                        @Param("afterDateTime") LocalDateTime afterDateTime,
+                                        @Param("afterId") Long afterId,
+                                        Limit limit);
+
+    // Facet counts in one pass: events in the date window and price range, grouped by every
+    // facet at once; EventFacetService derives each facet's counts from these groups
+    @Query("select new com.college.campusconnect.dto.EventFacetRow(c.id, c.name, e.organizingClub, " +
+            "case when e.registrationPrice > 0 then 'paid' else 'free' end, " +
+            "case when e.registeredCount < e.maxAttendees then 'available' else 'full' end, " +
+            "count(e)) " +
+            "from Event e join e.category c " +
+            "where e.dateTime >= :from and (:to is null or e.dateTime <= :to) " +
+            "and (:minPrice is null or e.registrationPrice >= :minPrice) " +
+            "and (:maxPrice is null or e.registrationPrice <= :maxPrice) " +
+            "group by c.id, c.name, e.organizingClub, " +
+            "case when e.registrationPrice > 0 then 'paid' else 'free' end, " +
+            "case when e.registeredCount < e.maxAttendees then 'available' else 'full' end")
+    List<EventFacetRow> countFacets(@Param("from") LocalDateTime from,
+                                    @Param("to") LocalDateTime to,
+                                    @Param("minPrice") Double minPrice,
+                                    @Param("maxPrice") Double maxPrice);
+
+    // "UPDATE events SET registered_count = registered_count + 1 WHERE id = ? AND registered_count < max_attendees"
+    // Conditional, so the row lock makes it impossible to hand out more seats than maxAttendees.
+    // Returns 0 when the event is already full.
+    @Modifying
+    @Query("update Event e set e.registeredCount = e.registeredCount + 1 where e.id = :eventId and e.registeredCount < e.maxAttendees")
+    int reserveSeat(@Param("eventId") Long eventId);
+
+    // Several seats at once (waitlist promotion); all or nothing, 0 when fewer are left
+    @Modifying
+    @Query("update Event e set e.registeredCount = e.registeredCount + :seats " +
+            "where e.id = :eventId and e.registeredCount + :seats <= e.maxAttendees")
+    int reserveSeats(@Param("eventId") Long eventId, @Param("seats") int seats);
+
+    // Gives seats back (never below zero); the reconciler releases several per event at once
+    @Modifying
+    @Query("update Event e set e.registeredCount = " +
+            "case when e.registeredCount > :seats then e.registeredCount - :seats else 0 end " +
+            "where e.id = :eventId and e.registeredCount > 0")
+    int releaseSeats(@Param("eventId") Long eventId, @Param("seats") int seats);
+
+    @Query("select e.maxAttendees - e.registeredCount from Event e where e.id = :eventId")
+    Optional<Integer> findRemainingSeats(@Param("eventId") Long eventId);
+
+    // Seat stream: the remaining seats of several events in one select
+    @Query("select new com.college.campusconnect.dto.SeatCountRow(e.id, e.maxAttendees - e.registeredCount) " +
+            "from Event e where e.id in :eventIds")
+    List<SeatCountRow> findSeatCounts(@Param("eventIds") Collection<Long> eventIds);
+
+    // Recomputes every counter from the seat-holding registrations (used once at startup)
+    @Transactional
+    @Modifying
+    @Query("update Event e set e.registeredCount = (select count(r) from Registration r " +
+            "where r.event = e and r.paymentStatus in ('PENDING', 'PAID'))")
+    int resyncRegisteredCounts();
 }
\ No newline at end of file
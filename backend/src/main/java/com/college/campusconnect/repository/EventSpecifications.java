@@ -0,0 +1,106 @@
+package com.college.campusconnect.repository;
+
+import com.college.campusconnect.dto.EventCursor;
+import com.college.campusconnect.dto.EventFilter;
+import com.college.campusconnect.entity.Event;
+import jakarta.persistence.criteria.JoinType;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+/**
+ * Building blocks of the faceted event listing. Each returns null when its filter is
+ * not set, which Specification.allOf skips.
+ */
+public final class EventSpecifications {
+
+    private EventSpecifications() {
+    }
+
+    // Every filter of the listing
+    public static Specification<Event> matching(EventFilter filter, LocalDateTime from) {
+        return Specification.allOf(
+                window(from, filter.getTo()),
+                priceBetween(filter.getMinPrice(), filter.getMaxPrice()),
+                inCategories(filter.getCategories()),
+                byClubs(filter.getClubs()),
+                priced(filter.getPrice()),
+                Boolean.TRUE.equals(filter.getAvailable()) ? hasSeatsLeft() : null
+        );
+    }
+
+    // The filters that are not facets; the facet counts are taken under these only
+    public static Specification<Event> window(LocalDateTime from, LocalDateTime to) {
+        return (root, query, cb) -> {
+            if (to == null) {
+                return cb.greaterThanOrEqualTo(root.get("dateTime"), from);
+            }
+            return cb.between(root.get("dateTime"), from, to);
+        };
+    }
+
+    public static Specification<Event> priceBetween(Double min, Double max) {
+        if (min == null && max == null) {
+            return null;
+        }
+        return (root, query, cb) -> {
+            if (min == null) {
+                return cb.lessThanOrEqualTo(root.get("registrationPrice"), max);
+            }
+            if (max == null) {
+                return cb.greaterThanOrEqualTo(root.get("registrationPrice"), min);
+            }
+            return cb.between(root.get("registrationPrice"), min, max);
+        };
+    }
+
+    public static Specification<Event> inCategories(Collection<Long> categoryIds) {
+        if (categoryIds == null || categoryIds.isEmpty()) {
+            return null;
+        }
+        return (root, query, cb) -> root.get("category").get("id").in(categoryIds);
+    }
+
+    public static Specification<Event> byClubs(Collection<String> clubs) {
+        if (clubs == null || clubs.isEmpty()) {
+            return null;
+        }
+        return (root, query, cb) -> root.get("organizingClub").in(clubs);
+    }
+
+    public static Specification<Event> priced(String price) {
+        if (price == null) {
+            return null;
+        }
+        return (root, query, cb) -> EventFilter.FREE.equals(price)
+                ? cb.lessThanOrEqualTo(root.get("registrationPrice"), 0.0)
+                : cb.greaterThan(root.get("registrationPrice"), 0.0);
+    }
+
+    // Compares two columns, so no index helps; it only narrows rows the other filters found
+    public static Specification<Event> hasSeatsLeft() {
+        return (root, query, cb) -> cb.lessThan(root.get("registeredCount"), root.<Integer>get("maxAttendees"));
+    }
+
+    // Keyset position: strictly after the cursor in (dateTime, id) order
+    public static Specification<Event> after(EventCursor cursor) {
+        return (root, query, cb) -> cb.and(
+                cb.greaterThanOrEqualTo(root.get("dateTime"), cursor.getDateTime()),
+                cb.or(
+                        cb.greaterThan(root.get("dateTime"), cursor.getDateTime()),
+                        cb.greaterThan(root.get("id"), cursor.getId())
+                )
+        );
+    }
+
+    // Loads the category in the same query (listing rows are mapped with its name)
+    public static Specification<Event> fetchCategory() {
+        return (root, query, cb) -> {
+            if (query != null && query.getResultType() != Long.class && query.getResultType() != long.class) {
+                root.fetch("category", JoinType.INNER);
+            }
+            return null;
+        };
+    }
+}
@@ -0,0 +1,25 @@
+package com.college.campusconnect.repository;
+
+import com.college.campusconnect.entity.PaymentWebhookEvent;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface PaymentWebhookEventRepository extends JpaRepository<PaymentWebhookEvent, Long> {
+
+    // Consumer: the next batch of unprocessed events after the given id
+    List<PaymentWebhookEvent> findByProcessedAtIsNullAndIdGreaterThanOrderByIdAsc(Long afterId, Limit limit);
+
+    boolean existsByEventId(String eventId);
+
+    long countByProcessedAtIsNull();
+
+    @Modifying
+    @Query("delete from PaymentWebhookEvent e where e.processedAt < :before")
+    int deleteProcessedBefore(@Param("before") LocalDateTime before);
+}
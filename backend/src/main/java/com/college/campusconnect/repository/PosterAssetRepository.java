@@ -0,0 +1,11 @@
+package com.college.campusconnect.repository;
+
+import com.college.campusconnect.entity.PosterAsset;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Optional;
+
+public interface PosterAssetRepository extends JpaRepository<PosterAsset, Long> {
+
+    Optional<PosterAsset> findByContentHash(String contentHash);
+}
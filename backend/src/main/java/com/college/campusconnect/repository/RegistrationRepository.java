@@ -1,11 +1,24 @@
 package com.college.campusconnect.repository;
 
+import com.college.campusconnect.dto.AttendeeExportRow;
+import com.college.campusconnect.dto.PendingPayment;
+import com.college.campusconnect.dto.RefundDuePayment;
 import com.college.campusconnect.entity.Registration;
 import com.college.campusconnect.entity.User;
 import com.college.campusconnect.entity.Event;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface RegistrationRepository extends JpaRepository<Registration, Long> {
 
@@ -20,4 +33,78 @@ public interface RegistrationRepository extends JpaRepository<Registration, Long
 
     // Check if a user is already registered for an event
     boolean existsByUserAndEvent(User user, Event event);
+
+    Optional<Registration> findByUserAndEvent(User user, Event event);
+
+    // A registration as seen by its owner (status polling)
+    Optional<Registration> findByIdAndUser_Email(Long id, String email);
+
+    // Waitlist promotion: the rows some users already have for one event, whatever their status
+    @Query("select r from Registration r where r.event.id = :eventId and r.user.id in :userIds")
+    List<Registration> findByEventIdAndUserIds(@Param("eventId") Long eventId, @Param("userIds") List<Long> userIds);
+
+    // Stores the gateway's order id, unless the registration was failed (timeout) in the meantime
+    @Modifying
+    @Query("update Registration r set r.razorpayOrderId = :orderId " +
+            "where r.id = :id and r.paymentStatus = 'PENDING' and r.razorpayOrderId is null")
+    int attachOrderId(@Param("id") Long id, @Param("orderId") String orderId);
+
+    // Payment confirmation; conditional on the status the caller saw, so it cannot
+    // overwrite a concurrent expiry by the reconciler
+    @Modifying
+    @Query("update Registration r set r.paymentStatus = 'PAID', r.razorpayPaymentId = :paymentId " +
+            "where r.razorpayOrderId = :orderId and r.paymentStatus = :expectedStatus")
+    int markPaid(@Param("orderId") String orderId, @Param("paymentId") String paymentId,
+                 @Param("expectedStatus") String expectedStatus);
+
+    // Paid after it expired with no seat left: keeps the payment id for the refund
+    @Modifying
+    @Query("update Registration r set r.paymentStatus = 'REFUND_DUE', r.razorpayPaymentId = :paymentId " +
+            "where r.razorpayOrderId = :orderId and r.paymentStatus = :expectedStatus")
+    int markRefundDue(@Param("orderId") String orderId, @Param("paymentId") String paymentId,
+                      @Param("expectedStatus") String expectedStatus);
+
+    @Query("select new com.college.campusconnect.dto.RefundDuePayment(r.id, e.id, e.name, u.email, " +
+            "r.razorpayOrderId, r.razorpayPaymentId, r.amountPaid, r.registrationTime) " +
+            "from Registration r join r.event e join r.user u where r.paymentStatus = 'REFUND_DUE' order by r.id asc")
+    List<RefundDuePayment> findRefundDue();
+
+    // Reconciler: the next batch of PENDING registrations after the given id (keyset over payment_status, id)
+    @Query("select new com.college.campusconnect.dto.PendingPayment(r.id, r.event.id, r.razorpayOrderId, r.registrationTime) " +
+            "from Registration r where r.paymentStatus = 'PENDING' and r.id > :afterId order by r.id asc")
+    List<PendingPayment> findPendingAfter(@Param("afterId") Long afterId, Limit limit);
+
+    // Returns 1 only for the caller that actually moved the registration to FAILED
+    @Modifying
+    @Query("update Registration r set r.paymentStatus = 'FAILED' " +
+            "where r.id = :id and r.paymentStatus = 'PENDING' and r.razorpayOrderId is null")
+    int markOrderFailed(@Param("id") Long id);
+
+    // Registering again after a failed or expired attempt reuses the row; only one concurrent retry wins
+    @Modifying(clearAutomatically = true)
+    @Query("update Registration r set r.paymentStatus = :status, r.razorpayOrderId = :orderId, " +
+            "r.razorpayPaymentId = null, r.amountPaid = :amount, r.registrationTime = :time " +
+            "where r.id = :id and r.paymentStatus in ('FAILED', 'EXPIRED')")
+    int reopenLapsed(@Param("id") Long id, @Param("status") String status, @Param("orderId") String orderId,
+                     @Param("amount") double amount, @Param("time") LocalDateTime time);
+
+    // "My Dashboard": the user's events with their categories, in a single select
+    @Query("select e from Registration r join r.event e join fetch e.category " +
+            "where r.user.email = :email and r.paymentStatus in ('PENDING', 'PAID') order by e.dateTime asc, e.id asc")
+    List<Event> findRegisteredEventsByUserEmail(@Param("email") String email);
+
+    // Admin "View Attendees": the users with their roles, in a single select
+    @Query("select distinct u from Registration r join r.user u left join fetch u.roles " +
+            "where r.event.id = :eventId and r.paymentStatus in ('PENDING', 'PAID') order by u.id asc")
+    List<User> findAttendeesByEventId(@Param("eventId") Long eventId);
+
+    // Attendee export: a forward-only stream of flat rows, read in chunks of the fetch size.
+    // Rows are DTOs, not entities, so nothing accumulates in the persistence context.
+    // Must be consumed inside a transaction and closed.
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("select new com.college.campusconnect.dto.AttendeeExportRow(" +
+            "u.id, u.name, u.email, u.mobileNumber, u.department, u.registrationNumber, u.year, u.gender, " +
+            "r.paymentStatus, r.registrationTime) " +
+            "from Registration r join r.user u where r.event.id = :eventId order by r.id asc")
+    Stream<AttendeeExportRow> streamAttendeesByEventId(@Param("eventId") Long eventId);
 }
\ No newline at end of file
@@ -1,17 +1,34 @@
 package com.college.campusconnect.repository;
 
 import com.college.campusconnect.entity.User;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
 
     // "SELECT * FROM users WHERE email = ?"
     // This is CRITICAL for Spring Security to load the user for login.
+    // Roles are joined in the same select instead of a second query for the eager collection.
+    @EntityGraph(attributePaths = "roles")
     Optional<User> findByEmail(String email);
 
     // "SELECT CASE WHEN COUNT(u) > 0 THEN true ELSE false END FROM User u WHERE u.email = ?"
     // This is a fast way to check if an email is already taken.
     Boolean existsByEmail(String email);
-}
\ No newline at end of file
+
+    // Which of a batch of emails are taken, in one query (bulk import)
+    @Query("select u.email from User u where u.email in :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    // Password re-hash on login; the caller evicts the user from UserCache
+    @Modifying
+    @Query("update User u set u.password = :password where u.email = :email")
+    int updatePassword(@Param("email") String email, @Param("password") String password);
+}
@@ -0,0 +1,24 @@
+package com.college.campusconnect.repository;
+
+import com.college.campusconnect.dto.WaitlistRow;
+import com.college.campusconnect.entity.WaitlistEntry;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface WaitlistEntryRepository extends JpaRepository<WaitlistEntry, Long> {
+
+    // Startup load of the in-memory index: the next batch of entries in queue order
+    @Query("select new com.college.campusconnect.dto.WaitlistRow(w.id, w.event.id, w.user.id) " +
+            "from WaitlistEntry w where w.id > :afterId order by w.id asc")
+    List<WaitlistRow> findRowsAfter(@Param("afterId") Long afterId, Limit limit);
+
+    // Leaving the waitlist; 0 when the user was not (or no longer) on it
+    @Modifying
+    @Query("delete from WaitlistEntry w where w.user.id = :userId and w.event.id = :eventId")
+    int deleteEntry(@Param("userId") Long userId, @Param("eventId") Long eventId);
+}
@@ -1,11 +1,14 @@
 package com.college.campusconnect.scheduler;
 
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 import java.net.HttpURLConnection;
 import java.net.URL;
 
+// Off for offline runs (keepalive.enabled=false), which have nothing to keep awake
 @Component
+@ConditionalOnProperty(name = "keepalive.enabled", havingValue = "true", matchIfMissing = true)
 public class KeepAliveTask {
 
     // Runs every 10 minutes (600,000 milliseconds)
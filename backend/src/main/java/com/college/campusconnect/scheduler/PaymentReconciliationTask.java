@@ -0,0 +1,30 @@
+package com.college.campusconnect.scheduler;
+
+import com.college.campusconnect.service.PaymentReconciliationService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class PaymentReconciliationTask {
+
+    private final PaymentReconciliationService paymentReconciliationService;
+
+    @Value("${payment.reconcile.enabled:true}")
+    private boolean enabled;
+
+    // Settles abandoned and unverified payments every minute (after the previous pass finished)
+    @Scheduled(fixedDelayString = "${payment.reconcile.interval:60s}", initialDelayString = "${payment.reconcile.interval:60s}")
+    public void reconcile() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            paymentReconciliationService.reconcile();
+        } catch (RuntimeException e) {
+            System.err.println("Payment reconciliation failed: " + e.getMessage());
+        }
+    }
+}
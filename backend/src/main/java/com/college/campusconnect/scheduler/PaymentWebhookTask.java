@@ -0,0 +1,30 @@
+package com.college.campusconnect.scheduler;
+
+import com.college.campusconnect.service.PaymentWebhookService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class PaymentWebhookTask {
+
+    private final PaymentWebhookService paymentWebhookService;
+
+    @Value("${payment.webhooks.consumer-enabled:true}")
+    private boolean enabled;
+
+    // Applies stored webhook events every few seconds (after the previous pass finished)
+    @Scheduled(fixedDelayString = "${payment.webhooks.poll-interval:5s}", initialDelayString = "${payment.webhooks.poll-interval:5s}")
+    public void drain() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            paymentWebhookService.drain();
+        } catch (RuntimeException e) {
+            System.err.println("Payment webhook processing failed: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.college.campusconnect.scheduler;
+
+import com.college.campusconnect.service.RateLimitService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class RateLimitEvictionTask {
+
+    private final RateLimitService rateLimitService;
+
+    // Keeps the bucket maps to recently active callers; a full bucket is the same as none
+    @Scheduled(fixedDelayString = "${rate-limit.eviction-interval:1m}")
+    public void evict() {
+        try {
+            rateLimitService.evictIdle();
+        } catch (RuntimeException e) {
+            System.err.println("Rate limit eviction failed: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.college.campusconnect.scheduler;
+
+import com.college.campusconnect.service.SeatAvailabilityHub;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class SeatStreamTask {
+
+    private final SeatAvailabilityHub seatAvailabilityHub;
+
+    // One push per changed event per window, however many registrations it saw
+    @Scheduled(fixedDelayString = "${seats.stream.coalesce-window:250ms}")
+    public void flush() {
+        try {
+            seatAvailabilityHub.flush();
+        } catch (RuntimeException e) {
+            System.err.println("Seat stream flush failed: " + e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedRateString = "${seats.stream.heartbeat:30s}", initialDelayString = "${seats.stream.heartbeat:30s}")
+    public void heartbeat() {
+        seatAvailabilityHub.heartbeat();
+    }
+}
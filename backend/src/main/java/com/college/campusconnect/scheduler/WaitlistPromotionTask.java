@@ -0,0 +1,23 @@
+package com.college.campusconnect.scheduler;
+
+import com.college.campusconnect.service.WaitlistService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class WaitlistPromotionTask {
+
+    private final WaitlistService waitlistService;
+
+    // Hands freed seats to waiting users; a run with no event marked costs nothing
+    @Scheduled(fixedDelayString = "${waitlist.promotion.interval:1s}")
+    public void promote() {
+        try {
+            waitlistService.promotePending();
+        } catch (RuntimeException e) {
+            System.err.println("Waitlist promotion failed: " + e.getMessage());
+        }
+    }
+}
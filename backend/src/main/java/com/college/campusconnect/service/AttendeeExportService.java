@@ -0,0 +1,162 @@
+package com.college.campusconnect.service;
+
+import com.college.campusconnect.dto.AttendeeExportRow;
+import com.college.campusconnect.exception.BadRequestException;
+import com.college.campusconnect.exception.ResourceNotFoundException;
+import com.college.campusconnect.repository.EventRepository;
+import com.college.campusconnect.repository.RegistrationRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Writes an event's attendee list straight from a database cursor to the response,
+ * one row at a time, so memory use does not grow with the number of registrations.
+ */
+@Service
+@RequiredArgsConstructor
+public class AttendeeExportService {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    // A phone number as people type it: "+91 98765-43210", "(080) 1234 5678"
+    private static final Pattern PHONE_NUMBER = Pattern.compile("[+\\-]?[0-9 ().\\-]+");
+
+    private static final String CSV_HEADER =
+            "userId,name,email,mobileNumber,department,registrationNumber,year,gender,paymentStatus,registrationTime";
+
+    private final EventRepository eventRepository;
+    private final RegistrationRepository registrationRepository;
+    private final ObjectMapper objectMapper;
+
+    public enum Format {
+        CSV("text/csv", "csv"),
+        NDJSON("application/x-ndjson", "ndjson");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+
+        public static Format from(String value) {
+            for (Format format : values()) {
+                if (format.name().equalsIgnoreCase(value)) {
+                    return format;
+                }
+            }
+            throw new BadRequestException("Unsupported export format: " + value);
+        }
+    }
+
+    /**
+     * Called before the response starts, so a missing event is still a proper 404.
+     */
+    public void checkEventExists(Long eventId) {
+        if (!eventRepository.existsById(eventId)) {
+            throw new ResourceNotFoundException("Event", "id", eventId);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public void writeAttendees(Long eventId, Format format, OutputStream out) throws IOException {
+        try (Stream<AttendeeExportRow> rows = registrationRepository.streamAttendeesByEventId(eventId)) {
+            if (format == Format.CSV) {
+                writeCsv(rows.iterator(), out);
+            } else {
+                writeNdjson(rows.iterator(), out);
+            }
+        }
+    }
+
+    private void writeCsv(Iterator<AttendeeExportRow> rows, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+        writer.write(CSV_HEADER);
+        writer.write("\r\n");
+        while (rows.hasNext()) {
+            AttendeeExportRow row = rows.next();
+            writer.write(String.valueOf(row.getUserId()));
+            writeCsvField(writer, row.getName(), true);
+            writeCsvField(writer, row.getEmail(), true);
+            writeCsvField(writer, row.getMobileNumber(), !isPhoneNumber(row.getMobileNumber()));
+            writeCsvField(writer, row.getDepartment(), true);
+            writeCsvField(writer, row.getRegistrationNumber(), true);
+            writeCsvField(writer, row.getYear() == null ? null : row.getYear().toString(), false);
+            writeCsvField(writer, row.getGender(), true);
+            writeCsvField(writer, row.getPaymentStatus(), false);
+            writeCsvField(writer, row.getRegistrationTime() == null ? null : row.getRegistrationTime().toString(), false);
+            writer.write("\r\n");
+        }
+        writer.flush();
+    }
+
+    private void writeNdjson(Iterator<AttendeeExportRow> rows, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+        boolean any = rows.hasNext();
+        // The response stream belongs to the container, so Jackson must not close it
+        try (SequenceWriter sequence = objectMapper.writerFor(AttendeeExportRow.class)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .withRootValueSeparator("\n")
+                .writeValues(writer)) {
+            while (rows.hasNext()) {
+                sequence.write(rows.next());
+            }
+        }
+        // The separator only goes between values; terminate the last line as well
+        if (any) {
+            writer.write('\n');
+        }
+        writer.flush();
+    }
+
+    // Free text typed by users is neutralised when it starts with a formula character, so
+    // spreadsheets don't evaluate it. Numbers, statuses and timestamps are written as they are,
+    // and so is a mobile number that looks like one ("+91..." must stay intact).
+    private static void writeCsvField(Writer writer, String value, boolean freeText) throws IOException {
+        writer.write(',');
+        if (value == null || value.isEmpty()) {
+            return;
+        }
+        char first = value.charAt(0);
+        boolean formula = freeText && (first == '=' || first == '+' || first == '-' || first == '@');
+        boolean quote = formula || value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+        if (!quote) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        if (formula) {
+            writer.write('\'');
+        }
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    private static boolean isPhoneNumber(String value) {
+        return value != null && PHONE_NUMBER.matcher(value).matches();
+    }
+}
@@ -0,0 +1,71 @@
+package com.college.campusconnect.service;
+
+import com.college.campusconnect.dto.CategoryDto;
+import com.college.campusconnect.dto.EventPage;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Read-through cache for what every landing-page visitor asks for: the first page of
+ * upcoming events and the category list.
+ *
+ * Entries are dropped as soon as an admin changes an event or category
+ * ({@link CatalogChangedEvent}). Seat counts change with every registration, so event
+ * pages are also reloaded in the background once they are older than the seat refresh
+ * interval; readers keep getting the previous page until the reload finishes.
+ */
+@Service
+public class CatalogCache {
+
+    private static final String CATEGORIES_KEY = "categories";
+
+    private final LoadingCache<Integer, EventPage> upcomingEventsBySize;
+    private final LoadingCache<String, List<CategoryDto>> categories;
+
+    public CatalogCache(
+            EventService eventService,
+            CategoryService categoryService,
+            MeterRegistry meterRegistry,
+            @Value("${cache.catalog.seat-refresh:5s}") Duration seatRefresh
+    ) {
+        this.upcomingEventsBySize = Caffeine.newBuilder()
+                .maximumSize(16)
+                .refreshAfterWrite(seatRefresh)
+                .recordStats()
+                .build(size -> {
+                    EventPage page = eventService.getUpcomingEvents(null, size);
+                    return new EventPage(List.copyOf(page.getEvents()), page.getNextCursor());
+                });
+        this.categories = Caffeine.newBuilder()
+                .maximumSize(1)
+                .recordStats()
+                .build(key -> List.copyOf(categoryService.getAllCategories()));
+
+        CaffeineCacheMetrics.monitor(meterRegistry, upcomingEventsBySize, "catalog.events");
+        CaffeineCacheMetrics.monitor(meterRegistry, categories, "catalog.categories");
+    }
+
+    // First page only; deeper pages are keyset queries that are cheap enough uncached
+    public EventPage getUpcomingEvents(int size) {
+        return upcomingEventsBySize.get(EventService.clampPageSize(size));
+    }
+
+    public List<CategoryDto> getAllCategories() {
+        return categories.get(CATEGORIES_KEY);
+    }
+
+    // Runs after the admin's change is committed (or right away when there is no transaction)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        upcomingEventsBySize.invalidateAll();
+        categories.invalidateAll();
+    }
+}
@@ -0,0 +1,8 @@
+package com.college.campusconnect.service;
+
+/**
+ * Published by the admin write paths whenever events or categories change,
+ * so caches of the public catalog can drop what they hold.
+ */
+public class CatalogChangedEvent {
+}
@@ -4,7 +4,9 @@ import com.college.campusconnect.dto.CategoryDto;
 import com.college.campusconnect.entity.Category;
 import com.college.campusconnect.exception.ResourceNotFoundException;
 import com.college.campusconnect.repository.CategoryRepository;
+import com.college.campusconnect.repository.EventRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -15,7 +17,9 @@ import java.util.stream.Collectors;
 public class CategoryService {
 
     private final CategoryRepository categoryRepository;
+    private final EventRepository eventRepository;
     private final MapperService mapperService;
+    private final ApplicationEventPublisher eventPublisher;
 
     public List<CategoryDto> getAllCategories() {
         return categoryRepository.findAll().stream()
@@ -29,6 +33,7 @@ public class CategoryService {
         category.setDescription(categoryDto.getDescription());
 
         Category savedCategory = categoryRepository.save(category);
+        eventPublisher.publishEvent(new CatalogChangedEvent());
         return mapperService.mapToCategoryDto(savedCategory);
     }
 
@@ -40,6 +45,9 @@ public class CategoryService {
         category.setDescription(categoryDto.getDescription());
 
         Category updatedCategory = categoryRepository.save(category);
+        eventPublisher.publishEvent(new CatalogChangedEvent());
+        // The category name is part of every one of its events' search text
+        eventPublisher.publishEvent(new EventChangedEvent(eventRepository.findIdsByCategoryId(categoryId), false));
         return mapperService.mapToCategoryDto(updatedCategory);
     }
 
@@ -47,6 +55,10 @@ public class CategoryService {
         if (!categoryRepository.existsById(categoryId)) {
             throw new ResourceNotFoundException("Category", "id", categoryId);
         }
+        // Its events go with it (cascade)
+        List<Long> eventIds = eventRepository.findIdsByCategoryId(categoryId);
         categoryRepository.deleteById(categoryId);
+        eventPublisher.publishEvent(new CatalogChangedEvent());
+        eventPublisher.publishEvent(new EventChangedEvent(eventIds, true));
     }
 }
\ No newline at end of file
@@ -0,0 +1,82 @@
+package com.college.campusconnect.service;
+
+/**
+ * Minimal consecutive-failure circuit breaker.
+ *
+ * After failureThreshold failures in a row the circuit opens and calls are refused
+ * for openMillis. Then a single trial call is let through: success closes the
+ * circuit, failure opens it again.
+ */
+final class CircuitBreaker {
+
+    enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final int failureThreshold;
+    private final long openMillis;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private long openedAt;
+    private boolean trialInFlight;
+
+    CircuitBreaker(int failureThreshold, long openMillis) {
+        this.failureThreshold = failureThreshold;
+        this.openMillis = openMillis;
+    }
+
+    /**
+     * Whether {@link #tryAcquire} would currently grant a call, without claiming the
+     * half-open trial: once the trial is out, nobody else is admitted until it reports.
+     */
+    synchronized boolean isCallPermitted() {
+        return switch (state) {
+            case CLOSED -> true;
+            case OPEN -> openPeriodOver();
+            case HALF_OPEN -> !trialInFlight;
+        };
+    }
+
+    /**
+     * Claims permission for one call; the caller must report its outcome.
+     */
+    synchronized boolean tryAcquire() {
+        if (state == State.OPEN) {
+            if (!openPeriodOver()) {
+                return false;
+            }
+            state = State.HALF_OPEN;
+            trialInFlight = false;
+        }
+        if (state == State.HALF_OPEN) {
+            if (trialInFlight) {
+                return false;
+            }
+            trialInFlight = true;
+        }
+        return true;
+    }
+
+    synchronized void recordSuccess() {
+        state = State.CLOSED;
+        consecutiveFailures = 0;
+        trialInFlight = false;
+    }
+
+    synchronized void recordFailure() {
+        trialInFlight = false;
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+            state = State.OPEN;
+            openedAt = System.currentTimeMillis();
+            consecutiveFailures = 0;
+        }
+    }
+
+    synchronized State getState() {
+        return state;
+    }
+
+    private boolean openPeriodOver() {
+        return System.currentTimeMillis() - openedAt >= openMillis;
+    }
+}
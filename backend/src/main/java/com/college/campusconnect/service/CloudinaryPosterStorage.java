@@ -0,0 +1,74 @@
+package com.college.campusconnect.service;
+
+import com.cloudinary.Cloudinary;
+import com.cloudinary.utils.ObjectUtils;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+
+@Service
+@ConditionalOnProperty(name = "storage.posters.backend", havingValue = "cloudinary", matchIfMissing = true)
+public class CloudinaryPosterStorage implements PosterStorage {
+
+    // Inject values from application.properties
+    @Value("${cloudinary.cloud-name}")
+    private String cloudName;
+
+    @Value("${cloudinary.api-key}")
+    private String apiKey;
+
+    @Value("${cloudinary.api-secret}")
+    private String apiSecret;
+
+    private Cloudinary cloudinary;
+
+    @PostConstruct
+    public void init() {
+        cloudinary = new Cloudinary(ObjectUtils.asMap(
+                "cloud_name", cloudName,
+                "api_key", apiKey,
+                "api_secret", apiSecret
+        ));
+    }
+
+    @Override
+    public String store(String key, Resource content, String contentType) throws IOException {
+        Map options = ObjectUtils.asMap(
+                "public_id", key,
+                "overwrite", true,
+                "resource_type", "auto"
+        );
+
+        // The SDK takes bytes or a file, not a stream: small processed images go up as
+        // bytes, anything else is spooled to a temp file instead of the heap
+        if (content instanceof ByteArrayResource bytes) {
+            return secureUrl(cloudinary.uploader().upload(bytes.getByteArray(), options));
+        }
+        if (content.isFile()) {
+            return secureUrl(cloudinary.uploader().upload(content.getFile(), options));
+        }
+        Path spooled = Files.createTempFile("poster-", ".upload");
+        try {
+            try (InputStream in = content.getInputStream()) {
+                Files.copy(in, spooled, StandardCopyOption.REPLACE_EXISTING);
+            }
+            return secureUrl(cloudinary.uploader().upload(spooled.toFile(), options));
+        } finally {
+            Files.deleteIfExists(spooled);
+        }
+    }
+
+    private static String secureUrl(Map uploadResult) {
+        return uploadResult.get("secure_url").toString();
+    }
+}
@@ -0,0 +1,19 @@
+package com.college.campusconnect.service;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Published by the admin write paths with the ids of events that were created, changed
+ * (including through a renamed category) or deleted, so the search index can update
+ * just those documents.
+ */
+@Getter
+@AllArgsConstructor
+public class EventChangedEvent {
+
+    private final List<Long> eventIds;
+    private final boolean deleted;
+}
@@ -0,0 +1,96 @@
+package com.college.campusconnect.service;
+
+import com.college.campusconnect.dto.EventFacetRow;
+import com.college.campusconnect.dto.EventFacets;
+import com.college.campusconnect.dto.EventFilter;
+import com.college.campusconnect.dto.FacetCount;
+import com.college.campusconnect.repository.EventRepository;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Facet counts for the filtered event listing.
+ *
+ * One aggregate query groups the events in the date window and price range by category,
+ * club, free/paid and availability together. There are only as many groups as distinct
+ * combinations (a few hundred at most), so each facet is then counted in memory from the
+ * groups that pass every other facet's selection, which is what lets a client show
+ * "Music (12)" next to the already selected "Sports".
+ */
+@Service
+@RequiredArgsConstructor
+public class EventFacetService {
+
+    public static final String AVAILABLE = "available";
+    public static final String FULL = "full";
+
+    private final EventRepository eventRepository;
+
+    @Timed("events.facets")
+    public EventFacets getFacets(EventFilter filter) {
+        List<EventFacetRow> rows = eventRepository.countFacets(
+                filter.fromOrNow(), filter.getTo(), filter.getMinPrice(), filter.getMaxPrice());
+
+        Map<String, Counter> categories = new LinkedHashMap<>();
+        Map<String, Counter> clubs = new LinkedHashMap<>();
+        Map<String, Counter> price = new LinkedHashMap<>();
+        Map<String, Counter> availability = new LinkedHashMap<>();
+        long total = 0;
+
+        for (EventFacetRow row : rows) {
+            boolean categoryMatches = filter.getCategories() == null || filter.getCategories().isEmpty()
+                    || filter.getCategories().contains(row.getCategoryId());
+            boolean clubMatches = filter.getClubs() == null || filter.getClubs().isEmpty()
+                    || filter.getClubs().contains(row.getClub());
+            boolean priceMatches = filter.getPrice() == null || filter.getPrice().equals(row.getPrice());
+            boolean availabilityMatches = !Boolean.TRUE.equals(filter.getAvailable()) || AVAILABLE.equals(row.getAvailability());
+
+            if (clubMatches && priceMatches && availabilityMatches) {
+                add(categories, String.valueOf(row.getCategoryId()), row.getCategoryName(), row.getCount());
+            }
+            // Events without a club are counted in the other facets but offer no club to pick
+            if (categoryMatches && priceMatches && availabilityMatches && row.getClub() != null) {
+                add(clubs, row.getClub(), row.getClub(), row.getCount());
+            }
+            if (categoryMatches && clubMatches && availabilityMatches) {
+                add(price, row.getPrice(), row.getPrice(), row.getCount());
+            }
+            if (categoryMatches && clubMatches && priceMatches) {
+                add(availability, row.getAvailability(), row.getAvailability(), row.getCount());
+            }
+            if (categoryMatches && clubMatches && priceMatches && availabilityMatches) {
+                total += row.getCount();
+            }
+        }
+
+        return new EventFacets(total, sorted(categories), sorted(clubs), sorted(price), sorted(availability));
+    }
+
+    private static void add(Map<String, Counter> facet, String value, String label, long count) {
+        facet.computeIfAbsent(value, v -> new Counter(label)).count += count;
+    }
+
+    // Most events first, then by label
+    private static List<FacetCount> sorted(Map<String, Counter> facet) {
+        List<FacetCount> counts = new ArrayList<>(facet.size());
+        facet.forEach((value, counter) -> counts.add(new FacetCount(value, counter.label, counter.count)));
+        counts.sort(Comparator.comparingLong(FacetCount::getCount).reversed().thenComparing(FacetCount::getLabel));
+        return counts;
+    }
+
+    private static final class Counter {
+        private final String label;
+        private long count;
+
+        Counter(String label) {
+            this.label = label;
+        }
+    }
+}
@@ -0,0 +1,484 @@
+package com.college.campusconnect.service;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory inverted index over the searchable text of events.
+ *
+ * Text is folded to lower-case ASCII-ish tokens (accents stripped, split on anything that
+ * is not a letter or digit). Each term maps to a posting list of (document, weight), where
+ * the weight adds up the fields the term occurs in: name counts most, then category and
+ * club, venue, and description least; repeats within a field add logarithmically.
+ *
+ * A query matches documents containing every query token, either as a whole term or, from
+ * three letters on, as a prefix of one (so "hack" finds "hackathon"). A document scores the sum over tokens of
+ * weight * idf, prefix matches at a discount, and the best scoring event ids come back.
+ *
+ * Documents get an internal ordinal in insertion order, so every posting list stays
+ * sorted by ordinal and query tokens are combined by merging sorted arrays. Updating or
+ * removing a document only marks its old ordinal dead; dead entries are skipped by queries
+ * and dropped by a compaction once they outnumber the live ones. Reads share a lock and
+ * writes (admin changes) take it exclusively.
+ */
+public class EventSearchIndex {
+
+    static final float NAME_WEIGHT = 5f;
+    static final float CATEGORY_WEIGHT = 3f;
+    static final float CLUB_WEIGHT = 3f;
+    static final float VENUE_WEIGHT = 2f;
+    static final float DESCRIPTION_WEIGHT = 1f;
+
+    // A token only expands to longer terms from this length on: two letters prefix a large share
+    // of the vocabulary, which costs milliseconds and ranks nothing useful
+    private static final int MIN_PREFIX_LENGTH = 3;
+    private static final float PREFIX_FACTOR = 0.6f;
+    private static final int MAX_PREFIX_EXPANSIONS = 64;
+    private static final int MAX_QUERY_TOKENS = 8;
+    private static final int DEAD = -1;
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final TreeMap<String, Postings> terms = new TreeMap<>();
+    private final Map<Long, Integer> ordinalByEventId = new HashMap<>();
+
+    // ordinal -> event id, DEAD once the document was replaced or removed
+    private long[] eventIds = new long[1024];
+    private int nextOrdinal;
+    private int deadCount;
+
+    /**
+     * The searchable fields of one event.
+     */
+    public record Document(long eventId, String name, String description, String organizingClub,
+                           String venue, String categoryName) {
+    }
+
+    /**
+     * Adds the document, replacing any earlier version of the same event.
+     */
+    public void put(Document document) {
+        Map<String, Float> weights = weigh(document);
+        lock.writeLock().lock();
+        try {
+            markDead(document.eventId());
+            int ordinal = nextOrdinal++;
+            if (ordinal == eventIds.length) {
+                eventIds = Arrays.copyOf(eventIds, ordinal * 2);
+            }
+            eventIds[ordinal] = document.eventId();
+            ordinalByEventId.put(document.eventId(), ordinal);
+            weights.forEach((term, weight) -> terms.computeIfAbsent(term, t -> new Postings()).add(ordinal, weight));
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long eventId) {
+        lock.writeLock().lock();
+        try {
+            markDead(eventId);
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return ordinalByEventId.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Ids of the best matching events, best first; empty when the query has no tokens.
+     */
+    public List<Long> search(String query, int limit) {
+        List<String> tokens = new ArrayList<>(new LinkedHashSet<>(tokenize(query)));
+        if (tokens.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        if (tokens.size() > MAX_QUERY_TOKENS) {
+            tokens = tokens.subList(0, MAX_QUERY_TOKENS);
+        }
+
+        lock.readLock().lock();
+        try {
+            List<Matches> perToken = new ArrayList<>(tokens.size());
+            for (String token : tokens) {
+                Matches matches = match(token);
+                if (matches.size == 0) {
+                    return List.of();
+                }
+                perToken.add(matches);
+            }
+
+            // Intersect starting from the rarest token, so the running result only shrinks
+            perToken.sort((a, b) -> Integer.compare(a.size, b.size));
+            Matches result = perToken.get(0);
+            for (int i = 1; i < perToken.size() && result.size > 0; i++) {
+                result = result.intersect(perToken.get(i));
+            }
+            return top(result, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // All postings for one token: the exact term plus, for long enough tokens, the terms it prefixes
+    private Matches match(String token) {
+        List<Postings> lists = new ArrayList<>();
+        List<Float> factors = new ArrayList<>();
+        Postings exact = terms.get(token);
+        if (exact != null) {
+            lists.add(exact);
+            factors.add(idf(exact));
+        }
+        if (token.length() >= MIN_PREFIX_LENGTH) {
+            for (Postings postings : expansions(token)) {
+                lists.add(postings);
+                factors.add(idf(postings) * PREFIX_FACTOR);
+            }
+        }
+
+        if (lists.isEmpty()) {
+            return Matches.EMPTY;
+        }
+        if (lists.size() == 1) {
+            return Matches.of(lists.get(0), factors.get(0));
+        }
+
+        int total = 0;
+        for (Postings postings : lists) {
+            total += postings.size;
+        }
+        return total > nextOrdinal / 8 ? mergeDense(lists, factors) : mergeSparse(lists, factors, total);
+    }
+
+    // The longer terms starting with the token; a short prefix of a big vocabulary is capped to its most frequent terms
+    private List<Postings> expansions(String token) {
+        Collection<Postings> longer = terms.subMap(token, false, token + Character.MAX_VALUE, false).values();
+        List<Postings> expansions = new ArrayList<>(longer);
+        if (expansions.size() > MAX_PREFIX_EXPANSIONS) {
+            expansions.sort((a, b) -> Integer.compare(b.size, a.size));
+            return expansions.subList(0, MAX_PREFIX_EXPANSIONS);
+        }
+        return expansions;
+    }
+
+    // Few postings: gather (ordinal, score) pairs, sort by ordinal and add up duplicates.
+    // The ordinal goes in the high half of a long so a plain sort orders by it.
+    private static Matches mergeSparse(List<Postings> lists, List<Float> factors, int total) {
+        long[] pairs = new long[total];
+        int n = 0;
+        for (int i = 0; i < lists.size(); i++) {
+            Postings postings = lists.get(i);
+            float factor = factors.get(i);
+            for (int j = 0; j < postings.size; j++) {
+                pairs[n++] = ((long) postings.ordinals[j] << 32) | (Float.floatToRawIntBits(postings.weights[j] * factor) & 0xFFFFFFFFL);
+            }
+        }
+        Arrays.sort(pairs);
+
+        int[] ordinals = new int[total];
+        float[] scores = new float[total];
+        int size = 0;
+        for (long pair : pairs) {
+            int ordinal = (int) (pair >>> 32);
+            float score = Float.intBitsToFloat((int) pair);
+            if (size > 0 && ordinals[size - 1] == ordinal) {
+                scores[size - 1] += score;
+            } else {
+                ordinals[size] = ordinal;
+                scores[size] = score;
+                size++;
+            }
+        }
+        return new Matches(ordinals, scores, size);
+    }
+
+    // Many postings: add them up in one slot per document, which comes out in ordinal order
+    // without sorting. Every weight is positive, so an untouched slot is exactly 0.
+    private Matches mergeDense(List<Postings> lists, List<Float> factors) {
+        float[] accumulated = new float[nextOrdinal];
+        for (int i = 0; i < lists.size(); i++) {
+            Postings postings = lists.get(i);
+            float factor = factors.get(i);
+            for (int j = 0; j < postings.size; j++) {
+                accumulated[postings.ordinals[j]] += postings.weights[j] * factor;
+            }
+        }
+
+        int size = 0;
+        for (float score : accumulated) {
+            if (score > 0) {
+                size++;
+            }
+        }
+        int[] ordinals = new int[size];
+        float[] scores = new float[size];
+        int n = 0;
+        for (int ordinal = 0; ordinal < accumulated.length; ordinal++) {
+            if (accumulated[ordinal] > 0) {
+                ordinals[n] = ordinal;
+                scores[n] = accumulated[ordinal];
+                n++;
+            }
+        }
+        return new Matches(ordinals, scores, size);
+    }
+
+    private float idf(Postings postings) {
+        int documents = Math.max(1, ordinalByEventId.size());
+        return (float) Math.log(1.0 + (double) documents / postings.size);
+    }
+
+    // Best `limit` live documents, by score and then by ordinal (earlier indexed first)
+    private List<Long> top(Matches matches, int limit) {
+        // Min-heap of entry indexes whose root is the worst kept entry; anything not strictly
+        // better than the root is skipped without touching the heap
+        int[] heap = new int[Math.min(limit, matches.size)];
+        int size = 0;
+        for (int i = 0; i < matches.size; i++) {
+            if (eventIds[matches.ordinals[i]] == DEAD) {
+                continue;
+            }
+            if (size < heap.length) {
+                heap[size] = i;
+                siftUp(heap, size++, matches);
+            } else if (matches.scores[i] > matches.scores[heap[0]]) {
+                heap[0] = i;
+                siftDown(heap, size, matches);
+            }
+        }
+
+        Long[] ids = new Long[size];
+        while (size > 0) {
+            ids[--size] = eventIds[matches.ordinals[heap[0]]];
+            heap[0] = heap[size];
+            siftDown(heap, size, matches);
+        }
+        return Arrays.asList(ids);
+    }
+
+    private static boolean worse(int a, int b, Matches matches) {
+        float scoreA = matches.scores[a];
+        float scoreB = matches.scores[b];
+        return scoreA < scoreB || (scoreA == scoreB && matches.ordinals[a] > matches.ordinals[b]);
+    }
+
+    private static void siftUp(int[] heap, int index, Matches matches) {
+        while (index > 0) {
+            int parent = (index - 1) / 2;
+            if (!worse(heap[index], heap[parent], matches)) {
+                return;
+            }
+            int swap = heap[index];
+            heap[index] = heap[parent];
+            heap[parent] = swap;
+            index = parent;
+        }
+    }
+
+    private static void siftDown(int[] heap, int size, Matches matches) {
+        int index = 0;
+        while (true) {
+            int child = 2 * index + 1;
+            if (child >= size) {
+                return;
+            }
+            if (child + 1 < size && worse(heap[child + 1], heap[child], matches)) {
+                child++;
+            }
+            if (!worse(heap[child], heap[index], matches)) {
+                return;
+            }
+            int swap = heap[index];
+            heap[index] = heap[child];
+            heap[child] = swap;
+            index = child;
+        }
+    }
+
+    private void markDead(long eventId) {
+        Integer ordinal = ordinalByEventId.remove(eventId);
+        if (ordinal != null) {
+            eventIds[ordinal] = DEAD;
+            deadCount++;
+        }
+    }
+
+    // Renumbers the live documents (keeping their order, so posting lists stay sorted)
+    // and drops dead postings and terms left without any
+    private void compactIfNeeded() {
+        if (deadCount < 1024 || deadCount < ordinalByEventId.size()) {
+            return;
+        }
+
+        int[] renumbered = new int[nextOrdinal];
+        long[] liveIds = new long[Math.max(1024, ordinalByEventId.size() * 2)];
+        int live = 0;
+        for (int ordinal = 0; ordinal < nextOrdinal; ordinal++) {
+            if (eventIds[ordinal] == DEAD) {
+                renumbered[ordinal] = DEAD;
+            } else {
+                liveIds[live] = eventIds[ordinal];
+                ordinalByEventId.put(eventIds[ordinal], live);
+                renumbered[ordinal] = live++;
+            }
+        }
+
+        Iterator<Postings> postingsIterator = terms.values().iterator();
+        while (postingsIterator.hasNext()) {
+            Postings postings = postingsIterator.next();
+            postings.renumber(renumbered);
+            if (postings.size == 0) {
+                postingsIterator.remove();
+            }
+        }
+
+        eventIds = liveIds;
+        nextOrdinal = live;
+        deadCount = 0;
+    }
+
+    private static Map<String, Float> weigh(Document document) {
+        Map<String, Float> weights = new HashMap<>();
+        addField(weights, document.name(), NAME_WEIGHT);
+        addField(weights, document.categoryName(), CATEGORY_WEIGHT);
+        addField(weights, document.organizingClub(), CLUB_WEIGHT);
+        addField(weights, document.venue(), VENUE_WEIGHT);
+        addField(weights, document.description(), DESCRIPTION_WEIGHT);
+        return weights;
+    }
+
+    private static void addField(Map<String, Float> weights, String text, float fieldWeight) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        for (String token : tokenize(text)) {
+            frequencies.merge(token, 1, Integer::sum);
+        }
+        frequencies.forEach((token, frequency) ->
+                weights.merge(token, fieldWeight * (1f + (float) Math.log(frequency)), Float::sum));
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        String folded = DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("")
+                .toLowerCase(Locale.ROOT);
+        List<String> tokens = new ArrayList<>();
+        for (String token : SEPARATORS.split(folded)) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Ordinals (ascending) and weights of the documents containing one term.
+     */
+    private static final class Postings {
+
+        private int[] ordinals = new int[4];
+        private float[] weights = new float[4];
+        private int size;
+
+        // Ordinals are handed out in increasing order, so appending keeps the list sorted
+        void add(int ordinal, float weight) {
+            if (size == ordinals.length) {
+                ordinals = Arrays.copyOf(ordinals, size * 2);
+                weights = Arrays.copyOf(weights, size * 2);
+            }
+            ordinals[size] = ordinal;
+            weights[size] = weight;
+            size++;
+        }
+
+        void renumber(int[] renumbered) {
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                int ordinal = renumbered[ordinals[i]];
+                if (ordinal != DEAD) {
+                    ordinals[kept] = ordinal;
+                    weights[kept] = weights[i];
+                    kept++;
+                }
+            }
+            size = kept;
+            if (size < ordinals.length / 4) {
+                ordinals = Arrays.copyOf(ordinals, Math.max(4, size));
+                weights = Arrays.copyOf(weights, Math.max(4, size));
+            }
+        }
+    }
+
+    /**
+     * Scored documents for part of a query, sorted by ordinal.
+     */
+    private static final class Matches {
+
+        static final Matches EMPTY = new Matches(new int[0], new float[0], 0);
+
+        final int[] ordinals;
+        final float[] scores;
+        final int size;
+
+        Matches(int[] ordinals, float[] scores, int size) {
+            this.ordinals = ordinals;
+            this.scores = scores;
+            this.size = size;
+        }
+
+        static Matches of(Postings postings, float factor) {
+            float[] scores = new float[postings.size];
+            for (int i = 0; i < postings.size; i++) {
+                scores[i] = postings.weights[i] * factor;
+            }
+            return new Matches(postings.ordinals, scores, postings.size);
+        }
+
+        // Documents in both, with their scores added up
+        Matches intersect(Matches other) {
+            int[] ordinals = new int[Math.min(size, other.size)];
+            float[] scores = new float[ordinals.length];
+            int n = 0;
+            int i = 0;
+            int j = 0;
+            while (i < size && j < other.size) {
+                int a = this.ordinals[i];
+                int b = other.ordinals[j];
+                if (a < b) {
+                    i++;
+                } else if (a > b) {
+                    j++;
+                } else {
+                    ordinals[n] = a;
+                    scores[n] = this.scores[i] + other.scores[j];
+                    n++;
+                    i++;
+                    j++;
+                }
+            }
+            return new Matches(ordinals, scores, n);
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.college.campusconnect.service;
+
+import com.college.campusconnect.dto.EventCursor;
+import com.college.campusconnect.dto.EventDto;
+import com.college.campusconnect.entity.Event;
+import com.college.campusconnect.repository.EventRepository;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Full-text event search, answered from an {@link EventSearchIndex} held in memory.
+ *
+ * The index is filled from the events table once at startup and then follows the admin
+ * changes ({@link EventChangedEvent}) one event at a time. A query only reads the index;
+ * the database is asked for the matching rows by primary key, which also drops an id
+ * the index still holds for an event deleted a moment ago.
+ */
+@Service
+@RequiredArgsConstructor
+public class EventSearchService {
+
+    private static final int LOAD_BATCH_SIZE = 1000;
+
+    private final EventRepository eventRepository;
+    private final MapperService mapperService;
+
+    private final EventSearchIndex index = new EventSearchIndex();
+
+    @Timed("events.search")
+    public List<EventDto> search(String query, int size) {
+        List<Long> ids = index.search(query, EventService.clampPageSize(size));
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, Event> events = eventRepository.findByIdIn(ids).stream()
+                .collect(Collectors.toMap(Event::getId, Function.identity()));
+        return ids.stream()
+                .map(events::get)
+                .filter(Objects::nonNull)
+                .map(mapperService::mapToEventDto)
+                .collect(Collectors.toList());
+    }
+
+    // Walks the events table in keyset pages, so the whole table is never in one result set
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildIndex() {
+        EventCursor after = EventCursor.START;
+        while (true) {
+            List<Event> page = eventRepository.findPageAfter(after.getDateTime(), after.getId(), Limit.of(LOAD_BATCH_SIZE));
+            page.forEach(event -> index.put(toDocument(event)));
+            if (page.size() < LOAD_BATCH_SIZE) {
+                break;
+            }
+            Event last = page.get(page.size() - 1);
+            after = new EventCursor(last.getDateTime(), last.getId());
+        }
+    }
+
+    // Runs after the admin's change is committed (or right away when there is no transaction)
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEventChanged(EventChangedEvent event) {
+        if (event.getEventIds().isEmpty()) {
+            return;
+        }
+        if (event.isDeleted()) {
+            event.getEventIds().forEach(index::remove);
+            return;
+        }
+        eventRepository.findByIdIn(event.getEventIds()).forEach(changed -> index.put(toDocument(changed)));
+    }
+
+    private static EventSearchIndex.Document toDocument(Event event) {
+        return new EventSearchIndex.Document(
+                event.getId(),
+                event.getName(),
+                event.getDescription(),
+                event.getOrganizingClub(),
+                event.getVenue(),
+                event.getCategory().getName()
+        );
+    }
+}
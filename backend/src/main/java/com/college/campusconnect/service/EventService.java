@@ -1,25 +1,34 @@
 package com.college.campusconnect.service;
 
+import com.college.campusconnect.dto.EventCursor;
 import com.college.campusconnect.dto.EventDto;
+import com.college.campusconnect.dto.EventFilter;
+import com.college.campusconnect.dto.EventPage;
 import com.college.campusconnect.dto.EventRequest;
+import com.college.campusconnect.dto.RefundDuePayment;
+import com.college.campusconnect.dto.RegistrationStatusDto;
 import com.college.campusconnect.dto.UserDto;
 import com.college.campusconnect.entity.Category;
 import com.college.campusconnect.entity.Event;
 import com.college.campusconnect.entity.Registration;
 import com.college.campusconnect.entity.User;
+import com.college.campusconnect.exception.EventFullException;
+import com.college.campusconnect.exception.PaidWithoutSeatException;
 import com.college.campusconnect.exception.ResourceNotFoundException;
+import com.college.campusconnect.exception.ServiceUnavailableException;
 import com.college.campusconnect.repository.CategoryRepository;
 import com.college.campusconnect.repository.EventRepository;
+import com.college.campusconnect.repository.EventSpecifications;
 import com.college.campusconnect.repository.RegistrationRepository;
-import com.college.campusconnect.repository.UserRepository;
-import com.razorpay.Order;
-import com.razorpay.RazorpayClient;
-import com.razorpay.RazorpayException;
-import jakarta.annotation.PostConstruct;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
-import org.json.JSONObject;
-import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -29,28 +38,17 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class EventService {
 
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 100;
+
     private final EventRepository eventRepository;
     private final CategoryRepository categoryRepository;
-    private final UserRepository userRepository;
     private final RegistrationRepository registrationRepository; // Inject new repo
     private final MapperService mapperService;
-
-    // --- Razorpay Configuration ---
-    @Value("${razorpay.key_id}")
-    private String razorpayKeyId;
-
-    @Value("${razorpay.key_secret}")
-    private String razorpayKeySecret;
-
-    private RazorpayClient razorpayClient;
-
-    @PostConstruct
-    public void init() throws RazorpayException {
-        // Initialize the client only if keys are present to avoid errors during testing
-        if (razorpayKeyId != null && !razorpayKeyId.isEmpty()) {
-            this.razorpayClient = new RazorpayClient(razorpayKeyId, razorpayKeySecret);
-        }
-    }
+    private final SeatReservationService seatReservationService;
+    private final UserCache userCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final PaymentOrderService paymentOrderService;
 
     // --- Admin Functions ---
 
@@ -70,6 +68,8 @@ public class EventService {
         event.setCategory(category);
 
         Event savedEvent = eventRepository.save(event);
+        eventPublisher.publishEvent(new CatalogChangedEvent());
+        eventPublisher.publishEvent(new EventChangedEvent(List.of(savedEvent.getId()), false));
         return mapperService.mapToEventDto(savedEvent);
     }
 
@@ -92,6 +92,9 @@ public class EventService {
         event.setCategory(category);
 
         Event updatedEvent = eventRepository.save(event);
+        seatReservationService.invalidate(eventId);
+        eventPublisher.publishEvent(new CatalogChangedEvent());
+        eventPublisher.publishEvent(new EventChangedEvent(List.of(eventId), false));
         return mapperService.mapToEventDto(updatedEvent);
     }
 
@@ -99,30 +102,52 @@ public class EventService {
         Event event = eventRepository.findById(eventId)
                 .orElseThrow(() -> new ResourceNotFoundException("Event", "id", eventId));
         eventRepository.delete(event);
+        seatReservationService.invalidate(eventId);
+        eventPublisher.publishEvent(new CatalogChangedEvent());
+        eventPublisher.publishEvent(new EventChangedEvent(List.of(eventId), true));
     }
 
     public List<UserDto> getEventAttendees(Long eventId) {
-        Event event = eventRepository.findById(eventId)
-                .orElseThrow(() -> new ResourceNotFoundException("Event", "id", eventId));
+        if (!eventRepository.existsById(eventId)) {
+            throw new ResourceNotFoundException("Event", "id", eventId);
+        }
 
-        // FIX: Use Registration Repository to find attendees
-        return registrationRepository.findByEvent(event).stream()
-                .map(registration -> mapperService.mapToUserDto(registration.getUser()))
+        // One query returns the attendees with their roles (no per-registration loads)
+        return registrationRepository.findAttendeesByEventId(eventId).stream()
+                .map(mapperService::mapToUserDto)
                 .collect(Collectors.toList());
     }
 
     // --- Public Functions ---
+    // Listings share the events.listing timer, told apart by its method tag
 
-    public List<EventDto> getAllEvents() {
-        return eventRepository.findAll().stream()
-                .map(mapperService::mapToEventDto)
-                .collect(Collectors.toList());
+    @Timed("events.listing")
+    public EventPage getAllEvents(String cursor, int size) {
+        EventCursor after = cursor == null ? EventCursor.START : EventCursor.decode(cursor);
+        int limit = clampPageSize(size);
+        return toPage(eventRepository.findPageAfter(after.getDateTime(), after.getId(), Limit.of(limit + 1)), limit);
     }
 
-    public List<EventDto> getUpcomingEvents() {
-        return eventRepository.findByDateTimeAfter(LocalDateTime.now()).stream()
-                .map(mapperService::mapToEventDto)
-                .collect(Collectors.toList());
+    @Timed("events.listing")
+    public EventPage getUpcomingEvents(String cursor, int size) {
+        EventCursor after = cursor == null ? EventCursor.after(LocalDateTime.now()) : EventCursor.decode(cursor);
+        int limit = clampPageSize(size);
+        return toPage(eventRepository.findPageAfter(after.getDateTime(), after.getId(), Limit.of(limit + 1)), limit);
+    }
+
+    // Faceted listing: every filter as a Specification, keyset-paginated like the other listings
+    @Timed("events.listing")
+    public EventPage getFilteredEvents(EventFilter filter, String cursor, int size) {
+        EventCursor after = cursor == null ? EventCursor.START : EventCursor.decode(cursor);
+        int limit = clampPageSize(size);
+        Specification<Event> specification = EventSpecifications.matching(filter, filter.fromOrNow())
+                .and(EventSpecifications.after(after))
+                .and(EventSpecifications.fetchCategory());
+        List<Event> events = eventRepository.findBy(specification, query -> query
+                .sortBy(Sort.by("dateTime", "id"))
+                .limit(limit + 1)
+                .all());
+        return toPage(events, limit);
     }
 
     public EventDto getEventById(Long eventId) {
@@ -131,64 +156,126 @@ public class EventService {
         return mapperService.mapToEventDto(event);
     }
 
-    public List<EventDto> getEventsByCategory(Long categoryId) {
+    @Timed("events.listing")
+    public EventPage getEventsByCategory(Long categoryId, String cursor, int size) {
         if (!categoryRepository.existsById(categoryId)) {
             throw new ResourceNotFoundException("Category", "id", categoryId);
         }
-        return eventRepository.findByCategoryId(categoryId).stream()
-                .map(mapperService::mapToEventDto)
-                .collect(Collectors.toList());
+        EventCursor after = cursor == null ? EventCursor.START : EventCursor.decode(cursor);
+        int limit = clampPageSize(size);
+        return toPage(eventRepository.findPageByCategoryAfter(categoryId, after.getDateTime(), after.getId(), Limit.of(limit + 1)), limit);
+    }
+
+    static int clampPageSize(int size) {
+        return Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+    }
+
+    // The query asks for one row more than the page size; if it comes back there is a next page
+    private EventPage toPage(List<Event> events, int limit) {
+        boolean hasMore = events.size() > limit;
+        List<Event> page = hasMore ? events.subList(0, limit) : events;
+
+        String nextCursor = null;
+        if (hasMore) {
+            Event last = page.get(page.size() - 1);
+            nextCursor = new EventCursor(last.getDateTime(), last.getId()).encode();
+        }
+        return new EventPage(
+                page.stream().map(mapperService::mapToEventDto).collect(Collectors.toList()),
+                nextCursor
+        );
     }
 
     // --- User Functions (UPDATED FOR PAYMENT) ---
 
-    // Returns String (Razorpay Order ID) instead of void
-    public String registerForEvent(Long eventId, String userEmail) {
+    // Returns a registration handle right away; for paid events the Razorpay order is
+    // created in the background and shows up on the handle (see getRegistrationStatus)
+    // Refusals (full, already registered) show up as the timer's exception tag; a full
+    // event answers 409 and the client can join its waitlist (WaitlistService)
+    @Timed(value = "events.registration", histogram = true)
+    @Transactional
+    public RegistrationStatusDto registerForEvent(Long eventId, String userEmail) {
+        // Sold-out events are turned away before touching the database
+        if (seatReservationService.isKnownSoldOut(eventId)) {
+            throw new EventFullException();
+        }
+
         Event event = eventRepository.findById(eventId)
                 .orElseThrow(() -> new ResourceNotFoundException("Event", "id", eventId));
 
-        User user = userRepository.findByEmail(userEmail)
+        User user = userCache.findByEmail(userEmail)
                 .orElseThrow(() -> new ResourceNotFoundException("User", "email", userEmail));
 
-        // 1. Check if already registered
-        if (registrationRepository.existsByUserAndEvent(user, event)) {
+        // 1. Check if already registered. A PENDING registration is the same request
+        //    again (idempotent per user and event); a FAILED or EXPIRED one may be retried.
+        Registration existing = registrationRepository.findByUserAndEvent(user, event).orElse(null);
+        if (existing != null && "PENDING".equals(existing.getPaymentStatus())) {
+            ensureOrderRequested(existing, user, event);
+            return toStatusDto(existing, eventId);
+        }
+        if (existing != null && "PAID".equals(existing.getPaymentStatus())) {
             throw new RuntimeException("User is already registered for this event.");
         }
 
-        // 2. Check Capacity
-        if (event.getRegistrations().size() >= event.getMaxAttendees()) {
-            throw new RuntimeException("Event is already full.");
+        double amount = event.getRegistrationPrice();
+        boolean free = amount <= 0;
+        if (!free && !paymentOrderService.isAvailable()) {
+            throw new ServiceUnavailableException("Payments are temporarily unavailable. Please try again shortly.");
         }
 
-        try {
-            // 3. Create Razorpay Order
-            double amount = event.getRegistrationPrice();
+        // 2. Take a seat (atomic in the database; rolled back with this transaction on failure)
+        if (!seatReservationService.tryReserve(event)) {
+            throw new EventFullException();
+        }
 
-            // If event is free, create a generic "paid" registration immediately
-            if (amount <= 0) {
-                createRegistration(user, event, "FREE_EVENT", "PAID", 0);
-                return "FREE";
-            }
+        // 3. Free events are confirmed immediately; paid ones wait for their order
+        String status = free ? "PAID" : "PENDING";
+        String orderId = free ? "FREE_EVENT" : null;
+        Registration registration = existing == null
+                ? createRegistration(user, event, orderId, status, free ? 0 : amount)
+                : reopenRegistration(existing, orderId, status, free ? 0 : amount);
 
-            JSONObject orderRequest = new JSONObject();
-            orderRequest.put("amount", (int)(amount * 100)); // Convert to paise
-            orderRequest.put("currency", "INR");
-            orderRequest.put("receipt", "txn_" + System.currentTimeMillis());
+        if (!free) {
+            paymentOrderService.requestOrder(registration.getId(), eventId, idempotencyKey(user, event), amount);
+        }
+        return toStatusDto(registration, eventId);
+    }
 
-            Order order = razorpayClient.orders.create(orderRequest);
-            String razorpayOrderId = order.get("id");
+    public RegistrationStatusDto getRegistrationStatus(Long registrationId, String userEmail) {
+        Registration registration = registrationRepository.findByIdAndUser_Email(registrationId, userEmail)
+                .orElseThrow(() -> new ResourceNotFoundException("Registration", "id", registrationId));
+        Long eventId = registration.getEvent().getId();
+        if ("PENDING".equals(registration.getPaymentStatus())) {
+            ensureOrderRequested(registration, registration.getUser(), registration.getEvent());
+        }
+        return toStatusDto(registration, eventId);
+    }
+
+    // A PENDING registration without an order and without a running request lost its
+    // request (e.g. a restart); ask again under the same idempotency key
+    private void ensureOrderRequested(Registration registration, User user, Event event) {
+        if (registration.getRazorpayOrderId() == null && !paymentOrderService.isInFlight(registration.getId())) {
+            paymentOrderService.requestOrder(registration.getId(), event.getId(), idempotencyKey(user, event),
+                    registration.getAmountPaid());
+        }
+    }
 
-            // 4. Save Registration as "PENDING"
-            createRegistration(user, event, razorpayOrderId, "PENDING", amount);
+    private static String idempotencyKey(User user, Event event) {
+        return idempotencyKey(user.getId(), event.getId());
+    }
 
-            return razorpayOrderId;
+    static String idempotencyKey(Long userId, Long eventId) {
+        return "reg_" + userId + "_" + eventId;
+    }
 
-        } catch (RazorpayException e) {
-            throw new RuntimeException("Payment processing failed: " + e.getMessage());
-        }
+    private static RegistrationStatusDto toStatusDto(Registration registration, Long eventId) {
+        String orderId = "FREE_EVENT".equals(registration.getRazorpayOrderId()) ? null : registration.getRazorpayOrderId();
+        return new RegistrationStatusDto(registration.getId(), eventId, registration.getPaymentStatus(), orderId);
     }
 
-    private void createRegistration(User user, Event event, String orderId, String status, double amount) {
+    // The seat must already be reserved; the unique (user_id, event_id) key catches
+    // a concurrent duplicate that slipped past findByUserAndEvent
+    private Registration createRegistration(User user, Event event, String orderId, String status, double amount) {
         Registration registration = Registration.builder()
                 .user(user)
                 .event(event)
@@ -197,22 +284,84 @@ public class EventService {
                 .amountPaid(amount)
                 .registrationTime(LocalDateTime.now())
                 .build();
-        registrationRepository.save(registration);
+        try {
+            return registrationRepository.saveAndFlush(registration);
+        } catch (DataIntegrityViolationException e) {
+            throw new RuntimeException("User is already registered for this event.");
+        }
     }
 
+    // The seat must already be reserved; a concurrent retry of the same lapsed registration loses here
+    private Registration reopenRegistration(Registration registration, String orderId, String status, double amount) {
+        LocalDateTime now = LocalDateTime.now();
+        if (registrationRepository.reopenLapsed(registration.getId(), status, orderId, amount, now) == 0) {
+            throw new RuntimeException("User is already registered for this event.");
+        }
+        registration.setPaymentStatus(status);
+        registration.setRazorpayOrderId(orderId);
+        registration.setRazorpayPaymentId(null);
+        registration.setAmountPaid(amount);
+        registration.setRegistrationTime(now);
+        return registration;
+    }
+
+    // Called once the payment signature has been verified. A payment that arrives after the
+    // reconciler expired the registration, with no seat left, is kept as REFUND_DUE (committed
+    // even though the caller gets the exception) and listed by getRefundDuePayments.
+    @Transactional(noRollbackFor = PaidWithoutSeatException.class)
+    public void confirmPayment(String orderId, String paymentId) {
+        if (registrationRepository.markPaid(orderId, paymentId, "PENDING") == 1) {
+            return;
+        }
+
+        Registration registration = registrationRepository.findByRazorpayOrderId(orderId)
+                .orElseThrow(() -> new ResourceNotFoundException("Registration not found for order: " + orderId));
+        if ("PAID".equals(registration.getPaymentStatus())) {
+            return;
+        }
+        // Already waiting for its refund: a redelivery must not take a seat behind the refund's back
+        if ("REFUND_DUE".equals(registration.getPaymentStatus())) {
+            throw new PaidWithoutSeatException();
+        }
+
+        // Paid after the reconciler expired it: the seat was handed back, take it again if one is left
+        if (!seatReservationService.tryReserve(registration.getEvent())) {
+            if (registrationRepository.markRefundDue(orderId, paymentId, registration.getPaymentStatus()) == 0) {
+                throw new RuntimeException("Registration changed while confirming the payment, please retry.");
+            }
+            System.err.println("Payment " + paymentId + " for order " + orderId + " captured with no seat left; refund due");
+            throw new PaidWithoutSeatException();
+        }
+        if (registrationRepository.markPaid(orderId, paymentId, registration.getPaymentStatus()) == 0) {
+            throw new RuntimeException("Registration changed while confirming the payment, please retry.");
+        }
+    }
+
+    // Captured payments that got no seat, oldest first, for the admins to refund
+    public List<RefundDuePayment> getRefundDuePayments() {
+        return registrationRepository.findRefundDue();
+    }
+
+    private static boolean holdsSeat(Registration registration) {
+        return "PENDING".equals(registration.getPaymentStatus()) || "PAID".equals(registration.getPaymentStatus());
+    }
+
+    @Transactional
     public void unregisterFromEvent(Long eventId, String userEmail) {
         // Logic to unregister (admin only usually for paid events, or refund logic)
         // For now, simpler implementation:
         Event event = eventRepository.findById(eventId)
                 .orElseThrow(() -> new ResourceNotFoundException("Event", "id", eventId));
-        User user = userRepository.findByEmail(userEmail)
+        User user = userCache.findByEmail(userEmail)
                 .orElseThrow(() -> new ResourceNotFoundException("User", "email", userEmail));
 
-        Registration registration = registrationRepository.findByUser(user).stream()
-                .filter(r -> r.getEvent().getId().equals(eventId))
-                .findFirst()
+        Registration registration = registrationRepository.findByUserAndEvent(user, event)
                 .orElseThrow(() -> new RuntimeException("User not registered"));
 
         registrationRepository.delete(registration);
+        // Failed and expired registrations no longer hold a seat
+        if (holdsSeat(registration)) {
+            seatReservationService.release(eventId);
+        }
     }
 }
\ No newline at end of file
@@ -1,42 +1,263 @@
 package com.college.campusconnect.service;
 
-import com.cloudinary.Cloudinary;
-import com.cloudinary.utils.ObjectUtils;
+import com.college.campusconnect.entity.PosterAsset;
+import com.college.campusconnect.exception.BadRequestException;
+import com.college.campusconnect.exception.PayloadTooLargeException;
+import com.college.campusconnect.repository.PosterAssetRepository;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
 import org.springframework.web.multipart.MultipartFile;
-import jakarta.annotation.PostConstruct;
 
+import javax.imageio.IIOException;
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
 import java.io.IOException;
-import java.util.Map;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.Optional;
 
+/**
+ * Poster upload pipeline.
+ *
+ * The multipart stream is read once, through a size cap and a SHA-256 digest, straight
+ * into the image decoder. The decoder subsamples while reading, so a huge poster never
+ * exists on the heap at full resolution. The result is downscaled to the poster and
+ * thumbnail sizes and handed to {@link PosterStorage}. A file whose hash was uploaded
+ * before is answered from poster_assets without uploading anything. Files the JDK
+ * cannot decode (e.g. WebP) are stored as they are, without a thumbnail.
+ */
 @Service
 public class FileStorageService {
 
-    // Inject values from application.properties
-    @Value("${cloudinary.cloud-name}")
-    private String cloudName;
+    private static final float JPEG_QUALITY = 0.85f;
 
-    @Value("${cloudinary.api-key}")
-    private String apiKey;
+    private final PosterStorage posterStorage;
+    private final PosterAssetRepository posterAssetRepository;
+    private final long maxBytes;
+    private final long maxPixels;
+    private final int maxDimension;
+    private final int thumbnailDimension;
 
-    @Value("${cloudinary.api-secret}")
-    private String apiSecret;
+    public FileStorageService(
+            PosterStorage posterStorage,
+            PosterAssetRepository posterAssetRepository,
+            @Value("${storage.posters.max-size:10MB}") DataSize maxSize,
+            @Value("${storage.posters.max-pixels:50000000}") long maxPixels,
+            @Value("${storage.posters.max-dimension:1600}") int maxDimension,
+            @Value("${storage.posters.thumbnail-dimension:400}") int thumbnailDimension
+    ) {
+        this.posterStorage = posterStorage;
+        this.posterAssetRepository = posterAssetRepository;
+        this.maxBytes = maxSize.toBytes();
+        this.maxPixels = maxPixels;
+        this.maxDimension = maxDimension;
+        this.thumbnailDimension = thumbnailDimension;
+    }
+
+    @Timed("posters.store")
+    public PosterAsset storeFile(MultipartFile file) throws IOException {
+        if (file.isEmpty()) {
+            throw new BadRequestException("Uploaded file is empty");
+        }
+        if (file.getSize() > maxBytes) {
+            throw tooLarge();
+        }
+
+        // One pass: capped -> hashed -> decoded; the tail the decoder did not need is
+        // still read so the hash covers the whole file
+        MessageDigest digest = sha256();
+        BufferedImage image;
+        try (InputStream in = new DigestInputStream(new CappedInputStream(file.getInputStream(), maxBytes), digest)) {
+            image = decode(in);
+            in.transferTo(OutputStream.nullOutputStream());
+        }
+        String hash = HexFormat.of().formatHex(digest.digest());
+
+        Optional<PosterAsset> existing = posterAssetRepository.findByContentHash(hash);
+        if (existing.isPresent()) {
+            return existing.get();
+        }
+
+        PosterAsset asset = new PosterAsset();
+        asset.setContentHash(hash);
+        asset.setCreatedAt(LocalDateTime.now());
+        String key = "posters/" + hash;
+        if (image == null) {
+            asset.setUrl(posterStorage.store(key, file.getResource(), file.getContentType()));
+        } else {
+            BufferedImage poster = scaleToFit(image, maxDimension);
+            BufferedImage thumbnail = scaleToFit(poster, thumbnailDimension);
+            boolean alpha = image.getColorModel().hasAlpha();
+            String contentType = alpha ? "image/png" : "image/jpeg";
+            asset.setUrl(posterStorage.store(key, encode(poster, alpha), contentType));
+            asset.setThumbnailUrl(posterStorage.store(key + "-thumb", encode(thumbnail, alpha), contentType));
+        }
+
+        try {
+            return posterAssetRepository.save(asset);
+        } catch (DataIntegrityViolationException e) {
+            // The same file was uploaded concurrently; both stored it under the same key
+            return posterAssetRepository.findByContentHash(hash).orElseThrow(() -> e);
+        }
+    }
+
+    // Returns null for content ImageIO has no reader for (or cannot decode)
+    private BufferedImage decode(InputStream in) throws IOException {
+        ImageInputStream imageInput = ImageIO.createImageInputStream(in);
+        if (imageInput == null) {
+            return null;
+        }
+        try {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(imageInput);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(imageInput, true, true);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                if ((long) width * height > maxPixels) {
+                    throw new PayloadTooLargeException("Image dimensions exceed the maximum of " + maxPixels + " pixels");
+                }
+
+                // Skip source pixels while decoding, keeping at least maxDimension on the long side
+                int step = Math.max(1, Math.max(width, height) / maxDimension);
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(step, step, 0, 0);
+                return reader.read(0, param);
+            } catch (IIOException e) {
+                // e.g. CMYK JPEGs: fall back to storing the original
+                return null;
+            } finally {
+                reader.dispose();
+            }
+        } finally {
+            // Closes the decoder's cache only, not the upload stream
+            imageInput.close();
+        }
+    }
+
+    private static BufferedImage scaleToFit(BufferedImage source, int dimension) {
+        int width = source.getWidth();
+        int height = source.getHeight();
+        double scale = Math.min(1.0, (double) dimension / Math.max(width, height));
+        boolean alpha = source.getColorModel().hasAlpha();
+        int type = alpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+        if (scale == 1.0 && source.getType() == type) {
+            return source;
+        }
 
-    private Cloudinary cloudinary;
+        int targetWidth = Math.max(1, (int) Math.round(width * scale));
+        int targetHeight = Math.max(1, (int) Math.round(height * scale));
+        BufferedImage target = new BufferedImage(targetWidth, targetHeight, type);
+        Graphics2D graphics = target.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(source, 0, 0, targetWidth, targetHeight, null);
+        } finally {
+            graphics.dispose();
+        }
+        return target;
+    }
+
+    private static ByteArrayResource encode(BufferedImage image, boolean alpha) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        if (alpha) {
+            ImageIO.write(image, "png", out);
+            return new ByteArrayResource(out.toByteArray());
+        }
+
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        try (ImageOutputStream imageOutput = ImageIO.createImageOutputStream(out)) {
+            writer.setOutput(imageOutput);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(JPEG_QUALITY);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return new ByteArrayResource(out.toByteArray());
+    }
 
+    private PayloadTooLargeException tooLarge() {
+        return new PayloadTooLargeException("File exceeds the maximum size of " + DataSize.ofBytes(maxBytes).toMegabytes() + " MB");
+    }
 
-    @PostConstruct
-    public void init() {
-        cloudinary = new Cloudinary(ObjectUtils.asMap(
-                "cloud_name", cloudName,
-                "api_key", apiKey,
-                "api_secret", apiSecret
-        ));
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
     }
 
-    public String storeFile(MultipartFile file) throws IOException {
-        Map uploadResult = cloudinary.uploader().upload(file.getBytes(), ObjectUtils.emptyMap());
-        return uploadResult.get("secure_url").toString();
+    /**
+     * Fails the upload as soon as more than the allowed number of bytes has been read.
+     */
+    private final class CappedInputStream extends FilterInputStream {
+
+        private final long limit;
+        private long count;
+
+        CappedInputStream(InputStream in, long limit) {
+            super(in);
+            this.limit = limit;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                counted(1);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int n = super.read(buffer, offset, length);
+            if (n > 0) {
+                counted(n);
+            }
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            counted(skipped);
+            return skipped;
+        }
+
+        private void counted(long n) {
+            count += n;
+            if (count > limit) {
+                throw tooLarge();
+            }
+        }
     }
-}
\ No newline at end of file
+}
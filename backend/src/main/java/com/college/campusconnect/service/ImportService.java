@@ -0,0 +1,428 @@
+package com.college.campusconnect.service;
+
+import com.college.campusconnect.dto.EventRequest;
+import com.college.campusconnect.dto.ImportResult;
+import com.college.campusconnect.dto.ImportRowResult;
+import com.college.campusconnect.dto.RegisterRequest;
+import com.college.campusconnect.entity.Category;
+import com.college.campusconnect.entity.Event;
+import com.college.campusconnect.entity.Role;
+import com.college.campusconnect.entity.User;
+import com.college.campusconnect.exception.BadRequestException;
+import com.college.campusconnect.exception.ResourceNotFoundException;
+import com.college.campusconnect.repository.CategoryRepository;
+import com.college.campusconnect.repository.EventRepository;
+import com.college.campusconnect.repository.RoleRepository;
+import com.college.campusconnect.repository.UserRepository;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk import of users and events from CSV uploads.
+ *
+ * The file is read one record at a time and handled in chunks: each row is validated
+ * with the same constraints as the single-item endpoints, a chunk's passwords are hashed
+ * in parallel (BCrypt dominates the cost of a user row), and the chunk
+ * is saved in one transaction. User and event ids come from table generators, so
+ * Hibernate sends a chunk's inserts as JDBC batches. If a chunk fails on a constraint
+ * (an email registered meanwhile, say) its rows are retried one by one so only the
+ * offending row fails. Every data row gets a CREATED or FAILED entry in the result.
+ */
+@Service
+public class ImportService {
+
+    private static final List<String> USER_COLUMNS = List.of("name", "email", "password", "mobileNumber",
+            "department", "registrationNumber", "year", "gender");
+    private static final List<String> USER_REQUIRED = List.of("name", "email", "password", "mobileNumber");
+
+    private static final List<String> EVENT_COLUMNS = List.of("name", "description", "organizingClub", "dateTime",
+            "venue", "posterUrl", "maxAttendees", "registrationPrice", "categoryId");
+    private static final List<String> EVENT_REQUIRED = List.of("name", "description", "dateTime", "venue",
+            "maxAttendees", "categoryId");
+
+    private final UserRepository userRepository;
+    private final RoleRepository roleRepository;
+    private final EventRepository eventRepository;
+    private final CategoryRepository categoryRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final Validator validator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+
+    private final int chunkSize;
+    private final ExecutorService hashExecutor;
+
+    public ImportService(
+            UserRepository userRepository,
+            RoleRepository roleRepository,
+            EventRepository eventRepository,
+            CategoryRepository categoryRepository,
+            PasswordEncoder passwordEncoder,
+            Validator validator,
+            ApplicationEventPublisher eventPublisher,
+            PlatformTransactionManager transactionManager,
+            @Value("${import.chunk-size:500}") int chunkSize,
+            @Value("${import.hash-threads:0}") int hashThreads
+    ) {
+        this.userRepository = userRepository;
+        this.roleRepository = roleRepository;
+        this.eventRepository = eventRepository;
+        this.categoryRepository = categoryRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.validator = validator;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+        // The hashing itself runs on the password encoder's pool; these threads only wait for
+        // it, and their number caps how much of that pool's queue one import can take
+        int threads = hashThreads > 0 ? hashThreads : Runtime.getRuntime().availableProcessors();
+        this.hashExecutor = Executors.newFixedThreadPool(threads,
+                Thread.ofPlatform().name("import-hash-", 0).daemon().factory());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        hashExecutor.shutdownNow();
+    }
+
+    /**
+     * Creates a student account per row. Columns: name, email, password, mobileNumber,
+     * and optionally department, registrationNumber, year, gender.
+     */
+    public ImportResult importUsers(InputStream in) throws IOException {
+        Set<String> seenEmails = new HashSet<>();
+        return importRows(in, USER_COLUMNS, USER_REQUIRED, this::toRegisterRequest,
+                chunk -> saveUsers(chunk, seenEmails));
+    }
+
+    /**
+     * Creates an event per row. Columns: name, description, dateTime (ISO-8601), venue,
+     * maxAttendees, categoryId, and optionally organizingClub, posterUrl, registrationPrice.
+     */
+    public ImportResult importEvents(InputStream in) throws IOException {
+        return importRows(in, EVENT_COLUMNS, EVENT_REQUIRED, this::toEventRequest, this::saveEvents);
+    }
+
+    private <T> ImportResult importRows(
+            InputStream in,
+            List<String> allowed,
+            List<String> required,
+            Function<Map<String, String>, T> binder,
+            Consumer<List<Row<T>>> handler
+    ) throws IOException {
+        CsvReader csv = new CsvReader(new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8)));
+        List<String> header = csv.next();
+        if (header == null) {
+            throw new BadRequestException("The file is empty");
+        }
+        List<String> columns = columns(header, allowed, required);
+
+        List<ImportRowResult> results = new ArrayList<>();
+        List<Row<T>> chunk = new ArrayList<>(chunkSize);
+        List<String> record;
+        while ((record = csv.next()) != null) {
+            ImportRowResult result = new ImportRowResult(csv.recordLine(), null, null, null);
+            results.add(result);
+            if (record.size() != columns.size()) {
+                fail(result, "Expected " + columns.size() + " fields but found " + record.size());
+                continue;
+            }
+
+            Map<String, String> values = new HashMap<>();
+            for (int i = 0; i < columns.size(); i++) {
+                String value = record.get(i).trim();
+                values.put(columns.get(i), value.isEmpty() ? null : value);
+            }
+            T request;
+            try {
+                request = binder.apply(values);
+            } catch (IllegalArgumentException e) {
+                fail(result, e.getMessage());
+                continue;
+            }
+            String violations = validate(request);
+            if (violations != null) {
+                fail(result, violations);
+                continue;
+            }
+
+            chunk.add(new Row<>(result, request));
+            if (chunk.size() == chunkSize) {
+                handler.accept(chunk);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            handler.accept(chunk);
+        }
+
+        int created = (int) results.stream().filter(r -> ImportRowResult.CREATED.equals(r.getStatus())).count();
+        return new ImportResult(created, results.size() - created, results);
+    }
+
+    // --- Users ---
+
+    private void saveUsers(List<Row<RegisterRequest>> chunk, Set<String> seenEmails) {
+        Set<String> taken = new HashSet<>(userRepository.findExistingEmails(
+                chunk.stream().map(row -> row.request().getEmail()).toList()));
+
+        List<Row<RegisterRequest>> accepted = new ArrayList<>();
+        for (Row<RegisterRequest> row : chunk) {
+            String email = row.request().getEmail();
+            if (taken.contains(email)) {
+                fail(row.result(), "Email is already taken");
+            } else if (!seenEmails.add(email)) {
+                fail(row.result(), "Email appears earlier in the file");
+            } else {
+                accepted.add(row);
+            }
+        }
+
+        List<CompletableFuture<String>> hashes = accepted.stream()
+                .map(row -> CompletableFuture.supplyAsync(
+                        () -> passwordEncoder.encode(row.request().getPassword()), hashExecutor))
+                .toList();
+        List<User> users = new ArrayList<>(accepted.size());
+        for (int i = 0; i < accepted.size(); i++) {
+            RegisterRequest request = accepted.get(i).request();
+            users.add(User.builder()
+                    .name(request.getName())
+                    .email(request.getEmail())
+                    .password(await(hashes.get(i)))
+                    .mobileNumber(request.getMobileNumber())
+                    .department(request.getDepartment())
+                    .registrationNumber(request.getRegistrationNumber())
+                    .year(request.getYear())
+                    .gender(request.getGender())
+                    .build());
+        }
+
+        save(accepted, users, batch -> {
+            Role studentRole = roleRepository.findByName("ROLE_STUDENT")
+                    .orElseThrow(() -> new ResourceNotFoundException("Role not found. Please seed database."));
+            batch.forEach(user -> user.setRoles(new HashSet<>(Set.of(studentRole))));
+            userRepository.saveAll(batch);
+        }, User::getId, user -> user.setId(null));
+    }
+
+    private RegisterRequest toRegisterRequest(Map<String, String> values) {
+        RegisterRequest request = new RegisterRequest();
+        request.setName(values.get("name"));
+        request.setEmail(values.get("email"));
+        request.setPassword(values.get("password"));
+        request.setMobileNumber(values.get("mobileNumber"));
+        request.setDepartment(values.get("department"));
+        request.setRegistrationNumber(values.get("registrationNumber"));
+        request.setYear(values.get("year") == null ? null : parseInt("year", values.get("year")));
+        request.setGender(values.get("gender"));
+        return request;
+    }
+
+    // --- Events ---
+
+    private void saveEvents(List<Row<EventRequest>> chunk) {
+        Map<Long, Category> categories = categoryRepository.findAllById(
+                        chunk.stream().map(row -> row.request().getCategoryId()).collect(Collectors.toSet()))
+                .stream()
+                .collect(Collectors.toMap(Category::getId, Function.identity()));
+
+        List<Row<EventRequest>> accepted = new ArrayList<>();
+        List<Event> events = new ArrayList<>();
+        for (Row<EventRequest> row : chunk) {
+            EventRequest request = row.request();
+            Category category = categories.get(request.getCategoryId());
+            if (category == null) {
+                fail(row.result(), "Category " + request.getCategoryId() + " does not exist");
+                continue;
+            }
+            Event event = new Event();
+            event.setName(request.getName());
+            event.setDescription(request.getDescription());
+            event.setOrganizingClub(request.getOrganizingClub());
+            event.setDateTime(request.getDateTime());
+            event.setVenue(request.getVenue());
+            event.setPosterUrl(request.getPosterUrl());
+            event.setMaxAttendees(request.getMaxAttendees());
+            event.setRegistrationPrice(request.getRegistrationPrice());
+            event.setCategory(category);
+            accepted.add(row);
+            events.add(event);
+        }
+
+        List<Long> ids = save(accepted, events, eventRepository::saveAll, Event::getId, event -> event.setId(null));
+        if (!ids.isEmpty()) {
+            eventPublisher.publishEvent(new CatalogChangedEvent());
+            eventPublisher.publishEvent(new EventChangedEvent(ids, false));
+        }
+    }
+
+    private EventRequest toEventRequest(Map<String, String> values) {
+        EventRequest request = new EventRequest();
+        request.setName(values.get("name"));
+        request.setDescription(values.get("description"));
+        request.setOrganizingClub(values.get("organizingClub"));
+        request.setVenue(values.get("venue"));
+        request.setPosterUrl(values.get("posterUrl"));
+        if (values.get("dateTime") != null) {
+            try {
+                request.setDateTime(LocalDateTime.parse(values.get("dateTime")));
+            } catch (DateTimeParseException e) {
+                throw new IllegalArgumentException("dateTime: expected an ISO date-time such as 2030-01-31T18:00");
+            }
+        }
+        request.setMaxAttendees(values.get("maxAttendees") == null ? 0 : parseInt("maxAttendees", values.get("maxAttendees")));
+        if (values.get("registrationPrice") != null) {
+            try {
+                request.setRegistrationPrice(Double.parseDouble(values.get("registrationPrice")));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("registrationPrice: not a number");
+            }
+        }
+        if (values.get("categoryId") != null) {
+            try {
+                request.setCategoryId(Long.parseLong(values.get("categoryId")));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("categoryId: not a number");
+            }
+        }
+        return request;
+    }
+
+    // --- Shared ---
+
+    /**
+     * Saves a chunk's entities in one transaction and marks their rows CREATED. On a
+     * constraint violation the transaction is rolled back and each entity is saved in a
+     * transaction of its own instead. Returns the ids of the saved entities.
+     */
+    private <T, E> List<Long> save(
+            List<Row<T>> rows,
+            List<E> entities,
+            Consumer<List<E>> saver,
+            Function<E, Long> idOf,
+            Consumer<E> clearId
+    ) {
+        List<Long> ids = new ArrayList<>();
+        if (entities.isEmpty()) {
+            return ids;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> saver.accept(entities));
+            for (int i = 0; i < rows.size(); i++) {
+                created(rows.get(i).result(), idOf.apply(entities.get(i)));
+                ids.add(idOf.apply(entities.get(i)));
+            }
+        } catch (DataIntegrityViolationException e) {
+            for (int i = 0; i < rows.size(); i++) {
+                E entity = entities.get(i);
+                // The id drawn in the rolled-back transaction was never written
+                clearId.accept(entity);
+                try {
+                    transactionTemplate.executeWithoutResult(status -> saver.accept(List.of(entity)));
+                    created(rows.get(i).result(), idOf.apply(entity));
+                    ids.add(idOf.apply(entity));
+                } catch (DataIntegrityViolationException rowFailure) {
+                    fail(rows.get(i).result(), "Conflicts with existing data");
+                }
+            }
+        }
+        return ids;
+    }
+
+    private List<String> columns(List<String> header, List<String> allowed, List<String> required) {
+        Map<String, String> byLowerCase = allowed.stream()
+                .collect(Collectors.toMap(column -> column.toLowerCase(Locale.ROOT), Function.identity()));
+        List<String> columns = new ArrayList<>();
+        for (String name : header) {
+            // Spreadsheet exports often start with a byte order mark
+            String key = name.replace("\uFEFF", "").trim().toLowerCase(Locale.ROOT);
+            String column = byLowerCase.get(key);
+            if (column == null) {
+                throw new BadRequestException("Unknown column '" + name.trim() + "'; expected " + String.join(", ", allowed));
+            }
+            if (columns.contains(column)) {
+                throw new BadRequestException("Column '" + column + "' appears twice");
+            }
+            columns.add(column);
+        }
+        List<String> missing = required.stream().filter(column -> !columns.contains(column)).toList();
+        if (!missing.isEmpty()) {
+            throw new BadRequestException("Missing required columns: " + String.join(", ", missing));
+        }
+        return columns;
+    }
+
+    private String validate(Object request) {
+        Set<ConstraintViolation<Object>> violations = validator.validate(request);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    // A full hashing queue (503) fails the import as it would a registration
+    private static <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private static int parseInt(String column, String value) {
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(column + ": not a whole number");
+        }
+    }
+
+    private static void created(ImportRowResult result, Long id) {
+        result.setStatus(ImportRowResult.CREATED);
+        result.setId(id);
+    }
+
+    private static void fail(ImportRowResult result, String error) {
+        result.setStatus(ImportRowResult.FAILED);
+        result.setError(error);
+    }
+
+    private record Row<T>(ImportRowResult result, T request) {
+    }
+}
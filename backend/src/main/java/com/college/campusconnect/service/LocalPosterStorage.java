@@ -0,0 +1,67 @@
+package com.college.campusconnect.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Keeps posters in a local directory and serves them under /uploads/.
+ */
+@Service
+@ConditionalOnProperty(name = "storage.posters.backend", havingValue = "local")
+public class LocalPosterStorage implements PosterStorage, WebMvcConfigurer {
+
+    public static final String URL_PREFIX = "/uploads/";
+
+    private final Path directory;
+
+    public LocalPosterStorage(
+            @Value("${storage.posters.local-dir:${java.io.tmpdir}/campusconnect-posters}") Path directory
+    ) throws IOException {
+        this.directory = Files.createDirectories(directory.toAbsolutePath().normalize());
+    }
+
+    @Override
+    public String store(String key, Resource content, String contentType) throws IOException {
+        String fileName = key.replace('/', '_') + extension(contentType);
+        Path target = directory.resolve(fileName);
+        Path partial = directory.resolve(fileName + ".part");
+        try (InputStream in = content.getInputStream()) {
+            Files.copy(in, partial, StandardCopyOption.REPLACE_EXISTING);
+        }
+        Files.move(partial, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        return URL_PREFIX + fileName;
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    @Override
+    public void addResourceHandlers(ResourceHandlerRegistry registry) {
+        registry.addResourceHandler(URL_PREFIX + "**")
+                .addResourceLocations(directory.toUri().toString());
+    }
+
+    private static String extension(String contentType) {
+        if (contentType == null) {
+            return "";
+        }
+        return switch (contentType) {
+            case "image/jpeg" -> ".jpg";
+            case "image/png" -> ".png";
+            case "image/gif" -> ".gif";
+            case "image/webp" -> ".webp";
+            default -> "";
+        };
+    }
+}
@@ -44,8 +44,8 @@ public class MapperService {
         // Map related data
         eventDto.setCategoryName(event.getCategory().getName());
 
-
-        eventDto.setRegisteredAttendeesCount(event.getRegistrations().size());
+        // Read the stored counter instead of initializing the registrations collection
+        eventDto.setRegisteredAttendeesCount(event.getRegisteredCount());
 
         return eventDto;
     }
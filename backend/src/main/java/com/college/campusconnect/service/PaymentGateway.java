@@ -0,0 +1,40 @@
+package com.college.campusconnect.service;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * The payment provider, as far as registration needs it. The Razorpay implementation
+ * talks to the real API; tests and local runs can plug in a stub.
+ */
+public interface PaymentGateway {
+
+    /**
+     * Creates a payment order and returns its id, or the id of an unpaid order created
+     * earlier under the same key for the same amount. Blocks on the provider, so callers
+     * keep it off request threads.
+     *
+     * @param idempotencyKey identifies the (user, event) the order is for; sent as the order receipt
+     * @throws com.college.campusconnect.exception.PaymentGatewayException if the order could not be created
+     */
+    String createOrder(String idempotencyKey, long amountInPaise, String currency);
+
+    /**
+     * Looks up the payment state of several orders. Orders missing from the result were
+     * not checked and should be asked about again later.
+     *
+     * @throws com.college.campusconnect.exception.PaymentGatewayException if the gateway cannot be reached
+     */
+    Map<String, OrderStatus> fetchOrderStatuses(Collection<String> orderIds);
+
+    enum OrderState {
+        PAID,
+        // Created or attempted, but no successful payment yet
+        UNPAID,
+        // The gateway has no such order
+        NOT_FOUND
+    }
+
+    record OrderStatus(OrderState state, String paymentId) {
+    }
+}
@@ -0,0 +1,194 @@
+package com.college.campusconnect.service;
+
+import com.college.campusconnect.repository.RegistrationRepository;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Creates payment orders for PENDING registrations off the request thread.
+ *
+ * Calls go through a bounded pool with a per-call timeout and a circuit breaker, so a
+ * slow or failing gateway costs a queued task rather than a servlet thread. The
+ * outcome is written to the registration: the order id on success, FAILED (with the
+ * seat handed back) otherwise. Clients poll the registration for the result.
+ */
+@Service
+public class PaymentOrderService {
+
+    private static final String CURRENCY = "INR";
+
+    private final PaymentGateway paymentGateway;
+    private final RegistrationRepository registrationRepository;
+    private final SeatReservationService seatReservationService;
+    private final TransactionTemplate transactionTemplate;
+
+    private final ThreadPoolExecutor executor;
+    private final ScheduledExecutorService timeouts;
+    private final long timeoutMillis;
+    private final CircuitBreaker circuitBreaker;
+
+    // Registrations with an order request queued or running, so a retry does not start a second one
+    private final ConcurrentHashMap<Long, Boolean> inFlight = new ConcurrentHashMap<>();
+
+    public PaymentOrderService(
+            PaymentGateway paymentGateway,
+            RegistrationRepository registrationRepository,
+            SeatReservationService seatReservationService,
+            PlatformTransactionManager transactionManager,
+            @Value("${payment.orders.threads:16}") int threads,
+            @Value("${payment.orders.queue-capacity:1000}") int queueCapacity,
+            @Value("${payment.orders.timeout:10s}") Duration timeout,
+            @Value("${payment.orders.breaker.failure-threshold:5}") int failureThreshold,
+            @Value("${payment.orders.breaker.open-duration:30s}") Duration openDuration,
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads
+    ) {
+        this.paymentGateway = paymentGateway;
+        this.registrationRepository = registrationRepository;
+        this.seatReservationService = seatReservationService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), namedThreads("payment-order-", virtualThreads));
+        this.executor.allowCoreThreadTimeOut(true);
+        this.timeouts = Executors.newSingleThreadScheduledExecutor(namedThreads("payment-order-timeout-", false));
+        this.timeoutMillis = timeout.toMillis();
+        this.circuitBreaker = new CircuitBreaker(failureThreshold, openDuration.toMillis());
+    }
+
+    /**
+     * False while the circuit is open, or half-open with its trial call already out;
+     * registration for paid events is refused up front instead of taking a seat that would
+     * only be handed back.
+     */
+    public boolean isAvailable() {
+        return circuitBreaker.isCallPermitted();
+    }
+
+    /**
+     * Asks for an order for a PENDING registration. Inside a transaction the request is
+     * sent once it commits, so the task always finds the row.
+     */
+    public void requestOrder(Long registrationId, Long eventId, String idempotencyKey, double amount) {
+        Runnable submit = () -> submit(registrationId, eventId, idempotencyKey, Math.round(amount * 100));
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    submit.run();
+                }
+            });
+        } else {
+            submit.run();
+        }
+    }
+
+    public boolean isInFlight(Long registrationId) {
+        return inFlight.containsKey(registrationId);
+    }
+
+    private void submit(Long registrationId, Long eventId, String idempotencyKey, long amountInPaise) {
+        if (inFlight.putIfAbsent(registrationId, Boolean.TRUE) != null) {
+            return;
+        }
+        if (!circuitBreaker.tryAcquire()) {
+            fail(registrationId, eventId);
+            return;
+        }
+
+        // Whichever comes first, the gateway's answer or the timeout, settles the attempt
+        AtomicBoolean settled = new AtomicBoolean();
+        Future<?> task;
+        try {
+            task = executor.submit(() -> createOrder(registrationId, eventId, idempotencyKey, amountInPaise, settled));
+        } catch (RejectedExecutionException e) {
+            // Queue full: the gateway is not keeping up, count it against the breaker
+            circuitBreaker.recordFailure();
+            fail(registrationId, eventId);
+            return;
+        }
+
+        // The gateway client has no call timeout of its own; interrupt it and fail the registration
+        timeouts.schedule(() -> {
+            if (settled.compareAndSet(false, true)) {
+                task.cancel(true);
+                circuitBreaker.recordFailure();
+                fail(registrationId, eventId);
+            }
+        }, timeoutMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private void createOrder(Long registrationId, Long eventId, String idempotencyKey, long amountInPaise,
+                             AtomicBoolean settled) {
+        String orderId;
+        try {
+            orderId = paymentGateway.createOrder(idempotencyKey, amountInPaise, CURRENCY);
+        } catch (RuntimeException e) {
+            if (settled.compareAndSet(false, true)) {
+                circuitBreaker.recordFailure();
+                fail(registrationId, eventId);
+            }
+            return;
+        }
+        if (!settled.compareAndSet(false, true)) {
+            // Timed out meanwhile; the registration has already been failed
+            return;
+        }
+        circuitBreaker.recordSuccess();
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                    registrationRepository.attachOrderId(registrationId, orderId));
+        } finally {
+            inFlight.remove(registrationId);
+        }
+    }
+
+    // Only a registration still waiting for its order is failed, and only then is its seat released
+    private void fail(Long registrationId, Long eventId) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                if (registrationRepository.markOrderFailed(registrationId) == 1) {
+                    seatReservationService.release(eventId);
+                }
+            });
+        } finally {
+            inFlight.remove(registrationId);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+        timeouts.shutdownNow();
+    }
+
+    // Order calls only wait on the network, so in virtual-thread mode they run on virtual
+    // threads; the pool size still bounds how many are in flight
+    static ThreadFactory namedThreads(String prefix, boolean virtual) {
+        if (virtual) {
+            return Thread.ofVirtual().name(prefix, 1).factory();
+        }
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
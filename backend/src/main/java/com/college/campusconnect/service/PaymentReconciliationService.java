@@ -0,0 +1,202 @@
+package com.college.campusconnect.service;
+
+import com.college.campusconnect.dto.PendingPayment;
+import com.college.campusconnect.repository.RegistrationRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Settles registrations left in PENDING.
+ *
+ * Walks the PENDING rows in keyset-ordered batches, asks the gateway about each batch's
+ * orders in one call and writes the outcomes with one JDBC batch:
+ * - paid at the gateway: PAID (the client never called /verify)
+ * - unknown to the gateway: FAILED
+ * - still unpaid after the pending TTL, or never given an order: EXPIRED
+ * FAILED and EXPIRED registrations give their seat back in the same transaction.
+ * Every update is conditional on the row still being PENDING, so a concurrent /verify
+ * or another instance running the same job is never overwritten.
+ */
+@Service
+public class PaymentReconciliationService {
+
+    private static final String UPDATE_SQL =
+            "update registrations set payment_status = ?, razorpay_payment_id = coalesce(?, razorpay_payment_id) " +
+            "where id = ? and payment_status = 'PENDING'";
+
+    private final RegistrationRepository registrationRepository;
+    private final PaymentGateway paymentGateway;
+    private final PaymentOrderService paymentOrderService;
+    private final SeatReservationService seatReservationService;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    private final int batchSize;
+    private final Duration minAge;
+    private final Duration pendingTtl;
+
+    private final Counter checked;
+    private final Map<String, Counter> resolved = new HashMap<>();
+    private final Timer runs;
+    private final AtomicLong backlog = new AtomicLong();
+
+    public PaymentReconciliationService(
+            RegistrationRepository registrationRepository,
+            PaymentGateway paymentGateway,
+            PaymentOrderService paymentOrderService,
+            SeatReservationService seatReservationService,
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${payment.reconcile.batch-size:200}") int batchSize,
+            @Value("${payment.reconcile.min-age:2m}") Duration minAge,
+            @Value("${payment.reconcile.pending-ttl:30m}") Duration pendingTtl
+    ) {
+        this.registrationRepository = registrationRepository;
+        this.paymentGateway = paymentGateway;
+        this.paymentOrderService = paymentOrderService;
+        this.seatReservationService = seatReservationService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.minAge = minAge;
+        this.pendingTtl = pendingTtl;
+
+        this.checked = Counter.builder("payments.reconciler.checked")
+                .description("PENDING registrations examined by the reconciler")
+                .register(meterRegistry);
+        for (String outcome : List.of("PAID", "FAILED", "EXPIRED")) {
+            resolved.put(outcome, Counter.builder("payments.reconciler.resolved")
+                    .description("PENDING registrations settled by the reconciler")
+                    .tag("outcome", outcome.toLowerCase())
+                    .register(meterRegistry));
+        }
+        this.runs = Timer.builder("payments.reconciler.run")
+                .description("Duration of one reconciliation pass")
+                .register(meterRegistry);
+        meterRegistry.gauge("payments.reconciler.backlog", backlog);
+    }
+
+    /**
+     * One pass over all PENDING registrations. Returns the number of registrations settled.
+     */
+    public int reconcile() {
+        return runs.record(() -> {
+            LocalDateTime now = LocalDateTime.now();
+            LocalDateTime settledBefore = now.minus(minAge);
+            LocalDateTime expiredBefore = now.minus(pendingTtl);
+
+            long afterId = 0;
+            long stillPending = 0;
+            int settled = 0;
+            while (true) {
+                List<PendingPayment> batch = registrationRepository.findPendingAfter(afterId, Limit.of(batchSize));
+                if (batch.isEmpty()) {
+                    break;
+                }
+                afterId = batch.get(batch.size() - 1).getRegistrationId();
+
+                int applied = apply(decide(batch, settledBefore, expiredBefore));
+                settled += applied;
+                stillPending += batch.size() - applied;
+                checked.increment(batch.size());
+            }
+            backlog.set(stillPending);
+            return settled;
+        });
+    }
+
+    private List<Outcome> decide(List<PendingPayment> batch, LocalDateTime settledBefore, LocalDateTime expiredBefore) {
+        // Fresh registrations are left to the checkout and /verify
+        List<PendingPayment> due = new ArrayList<>();
+        List<String> orderIds = new ArrayList<>();
+        for (PendingPayment pending : batch) {
+            if (pending.getRegistrationTime() != null && pending.getRegistrationTime().isAfter(settledBefore)) {
+                continue;
+            }
+            due.add(pending);
+            if (pending.getOrderId() != null) {
+                orderIds.add(pending.getOrderId());
+            }
+        }
+
+        Map<String, PaymentGateway.OrderStatus> statuses =
+                orderIds.isEmpty() ? Map.of() : paymentGateway.fetchOrderStatuses(orderIds);
+
+        List<Outcome> outcomes = new ArrayList<>();
+        for (PendingPayment pending : due) {
+            boolean lapsed = pending.getRegistrationTime() == null || pending.getRegistrationTime().isBefore(expiredBefore);
+            if (pending.getOrderId() == null) {
+                // Order creation never finished (e.g. a restart); expire once it is clearly abandoned
+                if (lapsed && !paymentOrderService.isInFlight(pending.getRegistrationId())) {
+                    outcomes.add(new Outcome(pending, "EXPIRED", null));
+                }
+                continue;
+            }
+
+            PaymentGateway.OrderStatus status = statuses.get(pending.getOrderId());
+            if (status == null) {
+                continue;
+            }
+            switch (status.state()) {
+                case PAID -> outcomes.add(new Outcome(pending, "PAID", status.paymentId()));
+                case NOT_FOUND -> outcomes.add(new Outcome(pending, "FAILED", null));
+                case UNPAID -> {
+                    if (lapsed) {
+                        outcomes.add(new Outcome(pending, "EXPIRED", null));
+                    }
+                }
+            }
+        }
+        return outcomes;
+    }
+
+    // One JDBC batch for the status changes, then one seat release per event for the rows
+    // this pass actually moved out of PENDING
+    private int apply(List<Outcome> outcomes) {
+        if (outcomes.isEmpty()) {
+            return 0;
+        }
+        return transactionTemplate.execute(status -> {
+            int[] counts = jdbcTemplate.batchUpdate(UPDATE_SQL, outcomes, outcomes.size(), (statement, outcome) -> {
+                statement.setString(1, outcome.status());
+                statement.setString(2, outcome.paymentId());
+                statement.setLong(3, outcome.pending().getRegistrationId());
+            })[0];
+
+            int applied = 0;
+            Map<Long, Integer> releasedByEvent = new HashMap<>();
+            for (int i = 0; i < outcomes.size(); i++) {
+                if (counts[i] == 0) {
+                    continue;
+                }
+                Outcome outcome = outcomes.get(i);
+                applied++;
+                resolved.get(outcome.status()).increment();
+                if (!"PAID".equals(outcome.status())) {
+                    releasedByEvent.merge(outcome.pending().getEventId(), 1, Integer::sum);
+                }
+            }
+            releasedByEvent.forEach(seatReservationService::release);
+            return applied;
+        });
+    }
+
+    private record Outcome(PendingPayment pending, String status, String paymentId) {
+    }
+}
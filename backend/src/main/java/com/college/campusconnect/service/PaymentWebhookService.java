@@ -0,0 +1,248 @@
+package com.college.campusconnect.service;
+
+import com.college.campusconnect.entity.PaymentWebhookEvent;
+import com.college.campusconnect.exception.BadRequestException;
+import com.college.campusconnect.exception.ResourceNotFoundException;
+import com.college.campusconnect.exception.ServiceUnavailableException;
+import com.college.campusconnect.repository.PaymentWebhookEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.razorpay.RazorpayException;
+import com.razorpay.Utils;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Payment webhooks, in two halves.
+ *
+ * {@link #ingest} runs on the request: it checks the signature and appends the raw event
+ * to payment_webhook_events, nothing else, so the gateway gets its answer in the time of
+ * one insert however slow the registration side is.
+ *
+ * {@link #drain} runs in the background: it reads unprocessed events in id-ordered
+ * batches, keeps one capture per payment id (Razorpay sends both payment.captured and
+ * order.paid for the same payment, and redelivers on timeouts), moves the matching
+ * PENDING registrations to PAID with one JDBC batch and records an outcome per event.
+ * Registrations that were not PENDING any more (expired by the reconciler, already paid)
+ * go through {@link EventService#confirmPayment}, the same path as /verify. Every step is
+ * idempotent, so an event processed twice (a crash before its outcome was written, two
+ * instances draining) changes nothing the second time.
+ */
+@Service
+public class PaymentWebhookService {
+
+    private static final Set<String> CAPTURE_EVENTS = Set.of("payment.captured", "order.paid");
+
+    private static final String MARK_PAID_SQL =
+            "update registrations set payment_status = 'PAID', razorpay_payment_id = ? " +
+            "where razorpay_order_id = ? and payment_status = 'PENDING'";
+
+    private static final String MARK_PROCESSED_SQL =
+            "update payment_webhook_events set processed_at = ?, outcome = ?, error = ? where id = ?";
+
+    private final PaymentWebhookEventRepository webhookEventRepository;
+    private final EventService eventService;
+    private final ObjectMapper objectMapper;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    private final String webhookSecret;
+    private final int batchSize;
+    private final Duration retention;
+
+    private final Counter received;
+    private final Map<String, Counter> processed = new HashMap<>();
+
+    public PaymentWebhookService(
+            PaymentWebhookEventRepository webhookEventRepository,
+            EventService eventService,
+            ObjectMapper objectMapper,
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${razorpay.webhook_secret:}") String webhookSecret,
+            @Value("${payment.webhooks.batch-size:200}") int batchSize,
+            @Value("${payment.webhooks.retention:7d}") Duration retention
+    ) {
+        this.webhookEventRepository = webhookEventRepository;
+        this.eventService = eventService;
+        this.objectMapper = objectMapper;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.webhookSecret = webhookSecret;
+        this.batchSize = batchSize;
+        this.retention = retention;
+
+        this.received = Counter.builder("payments.webhooks.received")
+                .description("Webhook events accepted into the inbox")
+                .register(meterRegistry);
+        for (String outcome : List.of("PAID", "DUPLICATE", "IGNORED", "REJECTED")) {
+            processed.put(outcome, Counter.builder("payments.webhooks.processed")
+                    .description("Webhook events applied by the consumer")
+                    .tag("outcome", outcome.toLowerCase())
+                    .register(meterRegistry));
+        }
+    }
+
+    /**
+     * Verifies and stores one delivery. Returns false when the event was already stored
+     * (a redelivery); the gateway should get a success answer either way.
+     */
+    public boolean ingest(String payload, String signature, String eventId) {
+        if (webhookSecret == null || webhookSecret.isEmpty()) {
+            throw new ServiceUnavailableException("Payment webhooks are not configured");
+        }
+        if (signature == null || !isValidSignature(payload, signature)) {
+            throw new BadRequestException("Invalid webhook signature");
+        }
+
+        // Redeliveries are common (any slow answer is retried); the unique key catches a race
+        if (eventId != null && webhookEventRepository.existsByEventId(eventId)) {
+            return false;
+        }
+
+        PaymentWebhookEvent event = new PaymentWebhookEvent();
+        event.setEventId(eventId);
+        event.setPayload(payload);
+        event.setReceivedAt(LocalDateTime.now());
+        try {
+            webhookEventRepository.save(event);
+        } catch (DataIntegrityViolationException e) {
+            return false;
+        }
+        received.increment();
+        return true;
+    }
+
+    /**
+     * Applies all events stored so far and deletes processed events past the retention.
+     * Returns the number of events processed.
+     */
+    public int drain() {
+        long afterId = 0;
+        int count = 0;
+        while (true) {
+            List<PaymentWebhookEvent> batch = webhookEventRepository
+                    .findByProcessedAtIsNullAndIdGreaterThanOrderByIdAsc(afterId, Limit.of(batchSize));
+            if (batch.isEmpty()) {
+                break;
+            }
+            afterId = batch.get(batch.size() - 1).getId();
+            process(batch);
+            count += batch.size();
+        }
+
+        LocalDateTime before = LocalDateTime.now().minus(retention);
+        transactionTemplate.executeWithoutResult(status -> webhookEventRepository.deleteProcessedBefore(before));
+        return count;
+    }
+
+    private void process(List<PaymentWebhookEvent> batch) {
+        Map<Long, Result> results = new LinkedHashMap<>();
+        Map<String, Capture> captures = new LinkedHashMap<>();
+        for (PaymentWebhookEvent event : batch) {
+            Capture capture = parse(event);
+            if (capture == null) {
+                results.put(event.getId(), new Result("IGNORED", null));
+            } else if (captures.putIfAbsent(capture.paymentId(), capture) != null) {
+                results.put(event.getId(), new Result("DUPLICATE", null));
+            }
+        }
+
+        List<Capture> unique = new ArrayList<>(captures.values());
+        if (!unique.isEmpty()) {
+            int[] counts = transactionTemplate.execute(status ->
+                    jdbcTemplate.batchUpdate(MARK_PAID_SQL, unique, unique.size(), (statement, capture) -> {
+                        statement.setString(1, capture.paymentId());
+                        statement.setString(2, capture.orderId());
+                    })[0]);
+
+            for (int i = 0; i < unique.size(); i++) {
+                Capture capture = unique.get(i);
+                results.put(capture.eventId(), counts[i] == 1 ? new Result("PAID", null) : confirm(capture));
+            }
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Map.Entry<Long, Result>> entries = new ArrayList<>(results.entrySet());
+        jdbcTemplate.batchUpdate(MARK_PROCESSED_SQL, entries, entries.size(), (statement, entry) -> {
+            statement.setTimestamp(1, Timestamp.valueOf(now));
+            statement.setString(2, entry.getValue().outcome());
+            statement.setString(3, entry.getValue().error());
+            statement.setLong(4, entry.getKey());
+        });
+        results.values().forEach(result -> processed.get(result.outcome()).increment());
+    }
+
+    // The registration was not PENDING: already paid, expired in the meantime, or not ours
+    private Result confirm(Capture capture) {
+        try {
+            eventService.confirmPayment(capture.orderId(), capture.paymentId());
+            return new Result("PAID", null);
+        } catch (ResourceNotFoundException e) {
+            return new Result("IGNORED", null);
+        } catch (DataAccessException e) {
+            // Leave the whole batch for the next pass
+            throw e;
+        } catch (RuntimeException e) {
+            // e.g. paid after expiry with no seat left: kept as REFUND_DUE on the registration
+            return new Result("REJECTED", truncate(e.getMessage()));
+        }
+    }
+
+    private Capture parse(PaymentWebhookEvent event) {
+        JsonNode root;
+        try {
+            root = objectMapper.readTree(event.getPayload());
+        } catch (JsonProcessingException e) {
+            return null;
+        }
+        if (!CAPTURE_EVENTS.contains(root.path("event").asText())) {
+            return null;
+        }
+        JsonNode payment = root.path("payload").path("payment").path("entity");
+        String paymentId = payment.path("id").asText(null);
+        String orderId = payment.path("order_id").asText(null);
+        if (paymentId == null || orderId == null) {
+            return null;
+        }
+        return new Capture(event.getId(), paymentId, orderId);
+    }
+
+    private boolean isValidSignature(String payload, String signature) {
+        try {
+            return Utils.verifyWebhookSignature(payload, signature, webhookSecret);
+        } catch (RazorpayException e) {
+            return false;
+        }
+    }
+
+    private static String truncate(String message) {
+        return message == null || message.length() <= 255 ? message : message.substring(0, 255);
+    }
+
+    private record Capture(Long eventId, String paymentId, String orderId) {
+    }
+
+    private record Result(String outcome, String error) {
+    }
+}
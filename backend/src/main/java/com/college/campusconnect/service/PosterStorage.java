@@ -0,0 +1,18 @@
+package com.college.campusconnect.service;
+
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+
+/**
+ * Where poster images end up. Cloudinary in production; a local directory for
+ * development and tests (storage.posters.backend=local).
+ */
+public interface PosterStorage {
+
+    /**
+     * Stores the content under the given key (no extension) and returns its public URL.
+     * Storing the same key again replaces the content.
+     */
+    String store(String key, Resource content, String contentType) throws IOException;
+}
@@ -0,0 +1,116 @@
+package com.college.campusconnect.service;
+
+import com.college.campusconnect.dto.EventPage;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.Objects;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Keeps the public catalog responses as ready-to-send JSON bytes (plain and gzip) with a
+ * strong ETag, so polling clients cost neither a Jackson pass nor, usually, a body.
+ *
+ * A resource is re-rendered only when {@link CatalogCache} hands out a different object
+ * than the one last rendered (after an admin change or a seat-count refresh). The ETag is
+ * a hash of the JSON, so it only changes when the content does and is the same on every
+ * instance and across restarts.
+ */
+@Service
+@RequiredArgsConstructor
+public class PublicResponseCache {
+
+    private final CatalogCache catalogCache;
+    private final ObjectMapper objectMapper;
+
+    // The page size comes straight from anonymous requests: keyed by the clamped size, like
+    // CatalogCache, and bounded like it (its 16 page sizes plus the categories)
+    private final Cache<String, Rendered> rendered = Caffeine.newBuilder()
+            .maximumSize(17)
+            .build();
+
+    public RenderedJson getUpcomingEvents(int size) {
+        EventPage page = catalogCache.getUpcomingEvents(size);
+        return render("events:" + EventService.clampPageSize(size), page, page.getEvents(), page.getNextCursor());
+    }
+
+    public RenderedJson getAllCategories() {
+        Object categories = catalogCache.getAllCategories();
+        return render("categories", categories, categories, null);
+    }
+
+    private RenderedJson render(String key, Object source, Object body, String nextCursor) {
+        Rendered current = rendered.getIfPresent(key);
+        if (current != null && current.source == source) {
+            return current.json;
+        }
+
+        byte[] json = toJson(body);
+        RenderedJson result;
+        if (current != null && Arrays.equals(current.json.getJson(), json)
+                && Objects.equals(current.json.getNextCursor(), nextCursor)) {
+            // Refreshed but unchanged (e.g. no seat moved): keep the same bytes and ETag
+            result = current.json;
+        } else {
+            result = new RenderedJson(json, gzip(json), etag(json), nextCursor);
+        }
+        rendered.put(key, new Rendered(source, result));
+        return result;
+    }
+
+    private byte[] toJson(Object body) {
+        try {
+            return objectMapper.writeValueAsBytes(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize catalog response", e);
+        }
+    }
+
+    private static byte[] gzip(byte[] json) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(json.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    private static String etag(byte[] json) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(json);
+            return HexFormat.of().formatHex(digest, 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private record Rendered(Object source, RenderedJson json) {
+    }
+
+    /**
+     * A serialized response. etag is the bare value; the gzip variant is tagged with a
+     * "-gzip" suffix because it is a different byte representation.
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class RenderedJson {
+        private final byte[] json;
+        private final byte[] gzip;
+        private final String etag;
+        private final String nextCursor;
+    }
+}
@@ -0,0 +1,160 @@
+package com.college.campusconnect.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.server.PathContainer;
+import org.springframework.stereotype.Service;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Request limits for the endpoints worth abusing: login and sign-up (a BCrypt hash each),
+ * event registration and payment verification.
+ *
+ * Each route has its own token buckets (see {@link TokenBucketLimiter}), keyed by client
+ * IP, by the signed-in user, or (login and sign-up) by the account email in the request
+ * together with the client IP. Login, sign-up and registration are limited twice: strictly
+ * per account or user, so one account cannot be hammered, and per IP with a much higher
+ * limit, since a campus network puts many students behind one address. The account bucket
+ * includes the IP so that nobody can lock a chosen student out of login from elsewhere.
+ */
+@Service
+public class RateLimitService {
+
+    /**
+     * A refused request: the route whose limit it hit and how long until it may retry.
+     */
+    public record Rejection(String route, long retryAfterNanos) {
+    }
+
+    private enum Key {
+        IP,
+        // The signed-in user
+        USER,
+        // The email a login or sign-up is for, per client IP
+        ACCOUNT
+    }
+
+    private record Route(String name, String method, PathPattern pattern, Key key,
+                         TokenBucketLimiter limiter, Counter rejected) {
+    }
+
+    private final boolean enabled;
+    private final List<Route> routes;
+
+    public RateLimitService(
+            MeterRegistry meterRegistry,
+            @Value("${rate-limit.enabled:true}") boolean enabled,
+            @Value("${rate-limit.login.account-capacity:10}") int loginAccountCapacity,
+            @Value("${rate-limit.login.ip-capacity:600}") int loginIpCapacity,
+            @Value("${rate-limit.login.period:1m}") Duration loginPeriod,
+            @Value("${rate-limit.signup.account-capacity:5}") int signupAccountCapacity,
+            @Value("${rate-limit.signup.ip-capacity:300}") int signupIpCapacity,
+            @Value("${rate-limit.signup.period:10m}") Duration signupPeriod,
+            @Value("${rate-limit.registration.user-capacity:10}") int registrationUserCapacity,
+            @Value("${rate-limit.registration.ip-capacity:300}") int registrationIpCapacity,
+            @Value("${rate-limit.registration.period:1m}") Duration registrationPeriod,
+            @Value("${rate-limit.payment.capacity:10}") int paymentCapacity,
+            @Value("${rate-limit.payment.period:1m}") Duration paymentPeriod
+    ) {
+        this.enabled = enabled;
+        // The strict bucket of a route comes first, so requests it refuses don't use up the
+        // address's shared bucket
+        this.routes = List.of(
+                route(meterRegistry, "login-account", "/api/auth/login", Key.ACCOUNT,
+                        loginAccountCapacity, loginPeriod),
+                route(meterRegistry, "login-ip", "/api/auth/login", Key.IP, loginIpCapacity, loginPeriod),
+                route(meterRegistry, "signup-account", "/api/auth/register", Key.ACCOUNT,
+                        signupAccountCapacity, signupPeriod),
+                route(meterRegistry, "signup-ip", "/api/auth/register", Key.IP, signupIpCapacity, signupPeriod),
+                route(meterRegistry, "registration-user", "/api/user/events/{id}/register", Key.USER,
+                        registrationUserCapacity, registrationPeriod),
+                route(meterRegistry, "registration-ip", "/api/user/events/{id}/register", Key.IP,
+                        registrationIpCapacity, registrationPeriod),
+                route(meterRegistry, "payment", "/api/payment/verify", Key.USER, paymentCapacity, paymentPeriod)
+        );
+        Gauge.builder("ratelimit.buckets", this, RateLimitService::bucketCount)
+                .description("Token buckets held for rate-limited routes")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Takes a token from every bucket the request falls under. Returns null if it may go
+     * ahead, otherwise the first limit it hit. user is null for anonymous requests, which
+     * then skip the per-user limits (those routes require a login anyway). account is only
+     * asked for on login and sign-up (it reads the request body); null skips that limit.
+     */
+    public Rejection check(String method, String path, String clientIp, String user, Supplier<String> account) {
+        if (!enabled) {
+            return null;
+        }
+        PathContainer container = null;
+        long now = System.nanoTime();
+        for (Route route : routes) {
+            // The method check is a string compare, so most requests never parse the path
+            if (!route.method().equals(method)) {
+                continue;
+            }
+            if (container == null) {
+                container = PathContainer.parsePath(path);
+            }
+            if (!route.pattern().matches(container)) {
+                continue;
+            }
+            String key = switch (route.key()) {
+                case IP -> clientIp;
+                case USER -> user;
+                case ACCOUNT -> accountKey(account.get(), clientIp);
+            };
+            if (key == null) {
+                continue;
+            }
+            long wait = route.limiter().tryAcquire(key, now);
+            if (wait > 0) {
+                route.rejected().increment();
+                return new Rejection(route.name(), wait);
+            }
+        }
+        return null;
+    }
+
+    private static String accountKey(String account, String clientIp) {
+        return account == null ? null : account + '|' + clientIp;
+    }
+
+    /**
+     * Drops buckets that have refilled completely; returns how many.
+     */
+    public int evictIdle() {
+        long now = System.nanoTime();
+        int evicted = 0;
+        for (Route route : routes) {
+            evicted += route.limiter().evictIdle(now);
+        }
+        return evicted;
+    }
+
+    private int bucketCount() {
+        int count = 0;
+        for (Route route : routes) {
+            count += route.limiter().size();
+        }
+        return count;
+    }
+
+    private static Route route(MeterRegistry meterRegistry, String name, String path, Key key,
+                               int capacity, Duration period) {
+        Counter rejected = Counter.builder("ratelimit.rejected")
+                .description("Requests refused with 429 by a rate limit")
+                .tag("route", name)
+                .register(meterRegistry);
+        return new Route(name, "POST", PathPatternParser.defaultInstance.parse(path), key,
+                new TokenBucketLimiter(capacity, period), rejected);
+    }
+}
@@ -0,0 +1,140 @@
+package com.college.campusconnect.service;
+
+import com.college.campusconnect.exception.PaymentGatewayException;
+import com.razorpay.Order;
+import com.razorpay.Payment;
+import com.razorpay.RazorpayClient;
+import com.razorpay.RazorpayException;
+import jakarta.annotation.PostConstruct;
+import org.json.JSONObject;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Service
+public class RazorpayPaymentGateway implements PaymentGateway {
+
+    private static final String BAD_REQUEST_ERROR = "BAD_REQUEST_ERROR";
+    private static final String UNKNOWN_ID_DESCRIPTION = "The id provided does not exist";
+
+    @Value("${razorpay.key_id}")
+    private String razorpayKeyId;
+
+    @Value("${razorpay.key_secret}")
+    private String razorpayKeySecret;
+
+    private RazorpayClient razorpayClient;
+
+    @PostConstruct
+    public void init() throws RazorpayException {
+        // Initialize the client only if keys are present to avoid errors during testing
+        if (razorpayKeyId != null && !razorpayKeyId.isEmpty()) {
+            this.razorpayClient = new RazorpayClient(razorpayKeyId, razorpayKeySecret);
+        }
+    }
+
+    @Override
+    public String createOrder(String idempotencyKey, long amountInPaise, String currency) {
+        if (razorpayClient == null) {
+            throw new PaymentGatewayException("Payment gateway is not configured");
+        }
+
+        JSONObject orderRequest = new JSONObject();
+        orderRequest.put("amount", amountInPaise);
+        orderRequest.put("currency", currency);
+        orderRequest.put("receipt", idempotencyKey);
+
+        try {
+            // Razorpay does not deduplicate on receipt: an attempt that timed out on our side (or
+            // was lost in a restart) may still have created the order, so look for it first
+            JSONObject byReceipt = new JSONObject();
+            byReceipt.put("receipt", idempotencyKey);
+            String existing = reusableOrderId(razorpayClient.orders.fetchAll(byReceipt), amountInPaise, currency);
+            if (existing != null) {
+                return existing;
+            }
+
+            Order order = razorpayClient.orders.create(orderRequest);
+            return order.get("id");
+        } catch (RazorpayException e) {
+            throw new PaymentGatewayException("Payment processing failed: " + e.getMessage(), e);
+        }
+    }
+
+    // An earlier order for the same receipt can be handed out again if nobody has paid it and
+    // it asks for the same amount (the event's price may have changed since)
+    static String reusableOrderId(List<Order> orders, long amountInPaise, String currency) {
+        for (Order order : orders) {
+            Object amount = order.get("amount");
+            if (!"paid".equals(order.get("status"))
+                    && amount instanceof Number number && number.longValue() == amountInPaise
+                    && currency.equals(order.get("currency"))) {
+                return order.get("id");
+            }
+        }
+        return null;
+    }
+
+    // Razorpay has no multi-order lookup, so this is one fetch per order (plus one for the
+    // payments of a paid order); it only runs in the background reconciler. An order that
+    // cannot be fetched is left out, so it is asked about again and does not hold up the rest.
+    @Override
+    public Map<String, OrderStatus> fetchOrderStatuses(Collection<String> orderIds) {
+        if (razorpayClient == null) {
+            throw new PaymentGatewayException("Payment gateway is not configured");
+        }
+
+        Map<String, OrderStatus> statuses = new HashMap<>();
+        for (String orderId : orderIds) {
+            try {
+                Order order = razorpayClient.orders.fetch(orderId);
+                if ("paid".equals(order.get("status"))) {
+                    statuses.put(orderId, new OrderStatus(OrderState.PAID, capturedPaymentId(orderId)));
+                } else {
+                    statuses.put(orderId, new OrderStatus(OrderState.UNPAID, null));
+                }
+            } catch (RazorpayException e) {
+                if (isUnknownId(e)) {
+                    statuses.put(orderId, new OrderStatus(OrderState.NOT_FOUND, null));
+                } else {
+                    System.err.println("Could not fetch order " + orderId + ": " + e.getMessage());
+                }
+            } catch (RuntimeException e) {
+                // A response without the expected fields
+                System.err.println("Could not read order " + orderId + ": " + e.getMessage());
+            }
+        }
+        return statuses;
+    }
+
+    // The SDK reports API errors as "<error.code>:<error.description>". A missing id is a
+    // BAD_REQUEST_ERROR; so are other failures (bad credentials among them), which must not
+    // count as a missing order, hence the description check within that code.
+    static boolean isUnknownId(RazorpayException e) {
+        String message = e.getMessage();
+        if (message == null) {
+            return false;
+        }
+        int separator = message.indexOf(':');
+        if (separator < 0) {
+            return false;
+        }
+        String code = message.substring(0, separator).trim();
+        String description = message.substring(separator + 1).trim();
+        return BAD_REQUEST_ERROR.equals(code) && description.startsWith(UNKNOWN_ID_DESCRIPTION);
+    }
+
+    private String capturedPaymentId(String orderId) throws RazorpayException {
+        List<Payment> payments = razorpayClient.orders.fetchPayments(orderId);
+        for (Payment payment : payments) {
+            if ("captured".equals(payment.get("status"))) {
+                return payment.get("id");
+            }
+        }
+        return null;
+    }
+}
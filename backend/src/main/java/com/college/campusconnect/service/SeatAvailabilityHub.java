@@ -0,0 +1,411 @@
+package com.college.campusconnect.service;
+
+import com.college.campusconnect.dto.SeatCountRow;
+import com.college.campusconnect.dto.SeatUpdateDto;
+import com.college.campusconnect.exception.BadRequestException;
+import com.college.campusconnect.exception.ResourceNotFoundException;
+import com.college.campusconnect.exception.ServiceUnavailableException;
+import com.college.campusconnect.repository.EventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Live seat counts over Server-Sent Events.
+ *
+ * Every event with subscribers has one topic; a subscriber (one SSE connection) follows
+ * up to {@link #MAX_EVENTS_PER_STREAM} events, so a listing page needs a single
+ * connection. Seat changes ({@link SeatsReservedEvent}, {@link SeatsReleasedEvent}, admin
+ * edits) only mark the event. {@link #flush()} runs once per coalescing window, reads the
+ * counts of all marked events in one query and pushes one message per event whose count
+ * moved, however many registrations happened in between. A message is rendered once and
+ * shared by all subscribers of the topic.
+ *
+ * An idle subscriber holds no thread, only its connection. Messages go into a bounded
+ * queue per subscriber that a small sender pool drains, at most one sender per
+ * subscriber. A subscriber whose queue overflows is not keeping up and is dropped; its
+ * EventSource reconnects and starts again from a fresh snapshot.
+ */
+@Service
+public class SeatAvailabilityHub {
+
+    public static final int MAX_EVENTS_PER_STREAM = EventService.MAX_PAGE_SIZE;
+
+    private static final int UNKNOWN = Integer.MIN_VALUE;
+    private static final int QUERY_CHUNK_SIZE = 500;
+    private static final MediaType TEXT_UTF8 = new MediaType("text", "plain", StandardCharsets.UTF_8);
+    // A comment line: keeps proxies from closing idle connections and finds dead ones
+    private static final Set<DataWithMediaType> HEARTBEAT = frame(": keep-alive\n\n");
+
+    private final EventRepository eventRepository;
+    private final ObjectMapper objectMapper;
+    private final ThreadPoolExecutor senders;
+    private final long timeoutMillis;
+    private final int bufferSize;
+    private final int maxSubscribers;
+
+    private final ConcurrentHashMap<Long, Topic> topics = new ConcurrentHashMap<>();
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    // Events with subscribers whose count may have changed since the last flush
+    private final Set<Long> changed = ConcurrentHashMap.newKeySet();
+
+    private final Counter dropped;
+
+    public SeatAvailabilityHub(
+            EventRepository eventRepository,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${seats.stream.send-threads:4}") int sendThreads,
+            @Value("${seats.stream.buffer-size:16}") int bufferSize,
+            @Value("${seats.stream.max-subscribers:50000}") int maxSubscribers,
+            @Value("${seats.stream.timeout:30m}") Duration timeout,
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads
+    ) {
+        this.eventRepository = eventRepository;
+        this.objectMapper = objectMapper;
+        // Unbounded queue, but a subscriber has at most one drain task queued or running
+        this.senders = new ThreadPoolExecutor(sendThreads, sendThreads, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), PaymentOrderService.namedThreads("seat-stream-", virtualThreads));
+        this.senders.allowCoreThreadTimeOut(true);
+        this.timeoutMillis = timeout.toMillis();
+        this.bufferSize = bufferSize;
+        this.maxSubscribers = maxSubscribers;
+
+        this.dropped = Counter.builder("seats.stream.dropped")
+                .description("Seat stream subscribers dropped for not keeping up")
+                .register(meterRegistry);
+        Gauge.builder("seats.stream.subscribers", subscribers, Set::size)
+                .description("Open seat stream connections")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Opens a stream of seat counts for the given events. The first message per event is
+     * the current count; later ones follow its changes.
+     */
+    public SseEmitter subscribe(Collection<Long> eventIds) {
+        Set<Long> ids = new LinkedHashSet<>(eventIds);
+        if (ids.isEmpty() || ids.size() > MAX_EVENTS_PER_STREAM) {
+            throw new BadRequestException("Between 1 and " + MAX_EVENTS_PER_STREAM + " event ids are required.");
+        }
+        if (subscribers.size() >= maxSubscribers) {
+            throw new ServiceUnavailableException("Too many live seat streams. Please try again shortly.");
+        }
+
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Subscriber subscriber = new Subscriber(emitter, ids);
+        subscribers.add(subscriber);
+        emitter.onCompletion(() -> unsubscribe(subscriber));
+        emitter.onError(error -> unsubscribe(subscriber));
+        emitter.onTimeout(() -> {
+            unsubscribe(subscriber);
+            emitter.complete();
+        });
+
+        // Joined before the counts are read, so a change from here on reaches this subscriber
+        ids.forEach(this::join);
+        boolean found = false;
+        try {
+            Map<Long, Integer> counts = readCounts(ids.stream()
+                    .filter(id -> topics.get(id).remaining == UNKNOWN)
+                    .toList());
+            for (Long eventId : ids) {
+                Topic topic = topics.get(eventId);
+                synchronized (topic) {
+                    if (topic.remaining == UNKNOWN) {
+                        Integer remaining = counts.get(eventId);
+                        if (remaining == null) {
+                            continue;
+                        }
+                        topic.remaining = remaining;
+                    }
+                    topic.subscribers.add(subscriber);
+                    subscriber.offer(topic.snapshot(eventId));
+                    found = true;
+                }
+            }
+        } finally {
+            if (!found) {
+                unsubscribe(subscriber);
+            }
+        }
+        if (!found) {
+            throw new ResourceNotFoundException("Event", "id", ids);
+        }
+        return emitter;
+    }
+
+    /**
+     * Pushes the counts of the events changed since the previous call. Called once per
+     * coalescing window.
+     */
+    public void flush() {
+        List<Long> eventIds = new ArrayList<>();
+        for (Iterator<Long> iterator = changed.iterator(); iterator.hasNext(); ) {
+            Long eventId = iterator.next();
+            iterator.remove();
+            if (topics.containsKey(eventId)) {
+                eventIds.add(eventId);
+            }
+        }
+        if (eventIds.isEmpty()) {
+            return;
+        }
+        Map<Long, Integer> counts;
+        try {
+            counts = readCounts(eventIds);
+        } catch (RuntimeException e) {
+            changed.addAll(eventIds);
+            throw e;
+        }
+        counts.forEach((eventId, remaining) -> {
+            Topic topic = topics.get(eventId);
+            if (topic != null) {
+                topic.update(eventId, remaining);
+            }
+        });
+    }
+
+    public void heartbeat() {
+        subscribers.forEach(subscriber -> subscriber.offer(HEARTBEAT));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSeatsReserved(SeatsReservedEvent event) {
+        markChanged(event.getEventId());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSeatsReleased(SeatsReleasedEvent event) {
+        markChanged(event.getEventId());
+    }
+
+    // An edit may change maxAttendees; a deleted event is announced once, its topic then
+    // goes away with its subscribers
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEventsChanged(EventChangedEvent event) {
+        for (Long eventId : event.getEventIds()) {
+            Topic topic = topics.get(eventId);
+            if (topic == null) {
+                continue;
+            }
+            if (event.isDeleted()) {
+                topic.broadcast(render("removed", new SeatUpdateDto(eventId, 0, 0)));
+            } else {
+                changed.add(eventId);
+            }
+        }
+    }
+
+    // Ends every stream before the web server's graceful shutdown, which would otherwise
+    // wait for these never-ending requests; clients reconnect to another instance
+    @EventListener(ContextClosedEvent.class)
+    public void closeAll() {
+        subscribers.forEach(Subscriber::close);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        senders.shutdownNow();
+    }
+
+    private void markChanged(Long eventId) {
+        if (topics.containsKey(eventId)) {
+            changed.add(eventId);
+        }
+    }
+
+    private Map<Long, Integer> readCounts(List<Long> eventIds) {
+        Map<Long, Integer> counts = new HashMap<>();
+        for (int from = 0; from < eventIds.size(); from += QUERY_CHUNK_SIZE) {
+            List<Long> chunk = eventIds.subList(from, Math.min(from + QUERY_CHUNK_SIZE, eventIds.size()));
+            for (SeatCountRow row : eventRepository.findSeatCounts(chunk)) {
+                counts.put(row.getEventId(), Math.max(row.getRemaining(), 0));
+            }
+        }
+        return counts;
+    }
+
+    // Topics are created and dropped inside compute, counting the subscribers that joined
+    // them, so a topic is never dropped between a subscriber joining and reading its count
+    private void join(Long eventId) {
+        topics.compute(eventId, (id, topic) -> {
+            Topic target = topic != null ? topic : new Topic();
+            target.members++;
+            return target;
+        });
+    }
+
+    private void leave(Long eventId, Subscriber subscriber) {
+        topics.computeIfPresent(eventId, (id, topic) -> {
+            synchronized (topic) {
+                topic.subscribers.remove(subscriber);
+            }
+            return --topic.members == 0 ? null : topic;
+        });
+    }
+
+    private void unsubscribe(Subscriber subscriber) {
+        if (subscriber.removed.compareAndSet(false, true)) {
+            subscribers.remove(subscriber);
+            subscriber.eventIds.forEach(eventId -> leave(eventId, subscriber));
+        }
+    }
+
+    private Set<DataWithMediaType> render(String name, SeatUpdateDto update) {
+        try {
+            return frame("event: " + name + "\ndata: " + objectMapper.writeValueAsString(update) + "\n\n");
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not render a seat update", e);
+        }
+    }
+
+    // A complete SSE frame, written as is
+    private static Set<DataWithMediaType> frame(String text) {
+        return Set.of(new DataWithMediaType(text, TEXT_UTF8));
+    }
+
+    /**
+     * The subscribers of one event and the count they were last sent.
+     */
+    private final class Topic {
+
+        // Changed only inside topics.compute for this event
+        private int members;
+
+        // Guarded by the topic
+        private final Set<Subscriber> subscribers = new HashSet<>();
+        private int remaining = UNKNOWN;
+        private Set<DataWithMediaType> snapshot;
+
+        synchronized void update(Long eventId, int current) {
+            int previous = remaining;
+            remaining = current;
+            if (previous == UNKNOWN || previous == current) {
+                return;
+            }
+            snapshot = null;
+            broadcast(render("seats", new SeatUpdateDto(eventId, current, current - previous)));
+        }
+
+        synchronized void broadcast(Set<DataWithMediaType> message) {
+            subscribers.forEach(subscriber -> subscriber.offer(message));
+        }
+
+        // What a new subscriber is sent first; rendered once per count
+        Set<DataWithMediaType> snapshot(Long eventId) {
+            if (snapshot == null) {
+                snapshot = render("seats", new SeatUpdateDto(eventId, remaining, 0));
+            }
+            return snapshot;
+        }
+    }
+
+    /**
+     * One SSE connection with its bounded queue of rendered messages.
+     */
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final Set<Long> eventIds;
+        private final ArrayBlockingQueue<Set<DataWithMediaType>> queue;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean removed = new AtomicBoolean();
+        private volatile boolean closed;
+
+        Subscriber(SseEmitter emitter, Set<Long> eventIds) {
+            this.emitter = emitter;
+            this.eventIds = eventIds;
+            this.queue = new ArrayBlockingQueue<>(bufferSize);
+        }
+
+        // Never blocks: called while a topic is locked. A full queue marks the subscriber
+        // for closing, which its drain does outside any topic lock
+        void offer(Set<DataWithMediaType> message) {
+            if (closed) {
+                return;
+            }
+            if (!queue.offer(message)) {
+                closed = true;
+                dropped.increment();
+            }
+            schedule();
+        }
+
+        void close() {
+            closed = true;
+            schedule();
+        }
+
+        private void schedule() {
+            if (draining.compareAndSet(false, true)) {
+                try {
+                    senders.execute(this::drain);
+                } catch (RejectedExecutionException e) {
+                    closed = true;
+                }
+            }
+        }
+
+        private void drain() {
+            while (true) {
+                if (closed) {
+                    queue.clear();
+                    unsubscribe(this);
+                    emitter.complete();
+                    return;
+                }
+                Set<DataWithMediaType> message = queue.poll();
+                if (message == null) {
+                    draining.set(false);
+                    // Something offered after the poll (but before the reset) is sent by this
+                    // drain, unless the offering thread already started another one
+                    if ((queue.isEmpty() && !closed) || !draining.compareAndSet(false, true)) {
+                        return;
+                    }
+                    continue;
+                }
+                try {
+                    emitter.send(message);
+                } catch (IOException | IllegalStateException e) {
+                    // The client went away; the container completes the request
+                    closed = true;
+                    queue.clear();
+                    unsubscribe(this);
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package com.college.campusconnect.service;
+
+import com.college.campusconnect.entity.Event;
+import com.college.campusconnect.repository.EventRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Hands out event seats without ever exceeding maxAttendees.
+ *
+ * The database is the source of truth: a seat is only taken by the conditional
+ * update in {@link EventRepository#reserveSeat(Long)}. In front of it sits one
+ * in-memory permit counter per event, so once an event is sold out the rush of
+ * doomed requests is rejected with a CAS instead of a MySQL round trip.
+ */
+@Service
+@RequiredArgsConstructor
+public class SeatReservationService {
+
+    // How long a local "sold out" answer is trusted before the counter is re-read,
+    // so seats freed on another instance (or by a rollback we missed) come back
+    private static final long SOLD_OUT_RECHECK_MILLIS = 2000;
+
+    private final EventRepository eventRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final ConcurrentHashMap<Long, SeatPermits> permitsByEvent = new ConcurrentHashMap<>();
+
+    /**
+     * True when this instance already knows the event is full, letting callers
+     * reject a request before running any query.
+     */
+    public boolean isKnownSoldOut(Long eventId) {
+        SeatPermits permits = permitsByEvent.get(eventId);
+        return permits != null && permits.isSoldOut() && !permits.isRecheckDue();
+    }
+
+    /**
+     * Takes one seat for the event inside the caller's transaction.
+     * Returns false if the event is full. If the transaction rolls back the
+     * database update is undone with it and the local permit is handed back;
+     * otherwise listeners hear about it ({@link SeatsReservedEvent}) once it commits.
+     */
+    public boolean tryReserve(Event event) {
+        Long eventId = event.getId();
+        SeatPermits permits = permitsByEvent.computeIfAbsent(eventId,
+                id -> new SeatPermits(event.getMaxAttendees() - event.getRegisteredCount()));
+
+        if (!permits.tryAcquire()) {
+            if (!permits.isRecheckDue()) {
+                return false;
+            }
+            permits.reset(eventRepository.findRemainingSeats(eventId).orElse(0));
+            if (!permits.tryAcquire()) {
+                return false;
+            }
+        }
+
+        if (eventRepository.reserveSeat(eventId) == 0) {
+            // Our local view was optimistic; the database says there is nothing left
+            permits.reset(0);
+            return false;
+        }
+
+        eventPublisher.publishEvent(new SeatsReservedEvent(eventId));
+        afterCompletion(committed -> {
+            if (!committed) {
+                permits.release(1);
+            }
+        });
+        return true;
+    }
+
+    /**
+     * Takes several seats of one event inside the caller's transaction, or none if fewer
+     * are left. Bypasses the local counter, which is re-read on the next registration.
+     */
+    public boolean tryReserve(Long eventId, int seats) {
+        if (eventRepository.reserveSeats(eventId, seats) == 0) {
+            return false;
+        }
+        eventPublisher.publishEvent(new SeatsReservedEvent(eventId));
+        afterCompletion(committed -> permitsByEvent.remove(eventId));
+        return true;
+    }
+
+    /**
+     * Gives a seat back (unregistration) inside the caller's transaction.
+     */
+    public void release(Long eventId) {
+        release(eventId, 1);
+    }
+
+    /**
+     * Gives several seats of one event back inside the caller's transaction.
+     * Listeners hear about it ({@link SeatsReleasedEvent}) once the transaction commits.
+     */
+    public void release(Long eventId, int seats) {
+        if (seats <= 0 || eventRepository.releaseSeats(eventId, seats) == 0) {
+            return;
+        }
+        eventPublisher.publishEvent(new SeatsReleasedEvent(eventId));
+        afterCompletion(committed -> {
+            SeatPermits permits = permitsByEvent.get(eventId);
+            if (committed && permits != null) {
+                permits.release(seats);
+            }
+        });
+    }
+
+    /**
+     * Drops the cached counter, e.g. after maxAttendees changed or the event was deleted.
+     */
+    public void invalidate(Long eventId) {
+        permitsByEvent.remove(eventId);
+    }
+
+    private void afterCompletion(Consumer<Boolean> callback) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            callback.accept(true);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                callback.accept(status == STATUS_COMMITTED);
+            }
+        });
+    }
+
+    /**
+     * Remaining seats for one event as this instance last saw them.
+     */
+    private static final class SeatPermits {
+
+        private final AtomicInteger remaining;
+        private volatile long soldOutSince;
+
+        SeatPermits(int remaining) {
+            this.remaining = new AtomicInteger(Math.max(remaining, 0));
+            this.soldOutSince = remaining > 0 ? 0 : System.currentTimeMillis();
+        }
+
+        boolean tryAcquire() {
+            while (true) {
+                int current = remaining.get();
+                if (current <= 0) {
+                    if (soldOutSince == 0) {
+                        soldOutSince = System.currentTimeMillis();
+                    }
+                    return false;
+                }
+                if (remaining.compareAndSet(current, current - 1)) {
+                    // Taking the last seat starts the sold-out window, so it gets re-checked
+                    if (current == 1) {
+                        soldOutSince = System.currentTimeMillis();
+                    }
+                    return true;
+                }
+            }
+        }
+
+        void release(int seats) {
+            remaining.addAndGet(seats);
+            soldOutSince = 0;
+        }
+
+        boolean isSoldOut() {
+            return remaining.get() <= 0;
+        }
+
+        boolean isRecheckDue() {
+            long since = soldOutSince;
+            // No timestamp while sold out (a release raced with the last seat): re-check now
+            return since == 0 || System.currentTimeMillis() - since >= SOLD_OUT_RECHECK_MILLIS;
+        }
+
+        void reset(int value) {
+            remaining.set(Math.max(value, 0));
+            soldOutSince = value > 0 ? 0 : System.currentTimeMillis();
+        }
+    }
+}
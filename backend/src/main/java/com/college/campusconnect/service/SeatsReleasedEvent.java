@@ -0,0 +1,15 @@
+package com.college.campusconnect.service;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Published whenever seats of an event are handed back (unregistration, a failed or
+ * expired payment), so the waitlist can fill them once the release is committed.
+ */
+@Getter
+@AllArgsConstructor
+public class SeatsReleasedEvent {
+
+    private final Long eventId;
+}
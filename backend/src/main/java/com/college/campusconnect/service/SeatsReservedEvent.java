@@ -0,0 +1,15 @@
+package com.college.campusconnect.service;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Published whenever seats of an event are taken (registration, waitlist promotion, a
+ * late payment taking its seat back); listeners act once the transaction commits.
+ */
+@Getter
+@AllArgsConstructor
+public class SeatsReservedEvent {
+
+    private final Long eventId;
+}
@@ -0,0 +1,74 @@
+package com.college.campusconnect.service;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token buckets, one per key (a client IP or a user), all with the same size and rate.
+ *
+ * A bucket holds capacity tokens and refills them evenly over the period. It is kept as
+ * a single number, the time at which it will be full again (the "theoretical arrival
+ * time" of GCRA, which is equivalent to a token bucket): a request moves that time one
+ * token interval ahead, and is refused if the result lies more than a whole period in
+ * the future. So a decision is a map lookup and one compare-and-set, without locks;
+ * concurrent requests for the same key retry the CAS.
+ *
+ * The buckets live in a {@link ConcurrentHashMap} (lock-free reads, striped bins for
+ * inserts). A bucket whose time has passed is full, which is the same as having no
+ * bucket, so {@link #evictIdle(long)} can drop it without changing any answer.
+ */
+public class TokenBucketLimiter {
+
+    private final long intervalNanos;
+    private final long burstNanos;
+
+    private final ConcurrentHashMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+
+    /**
+     * @param capacity requests allowed at once
+     * @param period   time to refill all of them
+     */
+    public TokenBucketLimiter(int capacity, Duration period) {
+        if (capacity < 1 || period.isNegative() || period.isZero()) {
+            throw new IllegalArgumentException("A rate limit needs a capacity of at least 1 and a positive period");
+        }
+        this.intervalNanos = Math.max(period.toNanos() / capacity, 1);
+        this.burstNanos = intervalNanos * capacity;
+    }
+
+    /**
+     * Takes a token for the key. Returns 0 if the request may go ahead, otherwise how long
+     * (in nanoseconds of {@link System#nanoTime()}) until the next token.
+     */
+    public long tryAcquire(String key, long now) {
+        AtomicLong bucket = buckets.get(key);
+        if (bucket == null) {
+            bucket = buckets.computeIfAbsent(key, k -> new AtomicLong(now));
+        }
+        while (true) {
+            long fullAt = bucket.get();
+            long next = (fullAt - now > 0 ? fullAt : now) + intervalNanos;
+            long wait = next - now - burstNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (bucket.compareAndSet(fullAt, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Drops the buckets that are full by now; returns how many.
+     */
+    public int evictIdle(long now) {
+        int before = buckets.size();
+        buckets.values().removeIf(bucket -> bucket.get() - now <= 0);
+        return Math.max(before - buckets.size(), 0);
+    }
+
+    public int size() {
+        return buckets.size();
+    }
+}
@@ -0,0 +1,68 @@
+package com.college.campusconnect.service;
+
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers users whose token version was bumped, so the stateless JWT filter can
+ * reject their older tokens without loading the user from the database.
+ *
+ * An entry only has to outlive the tokens it revokes, so it is dropped after
+ * {@link JwtService#TOKEN_VALIDITY_MILLIS}, and never before: the map holds at most the
+ * revocations of one token lifetime. Expired entries are purged whenever the map has
+ * doubled since the last purge. Entries live in memory, so a revocation made
+ * on one instance (or before a restart) is not seen by another; the bumped
+ * version in the database still stops new logins from getting old-version tokens.
+ */
+@Service
+public class TokenRevocationService {
+
+    private static final int MIN_PURGE_SIZE = 10_000;
+
+    private final ConcurrentHashMap<String, Revocation> revocations = new ConcurrentHashMap<>();
+
+    // Size at which the next purge runs; twice what the last one left, so purging stays
+    // amortised constant time per revocation however many are live
+    private volatile int purgeAtSize = MIN_PURGE_SIZE;
+
+    /**
+     * Tokens for this user with a version lower than minimumVersion are no longer accepted.
+     */
+    public void revokeBefore(String email, int minimumVersion) {
+        if (revocations.size() >= purgeAtSize) {
+            purgeExpired();
+        }
+        revocations.merge(email,
+                new Revocation(minimumVersion, System.currentTimeMillis() + JwtService.TOKEN_VALIDITY_MILLIS),
+                (current, updated) -> updated.minimumVersion >= current.minimumVersion ? updated : current);
+    }
+
+    public boolean isRevoked(String email, int tokenVersion) {
+        Revocation revocation = revocations.get(email);
+        if (revocation == null) {
+            return false;
+        }
+        if (revocation.expiresAt < System.currentTimeMillis()) {
+            revocations.remove(email, revocation);
+            return false;
+        }
+        return tokenVersion < revocation.minimumVersion;
+    }
+
+    // Only expired entries go: dropping a live one would make its revoked tokens valid again
+    synchronized int purgeExpired() {
+        long now = System.currentTimeMillis();
+        int before = revocations.size();
+        revocations.values().removeIf(revocation -> revocation.expiresAt < now);
+        purgeAtSize = Math.max(MIN_PURGE_SIZE, revocations.size() * 2);
+        return Math.max(before - revocations.size(), 0);
+    }
+
+    int size() {
+        return revocations.size();
+    }
+
+    private record Revocation(int minimumVersion, long expiresAt) {
+    }
+}
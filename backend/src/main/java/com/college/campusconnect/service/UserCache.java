@@ -0,0 +1,65 @@
+package com.college.campusconnect.service;
+
+import com.college.campusconnect.entity.User;
+import com.college.campusconnect.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Size-bounded, time-limited cache of users by email in front of UserRepository.findByEmail,
+ * the most frequent query in the application (login, profile and registration all start with it).
+ *
+ * Cached users are detached entities with their (eager) roles loaded; lazy collections such
+ * as registrations must not be touched. Anything that changes a user's profile, password or
+ * roles must call {@link #evict(String)}. Hit/miss counts are published as the "users" cache
+ * metrics (cache.gets, cache.evictions, ...).
+ */
+@Service
+public class UserCache {
+
+    private final UserRepository userRepository;
+    private final Cache<String, User> usersByEmail;
+
+    public UserCache(
+            UserRepository userRepository,
+            MeterRegistry meterRegistry,
+            @Value("${cache.users.max-size:10000}") long maxSize,
+            @Value("${cache.users.ttl:10m}") Duration ttl
+    ) {
+        this.userRepository = userRepository;
+        this.usersByEmail = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, usersByEmail, "users");
+    }
+
+    // Unknown emails are not cached, so a user who registers is found right away.
+    // The query runs outside the cache's compute lock: a virtual thread blocking on JDBC
+    // inside it would pin its carrier thread.
+    public Optional<User> findByEmail(String email) {
+        User cached = usersByEmail.getIfPresent(email);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        Optional<User> user = userRepository.findByEmail(email);
+        user.ifPresent(found -> usersByEmail.put(email, found));
+        return user;
+    }
+
+    public void evict(String email) {
+        usersByEmail.invalidate(email);
+    }
+
+    public void evictAll() {
+        usersByEmail.invalidateAll();
+    }
+}
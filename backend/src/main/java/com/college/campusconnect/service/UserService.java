@@ -7,32 +7,61 @@ import com.college.campusconnect.exception.ResourceNotFoundException;
 import com.college.campusconnect.repository.RegistrationRepository;
 import com.college.campusconnect.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
-public class UserService {
+public class UserService implements UserDetailsPasswordService {
 
     private final UserRepository userRepository;
     private final RegistrationRepository registrationRepository; // Inject the new repo
     private final MapperService mapperService;
+    private final TokenRevocationService tokenRevocationService;
+    private final UserCache userCache;
 
     public UserDto getUserProfile(String email) {
-        User user = userRepository.findByEmail(email)
+        User user = userCache.findByEmail(email)
                 .orElseThrow(() -> new ResourceNotFoundException("User", "email", email));
         return mapperService.mapToUserDto(user);
     }
 
     public List<EventDto> getMyRegisteredEvents(String email) {
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new ResourceNotFoundException("User", "email", email));
+        if (userCache.findByEmail(email).isEmpty()) {
+            throw new ResourceNotFoundException("User", "email", email);
+        }
 
-        // FIX: We now find registrations via the repository, NOT user.getRegisteredEvents()
-        return registrationRepository.findByUser(user).stream()
-                .map(registration -> mapperService.mapToEventDto(registration.getEvent()))
+        // One query returns the events with their categories (no per-registration loads)
+        return registrationRepository.findRegisteredEventsByUserEmail(email).stream()
+                .map(mapperService::mapToEventDto)
                 .collect(Collectors.toList());
     }
-}
\ No newline at end of file
+
+    // Cuts off every token the user currently holds; they have to log in again
+    @Transactional
+    public void revokeTokens(Long userId) {
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("User", "id", userId));
+
+        user.setTokenVersion(user.getTokenVersion() + 1);
+        userRepository.save(user);
+        userCache.evict(user.getEmail());
+        tokenRevocationService.revokeBefore(user.getEmail(), user.getTokenVersion());
+    }
+
+    // Called by the authentication provider after a login whose stored hash used an older cost
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails userDetails, String newPassword) {
+        userRepository.updatePassword(userDetails.getUsername(), newPassword);
+        userCache.evict(userDetails.getUsername());
+        User user = (User) userDetails;
+        user.setPassword(newPassword);
+        return user;
+    }
+}
@@ -0,0 +1,179 @@
+package com.college.campusconnect.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The waitlists of all events in memory, in queue order.
+ *
+ * Each event's queue is a linked map from user id to entry, so joining, leaving and
+ * looking a user up are hash operations. Every entry carries an ordinal, and the
+ * ordinals of one queue are kept contiguous: a user's position is their ordinal minus
+ * the head's, so it is answered without walking the queue. Taking entries off the head
+ * (promotion) and joining at the tail only move the queue's bounds. Leaving from the
+ * middle is the one operation that renumbers the entries behind the leaver.
+ *
+ * Mutations of one queue happen inside {@link ConcurrentHashMap#compute}, so a queue is
+ * never changed after it was dropped as empty; reads lock the queue itself.
+ */
+public class WaitlistIndex {
+
+    private final ConcurrentHashMap<Long, Queue> queues = new ConcurrentHashMap<>();
+
+    /**
+     * One entry at the front of a queue.
+     */
+    public record Waiting(Long entryId, Long userId) {
+    }
+
+    /**
+     * Appends the entry unless the user is already waiting; returns the user's position.
+     */
+    public int add(Long eventId, Long entryId, Long userId) {
+        int[] position = new int[1];
+        queues.compute(eventId, (id, queue) -> {
+            Queue target = queue != null ? queue : new Queue();
+            synchronized (target) {
+                position[0] = target.add(entryId, userId);
+            }
+            return target;
+        });
+        return position[0];
+    }
+
+    /**
+     * Takes the user off the event's queue; false if they were not on it.
+     */
+    public boolean remove(Long eventId, Long userId) {
+        boolean[] removed = new boolean[1];
+        queues.computeIfPresent(eventId, (id, queue) -> {
+            synchronized (queue) {
+                removed[0] = queue.remove(userId);
+                return queue.entries.isEmpty() ? null : queue;
+            }
+        });
+        return removed[0];
+    }
+
+    public void removeAll(Long eventId, Collection<Long> userIds) {
+        queues.computeIfPresent(eventId, (id, queue) -> {
+            synchronized (queue) {
+                userIds.forEach(queue::remove);
+                return queue.entries.isEmpty() ? null : queue;
+            }
+        });
+    }
+
+    public void removeEvent(Long eventId) {
+        queues.remove(eventId);
+    }
+
+    /**
+     * 1-based position of the user on the event's queue, 0 if they are not waiting.
+     */
+    public int position(Long eventId, Long userId) {
+        Queue queue = queues.get(eventId);
+        if (queue == null) {
+            return 0;
+        }
+        synchronized (queue) {
+            Entry entry = queue.entries.get(userId);
+            return entry == null ? 0 : (int) (entry.ordinal - queue.head) + 1;
+        }
+    }
+
+    public int size(Long eventId) {
+        Queue queue = queues.get(eventId);
+        if (queue == null) {
+            return 0;
+        }
+        synchronized (queue) {
+            return queue.entries.size();
+        }
+    }
+
+    /**
+     * Up to limit entries from the front of the event's queue, in order.
+     */
+    public List<Waiting> head(Long eventId, int limit) {
+        Queue queue = queues.get(eventId);
+        if (queue == null) {
+            return List.of();
+        }
+        synchronized (queue) {
+            List<Waiting> head = new ArrayList<>(Math.min(limit, queue.entries.size()));
+            Iterator<Map.Entry<Long, Entry>> iterator = queue.entries.entrySet().iterator();
+            while (head.size() < limit && iterator.hasNext()) {
+                Map.Entry<Long, Entry> next = iterator.next();
+                head.add(new Waiting(next.getValue().entryId, next.getKey()));
+            }
+            return head;
+        }
+    }
+
+    public List<Long> eventIds() {
+        return List.copyOf(queues.keySet());
+    }
+
+    public int totalSize() {
+        int total = 0;
+        for (Long eventId : queues.keySet()) {
+            total += size(eventId);
+        }
+        return total;
+    }
+
+    private static final class Entry {
+
+        private final Long entryId;
+        private long ordinal;
+
+        Entry(Long entryId, long ordinal) {
+            this.entryId = entryId;
+            this.ordinal = ordinal;
+        }
+    }
+
+    /**
+     * One event's queue: entries with the ordinals head .. tail - 1, in insertion order.
+     */
+    private static final class Queue {
+
+        private final LinkedHashMap<Long, Entry> entries = new LinkedHashMap<>();
+        private long head;
+        private long tail;
+
+        int add(Long entryId, Long userId) {
+            Entry existing = entries.get(userId);
+            if (existing == null) {
+                existing = new Entry(entryId, tail++);
+                entries.put(userId, existing);
+            }
+            return (int) (existing.ordinal - head) + 1;
+        }
+
+        boolean remove(Long userId) {
+            Entry removed = entries.remove(userId);
+            if (removed == null) {
+                return false;
+            }
+            if (removed.ordinal == head) {
+                head++;
+            } else {
+                // Left from the middle (or the tail): everyone behind moves up one place
+                for (Entry entry : entries.values()) {
+                    if (entry.ordinal > removed.ordinal) {
+                        entry.ordinal--;
+                    }
+                }
+                tail--;
+            }
+            return true;
+        }
+    }
+}
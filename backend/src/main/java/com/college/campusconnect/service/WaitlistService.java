@@ -0,0 +1,357 @@
+package com.college.campusconnect.service;
+
+import com.college.campusconnect.dto.WaitlistRow;
+import com.college.campusconnect.dto.WaitlistStatusDto;
+import com.college.campusconnect.entity.Event;
+import com.college.campusconnect.entity.Registration;
+import com.college.campusconnect.entity.User;
+import com.college.campusconnect.entity.WaitlistEntry;
+import com.college.campusconnect.exception.BadRequestException;
+import com.college.campusconnect.exception.ResourceNotFoundException;
+import com.college.campusconnect.repository.EventRepository;
+import com.college.campusconnect.repository.RegistrationRepository;
+import com.college.campusconnect.repository.WaitlistEntryRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Waitlists for full events, with automatic promotion when seats free up.
+ *
+ * The waitlist_entries table is the durable queue; a {@link WaitlistIndex} in memory
+ * mirrors it so positions are answered without a query. Joining and leaving write both.
+ *
+ * Promotion is driven by {@link SeatsReleasedEvent}: every path that hands seats back
+ * (unregistration, a failed or expired payment) marks the event, and
+ * {@link #promotePending()} later fills the free seats from the front of its queue in
+ * batches. Each batch is one transaction: the entries are claimed by deleting their rows
+ * (so a concurrent leave or another instance cannot promote the same user twice), the
+ * registrations are written with one JDBC batch and the seats are taken with one
+ * conditional update. Promoted users of a paid event get a PENDING registration and an
+ * order, exactly as if they had registered themselves.
+ */
+@Service
+public class WaitlistService {
+
+    private static final int LOAD_BATCH_SIZE = 1000;
+
+    private static final String CLAIM_SQL = "delete from waitlist_entries where id = ?";
+    private static final String INSERT_SQL =
+            "insert into registrations (user_id, event_id, registration_time, razorpay_order_id, payment_status, amount_paid) " +
+            "values (?, ?, ?, ?, ?, ?)";
+
+    private final WaitlistEntryRepository waitlistEntryRepository;
+    private final EventRepository eventRepository;
+    private final RegistrationRepository registrationRepository;
+    private final UserCache userCache;
+    private final SeatReservationService seatReservationService;
+    private final PaymentOrderService paymentOrderService;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    private final int batchSize;
+
+    private final WaitlistIndex index = new WaitlistIndex();
+    // Events whose queue may have free seats in front of it
+    private final Set<Long> pending = ConcurrentHashMap.newKeySet();
+
+    private final Counter joined;
+    private final Counter promoted;
+
+    public WaitlistService(
+            WaitlistEntryRepository waitlistEntryRepository,
+            EventRepository eventRepository,
+            RegistrationRepository registrationRepository,
+            UserCache userCache,
+            SeatReservationService seatReservationService,
+            PaymentOrderService paymentOrderService,
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${waitlist.promotion.batch-size:100}") int batchSize
+    ) {
+        this.waitlistEntryRepository = waitlistEntryRepository;
+        this.eventRepository = eventRepository;
+        this.registrationRepository = registrationRepository;
+        this.userCache = userCache;
+        this.seatReservationService = seatReservationService;
+        this.paymentOrderService = paymentOrderService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+
+        this.joined = Counter.builder("waitlist.joined")
+                .description("Users who joined an event's waitlist")
+                .register(meterRegistry);
+        this.promoted = Counter.builder("waitlist.promoted")
+                .description("Waiting users given a seat")
+                .register(meterRegistry);
+        Gauge.builder("waitlist.size", index, WaitlistIndex::totalSize)
+                .description("Users waiting across all events")
+                .register(meterRegistry);
+    }
+
+    public WaitlistStatusDto join(Long eventId, String userEmail) {
+        Event event = eventRepository.findById(eventId)
+                .orElseThrow(() -> new ResourceNotFoundException("Event", "id", eventId));
+        User user = userCache.findByEmail(userEmail)
+                .orElseThrow(() -> new ResourceNotFoundException("User", "email", userEmail));
+
+        // Joining twice keeps the first place
+        if (index.position(eventId, user.getId()) > 0) {
+            return status(eventId, user);
+        }
+        Registration existing = registrationRepository.findByUserAndEvent(user, event).orElse(null);
+        if (existing != null && holdsSeat(existing)) {
+            throw new BadRequestException("User is already registered for this event.");
+        }
+
+        WaitlistEntry entry = new WaitlistEntry();
+        entry.setUser(user);
+        entry.setEvent(event);
+        entry.setJoinedAt(LocalDateTime.now());
+        try {
+            entry = waitlistEntryRepository.saveAndFlush(entry);
+        } catch (DataIntegrityViolationException e) {
+            // A concurrent join of the same user won; its entry stands
+            return status(eventId, user);
+        }
+        index.add(eventId, entry.getId(), user.getId());
+        joined.increment();
+
+        // The event may not have been full after all, or a seat freed up meanwhile
+        if (event.getRegisteredCount() < event.getMaxAttendees()) {
+            pending.add(eventId);
+        }
+        return status(eventId, user);
+    }
+
+    public void leave(Long eventId, String userEmail) {
+        User user = userCache.findByEmail(userEmail)
+                .orElseThrow(() -> new ResourceNotFoundException("User", "email", userEmail));
+        Integer deleted = transactionTemplate.execute(status ->
+                waitlistEntryRepository.deleteEntry(user.getId(), eventId));
+        boolean removed = index.remove(eventId, user.getId());
+        if (deleted == 0 && !removed) {
+            throw new ResourceNotFoundException("User is not on the waitlist for this event.");
+        }
+    }
+
+    public WaitlistStatusDto getStatus(Long eventId, String userEmail) {
+        User user = userCache.findByEmail(userEmail)
+                .orElseThrow(() -> new ResourceNotFoundException("User", "email", userEmail));
+        return status(eventId, user);
+    }
+
+    // WAITING straight from the index; only a user who is not waiting costs a query
+    private WaitlistStatusDto status(Long eventId, User user) {
+        int position = index.position(eventId, user.getId());
+        int waiting = index.size(eventId);
+        if (position > 0) {
+            return new WaitlistStatusDto(eventId, "WAITING", position, waiting, null);
+        }
+        return registrationRepository.findByEventIdAndUserIds(eventId, List.of(user.getId())).stream()
+                .filter(WaitlistService::holdsSeat)
+                .findFirst()
+                .map(registration -> new WaitlistStatusDto(eventId, "REGISTERED", null, waiting, registration.getId()))
+                .orElseGet(() -> new WaitlistStatusDto(eventId, "NONE", null, waiting, null));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onSeatsReleased(SeatsReleasedEvent event) {
+        if (index.size(event.getEventId()) > 0) {
+            pending.add(event.getEventId());
+        }
+    }
+
+    // A deleted event's rows are gone with it (ON DELETE CASCADE); an edited one may have more seats
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEventsChanged(EventChangedEvent event) {
+        for (Long eventId : event.getEventIds()) {
+            if (event.isDeleted()) {
+                index.removeEvent(eventId);
+                pending.remove(eventId);
+            } else if (index.size(eventId) > 0) {
+                pending.add(eventId);
+            }
+        }
+    }
+
+    // Fills the index from the table in queue order; seats freed while the application was
+    // down are filled on the first promotion run
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadIndex() {
+        long afterId = 0;
+        while (true) {
+            List<WaitlistRow> rows = waitlistEntryRepository.findRowsAfter(afterId, Limit.of(LOAD_BATCH_SIZE));
+            if (rows.isEmpty()) {
+                break;
+            }
+            rows.forEach(row -> index.add(row.getEventId(), row.getEntryId(), row.getUserId()));
+            afterId = rows.get(rows.size() - 1).getEntryId();
+        }
+        pending.addAll(index.eventIds());
+    }
+
+    /**
+     * Fills the free seats of every event marked since the last run. Returns the number of
+     * users promoted.
+     */
+    public int promotePending() {
+        int total = 0;
+        for (Long eventId : List.copyOf(pending)) {
+            // Unmarked first: a release during the run marks the event again
+            pending.remove(eventId);
+            try {
+                total += promote(eventId);
+            } catch (RuntimeException e) {
+                pending.add(eventId);
+                throw e;
+            }
+        }
+        return total;
+    }
+
+    private int promote(Long eventId) {
+        int total = 0;
+        while (true) {
+            Batch batch = transactionTemplate.execute(status -> promoteBatch(eventId, status));
+            if (batch == null || batch.claimed() == 0) {
+                return total;
+            }
+            total += batch.promoted();
+        }
+    }
+
+    private Batch promoteBatch(Long eventId, TransactionStatus transaction) {
+        Event event = eventRepository.findById(eventId).orElse(null);
+        if (event == null || event.getDateTime().isBefore(LocalDateTime.now())) {
+            return Batch.NONE;
+        }
+        double amount = event.getRegistrationPrice();
+        boolean free = amount <= 0;
+        if (!free && !paymentOrderService.isAvailable()) {
+            // Every order would fail and hand its seat straight back; try again on a later run
+            pending.add(eventId);
+            return Batch.NONE;
+        }
+
+        int seats = eventRepository.findRemainingSeats(eventId).orElse(0);
+        if (seats <= 0) {
+            return Batch.NONE;
+        }
+        List<WaitlistIndex.Waiting> head = index.head(eventId, Math.min(seats, batchSize));
+        if (head.isEmpty()) {
+            return Batch.NONE;
+        }
+
+        // 1. Claim the entries; a row already gone was left or promoted elsewhere
+        int[] counts = jdbcTemplate.batchUpdate(CLAIM_SQL, head, head.size(),
+                (statement, waiting) -> statement.setLong(1, waiting.entryId()))[0];
+        List<Long> claimed = new ArrayList<>(head.size());
+        for (int i = 0; i < head.size(); i++) {
+            if (counts[i] != 0) {
+                claimed.add(head.get(i).userId());
+            }
+        }
+        List<Long> headUserIds = head.stream().map(WaitlistIndex.Waiting::userId).toList();
+        afterCommit(() -> index.removeAll(eventId, headUserIds));
+        if (claimed.isEmpty()) {
+            return new Batch(head.size(), 0);
+        }
+
+        // 2. Users who registered themselves meanwhile just leave the queue; a lapsed
+        //    registration is reused, everyone else gets a new row
+        Map<Long, Registration> existing = registrationRepository.findByEventIdAndUserIds(eventId, claimed).stream()
+                .collect(Collectors.toMap(r -> r.getUser().getId(), Function.identity()));
+        List<Long> promotedUserIds = claimed.stream()
+                .filter(userId -> !existing.containsKey(userId) || !holdsSeat(existing.get(userId)))
+                .toList();
+        if (promotedUserIds.isEmpty()) {
+            return new Batch(head.size(), 0);
+        }
+
+        // 3. The seats, all or nothing. If a registration took one meanwhile the batch is
+        //    rolled back (the entries stay queued) and the next one reads the seats again
+        if (!seatReservationService.tryReserve(eventId, promotedUserIds.size())) {
+            transaction.setRollbackOnly();
+            return new Batch(head.size(), 0);
+        }
+
+        String status = free ? "PAID" : "PENDING";
+        String orderId = free ? "FREE_EVENT" : null;
+        double amountPaid = free ? 0 : amount;
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> inserted = new ArrayList<>(promotedUserIds.size());
+        for (Long userId : promotedUserIds) {
+            Registration lapsed = existing.get(userId);
+            if (lapsed == null) {
+                inserted.add(userId);
+            } else {
+                registrationRepository.reopenLapsed(lapsed.getId(), status, orderId, amountPaid, now);
+            }
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, inserted, inserted.size(), (statement, userId) -> {
+            statement.setLong(1, userId);
+            statement.setLong(2, eventId);
+            statement.setTimestamp(3, Timestamp.valueOf(now));
+            statement.setString(4, orderId);
+            statement.setString(5, status);
+            statement.setDouble(6, amountPaid);
+        });
+
+        // 4. Paid events: one order per promoted user, requested once this commits
+        if (!free) {
+            for (Registration registration : registrationRepository.findByEventIdAndUserIds(eventId, promotedUserIds)) {
+                Long userId = registration.getUser().getId();
+                paymentOrderService.requestOrder(registration.getId(), eventId,
+                        EventService.idempotencyKey(userId, eventId), amount);
+            }
+        }
+        afterCommit(() -> promoted.increment(promotedUserIds.size()));
+        return new Batch(head.size(), promotedUserIds.size());
+    }
+
+    private static void afterCommit(Runnable action) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private static boolean holdsSeat(Registration registration) {
+        return "PENDING".equals(registration.getPaymentStatus()) || "PAID".equals(registration.getPaymentStatus());
+    }
+
+    /**
+     * Entries taken off the queue by one batch, and how many of them were given a seat.
+     */
+    private record Batch(int claimed, int promoted) {
+        static final Batch NONE = new Batch(0, 0);
+    }
+}
@@ -0,0 +1,117 @@
+package com.college.campusconnect;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.hamcrest.Matchers.startsWith;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Limits per account (from one client IP) and per client IP on login and per user on payment
+ * verification, with small buckets that do not refill during the test.
+ */
+@SpringBootTest(properties = {
+        "rate-limit.login.account-capacity=2",
+        "rate-limit.login.ip-capacity=3",
+        "rate-limit.login.period=1h",
+        "rate-limit.payment.capacity=1",
+        "rate-limit.payment.period=1h"
+})
+@AutoConfigureMockMvc
+class RateLimitFilterTest {
+
+    private static final AtomicLong ADDRESSES = new AtomicLong();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void loginIsLimitedPerAccountFromOneAddress() throws Exception {
+        String ip = ip();
+        String email = "target." + System.nanoTime() + "@ratelimit.test";
+        // The body still reaches the controller after the filter has read it: a bad password, not a bad request
+        login(ip, email).andExpect(status().isForbidden());
+        login(ip, email.toUpperCase()).andExpect(status().isForbidden());
+
+        login(ip, email)
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "1800"))
+                .andExpect(jsonPath("$.message").value(startsWith("Too many requests")));
+
+        // Other accounts are not affected, and nobody elsewhere can lock this one out
+        login(ip, "other." + email).andExpect(status().isForbidden());
+        login(ip(), email).andExpect(status().isForbidden());
+    }
+
+    @Test
+    void oversizedLoginBodiesAreNotBufferedForTheAccount() throws Exception {
+        String ip = ip();
+        String email = "large." + System.nanoTime() + "@ratelimit.test";
+        String padding = "x".repeat(16 * 1024);
+        // Over the account capacity, but only counted per IP; the whole body still reaches the controller
+        for (int i = 0; i < 3; i++) {
+            loginWith(ip, "{\"email\":\"" + email + "\",\"password\":\"wrong\",\"padding\":\"" + padding + "\"}")
+                    .andExpect(status().isForbidden());
+        }
+    }
+
+    @Test
+    void loginIsLimitedPerAddressWithAHigherCapacity() throws Exception {
+        String ip = ip();
+        for (int i = 0; i < 3; i++) {
+            login(ip, "student" + i + "." + System.nanoTime() + "@ratelimit.test").andExpect(status().isForbidden());
+        }
+        login(ip, "student." + System.nanoTime() + "@ratelimit.test")
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "1200"));
+    }
+
+    @Test
+    void paymentVerificationIsLimitedPerUser() throws Exception {
+        String payer = "payer." + System.nanoTime() + "@ratelimit.test";
+        verify(payer).andExpect(status().isBadRequest());
+        verify(payer).andExpect(status().isTooManyRequests());
+
+        // Same address, different user
+        verify("other." + payer).andExpect(status().isBadRequest());
+    }
+
+    private ResultActions login(String ip, String email) throws Exception {
+        return loginWith(ip, "{\"email\":\"" + email + "\",\"password\":\"wrong\"}");
+    }
+
+    private ResultActions loginWith(String ip, String body) throws Exception {
+        return mockMvc.perform(post("/api/auth/login")
+                .with(request -> {
+                    request.setRemoteAddr(ip);
+                    return request;
+                })
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body));
+    }
+
+    // A fresh address per call, so only the bucket under test fills up
+    private static String ip() {
+        long n = ADDRESSES.incrementAndGet();
+        return "10." + (n >> 16 & 0xff) + "." + (n >> 8 & 0xff) + "." + (n & 0xff);
+    }
+
+    private ResultActions verify(String email) throws Exception {
+        return mockMvc.perform(post("/api/payment/verify")
+                .with(user(email).roles("STUDENT"))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"razorpay_order_id\":\"order_x\",\"razorpay_payment_id\":\"pay_x\","
+                        + "\"razorpay_signature\":\"not-a-signature\"}"));
+    }
+}
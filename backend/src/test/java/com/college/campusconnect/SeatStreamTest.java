@@ -0,0 +1,145 @@
+package com.college.campusconnect;
+
+import com.college.campusconnect.entity.Category;
+import com.college.campusconnect.entity.Event;
+import com.college.campusconnect.entity.User;
+import com.college.campusconnect.repository.CategoryRepository;
+import com.college.campusconnect.repository.EventRepository;
+import com.college.campusconnect.repository.UserRepository;
+import com.college.campusconnect.service.EventService;
+import com.college.campusconnect.service.SeatAvailabilityHub;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDateTime;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The seat stream over a real connection; the coalescing flush is run by the test.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "seats.stream.coalesce-window=1h")
+class SeatStreamTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private SeatAvailabilityHub seatAvailabilityHub;
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private final HttpClient http = HttpClient.newHttpClient();
+
+    @Test
+    void pushesCoalescedSeatChanges() throws Exception {
+        Event event = createFreeEvent(5);
+        BlockingQueue<String> messages = new LinkedBlockingQueue<>();
+        HttpResponse<Stream<String>> response = http.send(
+                HttpRequest.newBuilder(URI.create(url("/api/public/events/seats/stream?ids=" + event.getId()))).build(),
+                HttpResponse.BodyHandlers.ofLines());
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(response.headers().firstValue("Content-Type")).hasValueSatisfying(
+                type -> assertThat(type).startsWith("text/event-stream"));
+        Thread reader = Thread.ofVirtual().start(() -> {
+            try {
+                response.body().filter(line -> line.startsWith("data:")).forEach(messages::add);
+            } catch (UncheckedIOException e) {
+                // Closed by the test
+            }
+        });
+
+        try {
+            assertThat(messages.poll(5, TimeUnit.SECONDS))
+                    .isEqualTo("data: {\"eventId\":" + event.getId() + ",\"remaining\":5,\"delta\":0}");
+
+            // Two registrations within one window are one message
+            String first = user("first");
+            eventService.registerForEvent(event.getId(), first);
+            eventService.registerForEvent(event.getId(), user("second"));
+            seatAvailabilityHub.flush();
+            assertThat(messages.poll(5, TimeUnit.SECONDS))
+                    .isEqualTo("data: {\"eventId\":" + event.getId() + ",\"remaining\":3,\"delta\":-2}");
+
+            eventService.unregisterFromEvent(event.getId(), first);
+            seatAvailabilityHub.flush();
+            assertThat(messages.poll(5, TimeUnit.SECONDS))
+                    .isEqualTo("data: {\"eventId\":" + event.getId() + ",\"remaining\":4,\"delta\":1}");
+
+            // Nothing changed, nothing sent
+            seatAvailabilityHub.flush();
+            assertThat(messages.poll(300, TimeUnit.MILLISECONDS)).isNull();
+        } finally {
+            reader.interrupt();
+            response.body().close();
+        }
+    }
+
+    @Test
+    void refusesUnknownEventsAndOversizedSubscriptions() throws Exception {
+        assertThat(status("/api/public/events/seats/stream?ids=987654321")).isEqualTo(404);
+
+        StringBuilder ids = new StringBuilder("1");
+        for (int id = 2; id <= SeatAvailabilityHub.MAX_EVENTS_PER_STREAM + 1; id++) {
+            ids.append(',').append(id);
+        }
+        assertThat(status("/api/public/events/seats/stream?ids=" + ids)).isEqualTo(400);
+    }
+
+    private int status(String path) throws Exception {
+        return http.send(HttpRequest.newBuilder(URI.create(url(path))).build(),
+                HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    private String url(String path) {
+        return "http://localhost:" + port + path;
+    }
+
+    private String user(String name) {
+        String email = name + "." + System.nanoTime() + "@stream.test";
+        userRepository.save(User.builder()
+                .name(name)
+                .email(email)
+                .password("not-a-real-hash")
+                .build());
+        return email;
+    }
+
+    private Event createFreeEvent(int seats) {
+        Category category = new Category();
+        category.setName("Stream " + System.nanoTime());
+        category = categoryRepository.save(category);
+
+        Event event = new Event();
+        event.setName("Live Seats");
+        event.setDescription("Free event used for the seat stream test");
+        event.setDateTime(LocalDateTime.now().plusDays(5));
+        event.setVenue("Main Auditorium");
+        event.setMaxAttendees(seats);
+        event.setRegistrationPrice(0);
+        event.setCategory(category);
+        return eventRepository.save(event);
+    }
+}
@@ -0,0 +1,234 @@
+package com.college.campusconnect.service;
+
+import com.college.campusconnect.dto.RegistrationStatusDto;
+import com.college.campusconnect.entity.Category;
+import com.college.campusconnect.entity.Event;
+import com.college.campusconnect.entity.User;
+import com.college.campusconnect.exception.PaymentGatewayException;
+import com.college.campusconnect.exception.ServiceUnavailableException;
+import com.college.campusconnect.repository.CategoryRepository;
+import com.college.campusconnect.repository.EventRepository;
+import com.college.campusconnect.repository.UserRepository;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * Registration for paid events against a local stub gateway: the handle comes back
+ * before the order exists, retries are idempotent, and gateway failures or timeouts
+ * fail the registration, free its seat and eventually open the circuit.
+ */
+@SpringBootTest(properties = {
+        "payment.orders.timeout=2s",
+        "payment.orders.breaker.failure-threshold=2",
+        "payment.orders.breaker.open-duration=1m"
+})
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class AsyncOrderCreationTest {
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private StubPaymentGateway gateway;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    @Order(1)
+    void returnsPendingHandleAndAttachesOrderInBackground() {
+        gateway.holdUntilReleased();
+        Event event = createPaidEvent(10);
+        User user = createUser("async-ok");
+
+        RegistrationStatusDto handle = eventService.registerForEvent(event.getId(), user.getEmail());
+
+        // Returned while the gateway has not answered yet
+        assertThat(gateway.isHolding()).isTrue();
+        assertThat(handle.getStatus()).isEqualTo("PENDING");
+        assertThat(handle.getOrderId()).isNull();
+
+        // Asking again is the same registration, not a second order
+        RegistrationStatusDto again = eventService.registerForEvent(event.getId(), user.getEmail());
+        assertThat(again.getRegistrationId()).isEqualTo(handle.getRegistrationId());
+
+        gateway.release();
+
+        RegistrationStatusDto ready = awaitOrder(handle.getRegistrationId(), user.getEmail());
+        assertThat(ready.getStatus()).isEqualTo("PENDING");
+        assertThat(ready.getOrderId()).startsWith("order_stub_");
+        assertThat(gateway.keys).containsExactly("reg_" + user.getId() + "_" + event.getId());
+        assertThat(seatsTaken(event)).isEqualTo(1);
+    }
+
+    @Test
+    @Order(2)
+    void failuresReleaseSeatsAndOpenTheCircuit() {
+        Event event = createPaidEvent(10);
+        User first = createUser("async-fail-1");
+        User second = createUser("async-fail-2");
+        User third = createUser("async-fail-3");
+        User fourth = createUser("async-fail-4");
+
+        // Gateway error: registration fails and gives its seat back
+        gateway.fail();
+        RegistrationStatusDto failed = eventService.registerForEvent(event.getId(), first.getEmail());
+        awaitStatus(failed.getRegistrationId(), first.getEmail(), "FAILED");
+        assertThat(seatsTaken(event)).isZero();
+
+        // A failed registration can be retried and reuses its row
+        gateway.respondAfter(0);
+        RegistrationStatusDto retried = eventService.registerForEvent(event.getId(), first.getEmail());
+        assertThat(retried.getRegistrationId()).isEqualTo(failed.getRegistrationId());
+        assertThat(awaitOrder(retried.getRegistrationId(), first.getEmail()).getOrderId()).isNotNull();
+        assertThat(seatsTaken(event)).isEqualTo(1);
+
+        // A gateway that hangs past the timeout counts as a failure too
+        gateway.respondAfter(5_000);
+        RegistrationStatusDto timedOut = eventService.registerForEvent(event.getId(), second.getEmail());
+        awaitStatus(timedOut.getRegistrationId(), second.getEmail(), "FAILED");
+
+        gateway.fail();
+        RegistrationStatusDto rejected = eventService.registerForEvent(event.getId(), third.getEmail());
+        awaitStatus(rejected.getRegistrationId(), third.getEmail(), "FAILED");
+
+        // Two failures in a row: the circuit is open and no seat is taken
+        assertThatThrownBy(() -> eventService.registerForEvent(event.getId(), fourth.getEmail()))
+                .isInstanceOf(ServiceUnavailableException.class);
+        assertThat(seatsTaken(event)).isEqualTo(1);
+    }
+
+    private RegistrationStatusDto awaitOrder(Long registrationId, String email) {
+        return await().atMost(Duration.ofSeconds(5))
+                .until(() -> eventService.getRegistrationStatus(registrationId, email), s -> s.getOrderId() != null);
+    }
+
+    private void awaitStatus(Long registrationId, String email, String status) {
+        await().atMost(Duration.ofSeconds(5))
+                .until(() -> eventService.getRegistrationStatus(registrationId, email).getStatus(), status::equals);
+    }
+
+    private int seatsTaken(Event event) {
+        return eventRepository.findById(event.getId()).orElseThrow().getRegisteredCount();
+    }
+
+    private Event createPaidEvent(int seats) {
+        Category category = new Category();
+        category.setName("Async Orders " + System.nanoTime());
+        category = categoryRepository.save(category);
+
+        Event event = new Event();
+        event.setName("Paid Workshop");
+        event.setDescription("Paid event used for the order creation test");
+        event.setDateTime(LocalDateTime.now().plusDays(3));
+        event.setVenue("Lab 2");
+        event.setMaxAttendees(seats);
+        event.setRegistrationPrice(250);
+        event.setCategory(category);
+        return eventRepository.save(event);
+    }
+
+    private User createUser(String name) {
+        return userRepository.save(User.builder()
+                .name(name)
+                .email(name + "@campus.test")
+                .password("not-a-real-hash")
+                .build());
+    }
+
+    @TestConfiguration
+    static class StubGatewayConfig {
+
+        @Bean
+        @Primary
+        StubPaymentGateway stubPaymentGateway() {
+            return new StubPaymentGateway();
+        }
+    }
+
+    /**
+     * Answers after a configurable delay or once released, or fails, without any network.
+     */
+    static class StubPaymentGateway implements PaymentGateway {
+
+        final List<String> keys = new CopyOnWriteArrayList<>();
+        private volatile long delayMillis;
+        private volatile boolean failing;
+        private volatile CountDownLatch gate;
+
+        void respondAfter(long delayMillis) {
+            this.delayMillis = delayMillis;
+            this.failing = false;
+            this.gate = null;
+        }
+
+        // Orders wait until release(), so the test decides when the gateway answers
+        void holdUntilReleased() {
+            respondAfter(0);
+            this.gate = new CountDownLatch(1);
+        }
+
+        void release() {
+            gate.countDown();
+        }
+
+        boolean isHolding() {
+            CountDownLatch current = gate;
+            return current != null && current.getCount() > 0;
+        }
+
+        void fail() {
+            this.failing = true;
+        }
+
+        @Override
+        public String createOrder(String idempotencyKey, long amountInPaise, String currency) {
+            keys.add(idempotencyKey);
+            if (failing) {
+                throw new PaymentGatewayException("Stub gateway is down");
+            }
+            try {
+                CountDownLatch current = gate;
+                if (current != null && !current.await(5, TimeUnit.SECONDS)) {
+                    throw new PaymentGatewayException("Stub gateway was never released");
+                }
+                Thread.sleep(delayMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new PaymentGatewayException("Interrupted", e);
+            }
+            return "order_stub_" + keys.size();
+        }
+
+        @Override
+        public Map<String, OrderStatus> fetchOrderStatuses(Collection<String> orderIds) {
+            return Map.of();
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.college.campusconnect.service;
+
+import com.college.campusconnect.entity.Category;
+import com.college.campusconnect.entity.Event;
+import com.college.campusconnect.entity.User;
+import com.college.campusconnect.repository.CategoryRepository;
+import com.college.campusconnect.repository.EventRepository;
+import com.college.campusconnect.repository.UserRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Both export formats for attendees whose details need quoting or look like formulas.
+ */
+@SpringBootTest
+class AttendeeExportServiceTest {
+
+    @Autowired
+    private AttendeeExportService attendeeExportService;
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void csvQuotesValuesAndNeutralisesFormulasInFreeTextOnly() throws Exception {
+        Event event = createFreeEvent();
+        User quoted = register(event, "=HYPERLINK(\"http://evil.test\")", "+91 98765 43210", "Arts, \"Design\"", 2);
+        User risky = register(event, "-Dash", "=1+2", "@Risky", null);
+
+        String[] lines = export(event, AttendeeExportService.Format.CSV).split("\r\n");
+
+        assertThat(lines).hasSize(3);
+        assertThat(lines[0]).isEqualTo(
+                "userId,name,email,mobileNumber,department,registrationNumber,year,gender,paymentStatus,registrationTime");
+        // The phone number is left as typed; the name and department are quoted, the formula defused
+        assertThat(lines[1]).startsWith(quoted.getId() + ",\"'=HYPERLINK(\"\"http://evil.test\"\")\","
+                + quoted.getEmail() + ",+91 98765 43210,\"Arts, \"\"Design\"\"\",,2,,PAID,");
+        // A "mobile number" that is not one is free text like the rest
+        assertThat(lines[2]).startsWith(risky.getId() + ",\"'-Dash\"," + risky.getEmail() + ",\"'=1+2\",\"'@Risky\",,,,PAID,");
+    }
+
+    @Test
+    void ndjsonWritesOneUnchangedObjectPerLine() throws Exception {
+        Event event = createFreeEvent();
+        User first = register(event, "=SUM(A1:A2)", "+91 98765 43210", "Physics", 3);
+        User second = register(event, "Plain Name", "9876543210", null, null);
+
+        String body = export(event, AttendeeExportService.Format.NDJSON);
+
+        assertThat(body).endsWith("\n");
+        String[] lines = body.split("\n");
+        assertThat(lines).hasSize(2);
+        JsonNode row = objectMapper.readTree(lines[0]);
+        assertThat(row.get("userId").asLong()).isEqualTo(first.getId());
+        assertThat(row.get("name").asText()).isEqualTo("=SUM(A1:A2)");
+        assertThat(row.get("mobileNumber").asText()).isEqualTo("+91 98765 43210");
+        assertThat(row.get("year").asInt()).isEqualTo(3);
+        assertThat(row.get("paymentStatus").asText()).isEqualTo("PAID");
+        assertThat(objectMapper.readTree(lines[1]).get("userId").asLong()).isEqualTo(second.getId());
+        assertThat(objectMapper.readTree(lines[1]).get("department").isNull()).isTrue();
+    }
+
+    private String export(Event event, AttendeeExportService.Format format) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        attendeeExportService.writeAttendees(event.getId(), format, out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    private User register(Event event, String name, String mobileNumber, String department, Integer year) {
+        User user = userRepository.save(User.builder()
+                .name(name)
+                .email("export." + System.nanoTime() + "@campus.test")
+                .password("not-a-real-hash")
+                .mobileNumber(mobileNumber)
+                .department(department)
+                .year(year)
+                .build());
+        eventService.registerForEvent(event.getId(), user.getEmail());
+        return user;
+    }
+
+    private Event createFreeEvent() {
+        Category category = new Category();
+        category.setName("Export " + System.nanoTime());
+        category = categoryRepository.save(category);
+
+        Event event = new Event();
+        event.setName("Guest Lecture");
+        event.setDescription("Free event used for the attendee export test");
+        event.setDateTime(LocalDateTime.now().plusDays(4));
+        event.setVenue("Lecture Hall 1");
+        event.setMaxAttendees(10);
+        event.setRegistrationPrice(0);
+        event.setCategory(category);
+        return eventRepository.save(event);
+    }
+}
@@ -0,0 +1,114 @@
+package com.college.campusconnect.service;
+
+import com.college.campusconnect.dto.AuthRequest;
+import com.college.campusconnect.entity.User;
+import com.college.campusconnect.exception.ServiceUnavailableException;
+import com.college.campusconnect.repository.RoleRepository;
+import com.college.campusconnect.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The hashing pool's back-pressure and metrics, and the cost upgrade on login. The
+ * application context runs with cost 5, so a hash stored with cost 4 is out of date.
+ */
+@SpringBootTest(properties = "auth.bcrypt.strength=5")
+class BoundedPasswordEncoderTest {
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Test
+    void refusesWorkBeyondTheQueue() throws Exception {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        // One thread, one queued call; cost 12 keeps the thread busy for a while
+        BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(12, 1, 1, registry);
+        ExecutorService callers = Executors.newFixedThreadPool(4);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<CompletableFuture<Boolean>> calls = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                calls.add(CompletableFuture.supplyAsync(() -> {
+                    try {
+                        start.await();
+                        encoder.encode("password");
+                        return true;
+                    } catch (ServiceUnavailableException e) {
+                        return false;
+                    } catch (InterruptedException e) {
+                        throw new IllegalStateException(e);
+                    }
+                }, callers));
+            }
+            start.countDown();
+
+            long succeeded = calls.stream().filter(CompletableFuture::join).count();
+            assertThat(succeeded).isBetween(1L, 2L);
+            assertThat(registry.get("auth.password.rejected").counter().count()).isEqualTo(4 - succeeded);
+            assertThat(registry.get("auth.password.time").tag("operation", "encode").timer().count())
+                    .isEqualTo(succeeded);
+            assertThat(registry.get("auth.password.queue.time").timer().count()).isEqualTo(succeeded);
+        } finally {
+            callers.shutdownNow();
+            callers.awaitTermination(10, TimeUnit.SECONDS);
+            encoder.destroy();
+        }
+    }
+
+    @Test
+    void checksPasswordsAndReportsOutdatedCosts() {
+        BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(5, 2, 10, new SimpleMeterRegistry());
+        try {
+            String hash = encoder.encode("secret");
+            assertThat(encoder.matches("secret", hash)).isTrue();
+            assertThat(encoder.matches("wrong", hash)).isFalse();
+            assertThat(encoder.upgradeEncoding(hash)).isFalse();
+            assertThat(encoder.upgradeEncoding(new BCryptPasswordEncoder(4).encode("secret"))).isTrue();
+        } finally {
+            encoder.destroy();
+        }
+    }
+
+    @Test
+    void loginRehashesPasswordsStoredWithALowerCost() {
+        String email = "rehash" + System.nanoTime() + "@password.test";
+        userRepository.save(User.builder()
+                .name("Rehash")
+                .email(email)
+                .password(new BCryptPasswordEncoder(4).encode("secret1"))
+                .roles(new HashSet<>(Set.of(roleRepository.findByName("ROLE_STUDENT").orElseThrow())))
+                .build());
+
+        AuthRequest request = new AuthRequest();
+        request.setEmail(email);
+        request.setPassword("secret1");
+        authService.login(request);
+
+        String stored = userRepository.findByEmail(email).orElseThrow().getPassword();
+        assertThat(stored).startsWith("$2a$05$");
+        assertThat(new BCryptPasswordEncoder().matches("secret1", stored)).isTrue();
+        // And the new hash works for the next login
+        assertThat(authService.login(request).getToken()).isNotBlank();
+    }
+}
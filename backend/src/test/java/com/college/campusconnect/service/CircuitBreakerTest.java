@@ -0,0 +1,40 @@
+package com.college.campusconnect.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The admission check agrees with tryAcquire, including while the half-open trial is out.
+ */
+class CircuitBreakerTest {
+
+    @Test
+    void halfOpenAdmitsNobodyElseWhileTheTrialIsOut() {
+        // Opens on the first failure and may be retried right away
+        CircuitBreaker breaker = new CircuitBreaker(1, 0);
+        breaker.recordFailure();
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(breaker.isCallPermitted()).isTrue();
+
+        assertThat(breaker.tryAcquire()).isTrue();
+        assertThat(breaker.getState()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+        assertThat(breaker.isCallPermitted()).isFalse();
+        assertThat(breaker.tryAcquire()).isFalse();
+
+        breaker.recordSuccess();
+        assertThat(breaker.isCallPermitted()).isTrue();
+        assertThat(breaker.tryAcquire()).isTrue();
+    }
+
+    @Test
+    void openRefusesUntilThePeriodIsOver() {
+        CircuitBreaker breaker = new CircuitBreaker(2, 60_000);
+        breaker.recordFailure();
+        assertThat(breaker.isCallPermitted()).isTrue();
+
+        breaker.recordFailure();
+        assertThat(breaker.isCallPermitted()).isFalse();
+        assertThat(breaker.tryAcquire()).isFalse();
+    }
+}
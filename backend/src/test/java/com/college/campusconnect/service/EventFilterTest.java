@@ -0,0 +1,158 @@
+package com.college.campusconnect.service;
+
+import com.college.campusconnect.dto.EventDto;
+import com.college.campusconnect.dto.EventFacets;
+import com.college.campusconnect.dto.EventFilter;
+import com.college.campusconnect.dto.EventPage;
+import com.college.campusconnect.dto.FacetCount;
+import com.college.campusconnect.entity.Category;
+import com.college.campusconnect.entity.Event;
+import com.college.campusconnect.repository.CategoryRepository;
+import com.college.campusconnect.repository.EventRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * Faceted listing and facet counts. Fixtures sit in a date window of their own, far in
+ * the future, so events created by other tests never fall inside it.
+ */
+@SpringBootTest
+class EventFilterTest {
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private EventFacetService eventFacetService;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private LocalDateTime windowStart;
+    private Category sports;
+    private Category music;
+
+    @BeforeEach
+    void setUp() {
+        String suffix = String.valueOf(System.nanoTime());
+        windowStart = LocalDateTime.now().plusYears(20).plusDays(System.nanoTime() % 1000 * 10);
+        sports = category("Sports " + suffix);
+        music = category("Music " + suffix);
+
+        event("Football Final", sports, "Athletics Club", 0, false, 1);
+        event("Cricket Nets", sports, "Athletics Club", 50, true, 2);
+        event("Chess Blitz", sports, "Chess Club", 0, false, 3);
+        event("Open Mic", music, "Music Club", 0, false, 4);
+        event("Band Night", music, "Music Club", 200, false, 5);
+        event("Unaffiliated Jam", music, null, 100, true, 6);
+        // Outside the window
+        event("Late Concert", music, "Music Club", 0, false, 30);
+    }
+
+    @Test
+    void filtersCombine() {
+        EventFilter filter = window();
+        assertThat(names(filter)).containsExactly(
+                "Football Final", "Cricket Nets", "Chess Blitz", "Open Mic", "Band Night", "Unaffiliated Jam");
+
+        filter.setCategories(List.of(sports.getId()));
+        filter.setPrice(EventFilter.FREE);
+        assertThat(names(filter)).containsExactly("Football Final", "Chess Blitz");
+
+        filter = window();
+        filter.setClubs(List.of("Music Club", "Chess Club"));
+        filter.setAvailable(true);
+        assertThat(names(filter)).containsExactly("Chess Blitz", "Open Mic", "Band Night");
+
+        filter = window();
+        filter.setMinPrice(60.0);
+        assertThat(names(filter)).containsExactly("Band Night", "Unaffiliated Jam");
+    }
+
+    @Test
+    void pagesFollowTheCursor() {
+        EventPage first = eventService.getFilteredEvents(window(), null, 4);
+        assertThat(first.getEvents()).extracting(EventDto::getName)
+                .containsExactly("Football Final", "Cricket Nets", "Chess Blitz", "Open Mic");
+        assertThat(first.getEvents()).allSatisfy(event -> assertThat(event.getCategoryName()).isNotNull());
+
+        EventPage second = eventService.getFilteredEvents(window(), first.getNextCursor(), 4);
+        assertThat(second.getEvents()).extracting(EventDto::getName).containsExactly("Band Night", "Unaffiliated Jam");
+        assertThat(second.getNextCursor()).isNull();
+    }
+
+    @Test
+    void facetCountsLeaveOutTheirOwnSelectionAndTakeOneQuery() {
+        EventFilter filter = window();
+        filter.setCategories(List.of(sports.getId()));
+        filter.setAvailable(true);
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        EventFacets facets = eventFacetService.getFacets(filter);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+
+        // Sports and available: Football Final, Chess Blitz
+        assertThat(facets.getTotal()).isEqualTo(2);
+        // Categories ignore the category selection: all available events per category
+        assertThat(facets.getCategories()).extracting(FacetCount::getLabel, FacetCount::getCount)
+                .containsExactly(tuple(music.getName(), 2L), tuple(sports.getName(), 2L));
+        assertThat(facets.getClubs()).extracting(FacetCount::getValue, FacetCount::getCount)
+                .containsExactly(tuple("Athletics Club", 1L), tuple("Chess Club", 1L));
+        assertThat(facets.getPrice()).extracting(FacetCount::getValue, FacetCount::getCount)
+                .containsExactly(tuple("free", 2L));
+        // Availability ignores the availability selection: Cricket Nets is full
+        assertThat(facets.getAvailability()).extracting(FacetCount::getValue, FacetCount::getCount)
+                .containsExactly(tuple("available", 2L), tuple("full", 1L));
+    }
+
+    private List<String> names(EventFilter filter) {
+        return eventService.getFilteredEvents(filter, null, 50).getEvents().stream()
+                .map(EventDto::getName)
+                .toList();
+    }
+
+    private EventFilter window() {
+        EventFilter filter = new EventFilter();
+        filter.setFrom(windowStart);
+        filter.setTo(windowStart.plusDays(7));
+        return filter;
+    }
+
+    private Category category(String name) {
+        Category category = new Category();
+        category.setName(name);
+        return categoryRepository.save(category);
+    }
+
+    private void event(String name, Category category, String club, double price, boolean full, int day) {
+        Event event = new Event();
+        event.setName(name);
+        event.setDescription("Facet fixture");
+        event.setOrganizingClub(club);
+        event.setDateTime(windowStart.plusDays(day));
+        event.setVenue("Ground");
+        event.setMaxAttendees(10);
+        event.setRegisteredCount(full ? 10 : 3);
+        event.setRegistrationPrice(price);
+        event.setCategory(category);
+        eventRepository.save(event);
+    }
+}
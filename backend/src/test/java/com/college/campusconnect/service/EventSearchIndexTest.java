@@ -0,0 +1,77 @@
+package com.college.campusconnect.service;
+
+import com.college.campusconnect.service.EventSearchIndex.Document;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EventSearchIndexTest {
+
+    @Test
+    void matchesEveryTokenAsWordOrPrefix() {
+        EventSearchIndex index = new EventSearchIndex();
+        index.put(new Document(1, "Spring Hackathon", "Build something in 24 hours", "Coding Club", "Main Lab", "Technology"));
+        index.put(new Document(2, "Robotics Workshop", "Hands-on robot building", "Robotics Society", "Workshop Hall", "Technology"));
+        index.put(new Document(3, "Music Night", "Live bands and an open mic", "Music Club", "Open Air Theatre", "Cultural"));
+
+        assertThat(index.search("hackathon", 10)).containsExactly(1L);
+        assertThat(index.search("hack", 10)).containsExactly(1L);
+        assertThat(index.search("technology", 10)).containsExactlyInAnyOrder(1L, 2L);
+        assertThat(index.search("club", 10)).containsExactlyInAnyOrder(1L, 3L);
+        // Every token has to match
+        assertThat(index.search("robot hall", 10)).containsExactly(2L);
+        assertThat(index.search("robot music", 10)).isEmpty();
+        // Case and accents don't matter, punctuation separates
+        assertThat(index.search("MÚSIC-night!", 10)).containsExactly(3L);
+        // One- and two-letter tokens only match whole words
+        assertThat(index.search("mu", 10)).isEmpty();
+        assertThat(index.search("mus", 10)).containsExactly(3L);
+        assertThat(index.search("  ", 10)).isEmpty();
+    }
+
+    @Test
+    void ranksNameAboveDescriptionAndWholeWordsAbovePrefixes() {
+        EventSearchIndex index = new EventSearchIndex();
+        index.put(new Document(1, "Guest Lecture", "A talk followed by a quiz", null, "Seminar Hall", "Academic"));
+        index.put(new Document(2, "Quiz Championship", "Inter-college finals", "Quiz Club", "Auditorium", "Academic"));
+        index.put(new Document(3, "Quizzing Basics", "Learn how to prepare", null, "Room 12", "Academic"));
+
+        assertThat(index.search("quiz", 10)).containsExactly(2L, 3L, 1L);
+        assertThat(index.search("quiz", 2)).containsExactly(2L, 3L);
+    }
+
+    @Test
+    void followsUpdatesAndRemovals() {
+        EventSearchIndex index = new EventSearchIndex();
+        index.put(new Document(1, "Chess Open", "Rapid format", null, "Library", "Sports"));
+        index.put(new Document(2, "Chess Simul", "One against many", null, "Library", "Sports"));
+
+        index.put(new Document(1, "Carrom Open", "Doubles", null, "Common Room", "Sports"));
+        assertThat(index.search("chess", 10)).containsExactly(2L);
+        assertThat(index.search("carrom", 10)).containsExactly(1L);
+
+        index.remove(2);
+        assertThat(index.search("chess", 10)).isEmpty();
+        assertThat(index.search("library", 10)).isEmpty();
+        assertThat(index.size()).isEqualTo(1);
+    }
+
+    @Test
+    void compactionKeepsResultsIntact() {
+        EventSearchIndex index = new EventSearchIndex();
+        for (int round = 0; round < 5; round++) {
+            for (long id = 1; id <= 1000; id++) {
+                String parity = id % 2 == 0 ? "alpha" : "beta";
+                index.put(new Document(id, "Event " + id + " round" + round, parity, null, "Hall", "General"));
+            }
+        }
+
+        assertThat(index.size()).isEqualTo(1000);
+        assertThat(index.search("round4", 2000)).hasSize(1000);
+        assertThat(index.search("round3", 10)).isEmpty();
+        assertThat(index.search("alpha", 2000)).hasSize(500);
+        assertThat(index.search("event 42", 20)).containsExactly(42L);
+        // 420 itself, then 4200-4209 would follow by prefix; only 420 exists
+        assertThat(index.search("event 420", 20)).containsExactly(420L);
+    }
+}
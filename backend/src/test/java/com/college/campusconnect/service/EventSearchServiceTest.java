@@ -0,0 +1,70 @@
+package com.college.campusconnect.service;
+
+import com.college.campusconnect.dto.CategoryDto;
+import com.college.campusconnect.dto.EventDto;
+import com.college.campusconnect.dto.EventRequest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The search index follows event and category changes made through the admin services.
+ */
+@SpringBootTest
+class EventSearchServiceTest {
+
+    @Autowired
+    private EventSearchService eventSearchService;
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private CategoryService categoryService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void indexFollowsAdminChanges() {
+        CategoryDto category = new CategoryDto();
+        category.setName("Astronomy " + System.nanoTime());
+        category = categoryService.createCategory(category);
+
+        EventDto created = eventService.createEvent(request("Stargazing Evening", "Telescopes on the roof", category.getId()));
+        assertThat(eventSearchService.search("stargaz", 10)).extracting(EventDto::getId).containsExactly(created.getId());
+        assertThat(eventSearchService.search("telescopes roof", 10)).extracting(EventDto::getName).containsExactly("Stargazing Evening");
+
+        // In a request the open session maps the lazy category; here a transaction stands in for it,
+        // which also means the index is only updated once it commits
+        CategoryDto current = category;
+        transactionTemplate.executeWithoutResult(status ->
+                eventService.updateEvent(created.getId(), request("Planetarium Visit", "Bus leaves at noon", current.getId())));
+        assertThat(eventSearchService.search("stargazing", 10)).isEmpty();
+        assertThat(eventSearchService.search("planetarium", 10)).extracting(EventDto::getId).containsExactly(created.getId());
+
+        CategoryDto renamed = new CategoryDto();
+        renamed.setName("Cosmology " + System.nanoTime());
+        categoryService.updateCategory(category.getId(), renamed);
+        assertThat(eventSearchService.search("cosmology planetarium", 10)).extracting(EventDto::getId).containsExactly(created.getId());
+
+        eventService.deleteEvent(created.getId());
+        assertThat(eventSearchService.search("planetarium", 10)).isEmpty();
+    }
+
+    private static EventRequest request(String name, String description, Long categoryId) {
+        EventRequest request = new EventRequest();
+        request.setName(name);
+        request.setDescription(description);
+        request.setDateTime(LocalDateTime.now().plusDays(10));
+        request.setVenue("Rooftop");
+        request.setMaxAttendees(30);
+        request.setCategoryId(categoryId);
+        return request;
+    }
+}
@@ -0,0 +1,118 @@
+package com.college.campusconnect.service;
+
+import com.college.campusconnect.entity.PosterAsset;
+import com.college.campusconnect.exception.PayloadTooLargeException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockMultipartFile;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.GradientPaint;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Poster uploads against the local-directory storage: downscaling, thumbnails,
+ * deduplication of identical files and the size cap.
+ */
+@SpringBootTest(properties = "storage.posters.max-size=3MB")
+class FileStorageServiceTest {
+
+    @Autowired
+    private FileStorageService fileStorageService;
+
+    @Autowired
+    private LocalPosterStorage localPosterStorage;
+
+    @Test
+    void downscalesAndDeduplicatesIdenticalUploads() throws IOException {
+        byte[] jpeg = poster(4000, 2500, "jpeg");
+
+        PosterAsset first = fileStorageService.storeFile(upload("poster.jpg", "image/jpeg", jpeg));
+        BufferedImage stored = read(first.getUrl());
+        BufferedImage thumbnail = read(first.getThumbnailUrl());
+
+        assertThat(stored.getWidth()).isEqualTo(1600);
+        assertThat(stored.getHeight()).isEqualTo(1000);
+        assertThat(Math.max(thumbnail.getWidth(), thumbnail.getHeight())).isEqualTo(400);
+
+        long filesBefore = fileCount();
+        PosterAsset again = fileStorageService.storeFile(upload("same-poster.jpg", "image/jpeg", jpeg));
+
+        assertThat(again.getId()).isEqualTo(first.getId());
+        assertThat(again.getUrl()).isEqualTo(first.getUrl());
+        assertThat(fileCount()).isEqualTo(filesBefore);
+    }
+
+    @Test
+    void keepsTransparencyAsPng() throws IOException {
+        PosterAsset asset = fileStorageService.storeFile(upload("logo.png", "image/png", poster(800, 800, "png")));
+
+        assertThat(asset.getUrl()).endsWith(".png");
+        assertThat(read(asset.getUrl()).getColorModel().hasAlpha()).isTrue();
+    }
+
+    @Test
+    void storesUndecodableFilesAsTheyAre() throws IOException {
+        byte[] content = "not really an image".getBytes();
+
+        PosterAsset asset = fileStorageService.storeFile(upload("poster.webp", "image/webp", content));
+
+        assertThat(asset.getThumbnailUrl()).isNull();
+        assertThat(Files.readAllBytes(stored(asset.getUrl()))).isEqualTo(content);
+    }
+
+    @Test
+    void rejectsFilesOverTheCap() {
+        byte[] content = new byte[4 * 1024 * 1024];
+        new Random(7).nextBytes(content);
+
+        assertThatThrownBy(() -> fileStorageService.storeFile(upload("huge.jpg", "image/jpeg", content)))
+                .isInstanceOf(PayloadTooLargeException.class);
+    }
+
+    private static MockMultipartFile upload(String name, String contentType, byte[] content) {
+        return new MockMultipartFile("file", name, contentType, content);
+    }
+
+    // A gradient with a translucent block, so PNGs carry real alpha
+    private static byte[] poster(int width, int height, String format) throws IOException {
+        boolean alpha = format.equals("png");
+        BufferedImage image = new BufferedImage(width, height, alpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = image.createGraphics();
+        graphics.setPaint(new GradientPaint(0, 0, Color.MAGENTA, width, height, Color.CYAN));
+        graphics.fillRect(0, 0, width, height);
+        graphics.setColor(new Color(0, 0, 0, 96));
+        graphics.fillRect(width / 4, height / 4, width / 2, height / 2);
+        graphics.dispose();
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, format, out);
+        return out.toByteArray();
+    }
+
+    private BufferedImage read(String url) throws IOException {
+        return ImageIO.read(stored(url).toFile());
+    }
+
+    private Path stored(String url) {
+        return localPosterStorage.getDirectory().resolve(url.substring(LocalPosterStorage.URL_PREFIX.length()));
+    }
+
+    private long fileCount() throws IOException {
+        try (Stream<Path> files = Files.list(localPosterStorage.getDirectory())) {
+            return files.count();
+        }
+    }
+}
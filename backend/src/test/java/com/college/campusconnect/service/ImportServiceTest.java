@@ -0,0 +1,157 @@
+package com.college.campusconnect.service;
+
+import com.college.campusconnect.dto.ImportResult;
+import com.college.campusconnect.dto.ImportRowResult;
+import com.college.campusconnect.entity.Category;
+import com.college.campusconnect.entity.Event;
+import com.college.campusconnect.entity.Role;
+import com.college.campusconnect.entity.User;
+import com.college.campusconnect.exception.BadRequestException;
+import com.college.campusconnect.repository.CategoryRepository;
+import com.college.campusconnect.repository.EventRepository;
+import com.college.campusconnect.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+@SpringBootTest(properties = "import.chunk-size=20")
+class ImportServiceTest {
+
+    @Autowired
+    private ImportService importService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void importsUsersAndReportsEachRow() throws IOException {
+        String prefix = "import" + System.nanoTime();
+        userRepository.save(User.builder()
+                .name("Existing")
+                .email(prefix + "-taken@import.test")
+                .password("not-a-real-hash")
+                .build());
+
+        ImportResult result = importService.importUsers(csv("""
+                Email,name,password,mobileNumber,year
+                %1$s-a@import.test,"Doe, Jane",secret1,9000000001,2
+                %1$s-b@import.test,John,secret2,9000000002,
+                %1$s-a@import.test,Again,secret3,9000000003,1
+                %1$s-taken@import.test,Taken,secret4,9000000004,1
+                not-an-email,Bad,secret5,9000000005,1
+                %1$s-c@import.test,Short,123,9000000006,first
+                %1$s-d@import.test,Too,many,fields,1,extra
+                """.formatted(prefix)));
+
+        assertThat(result.getCreated()).isEqualTo(2);
+        assertThat(result.getFailed()).isEqualTo(5);
+        assertThat(result.getRows()).extracting(ImportRowResult::getLine, ImportRowResult::getStatus).containsExactly(
+                tuple(2, "CREATED"), tuple(3, "CREATED"), tuple(4, "FAILED"), tuple(5, "FAILED"),
+                tuple(6, "FAILED"), tuple(7, "FAILED"), tuple(8, "FAILED"));
+        assertThat(result.getRows().get(2).getError()).contains("earlier in the file");
+        assertThat(result.getRows().get(3).getError()).contains("already taken");
+        assertThat(result.getRows().get(4).getError()).contains("email");
+        assertThat(result.getRows().get(5).getError()).contains("year");
+
+        User jane = userRepository.findByEmail(prefix + "-a@import.test").orElseThrow();
+        assertThat(jane.getId()).isEqualTo(result.getRows().get(0).getId());
+        assertThat(jane.getName()).isEqualTo("Doe, Jane");
+        assertThat(jane.getYear()).isEqualTo(2);
+        assertThat(passwordEncoder.matches("secret1", jane.getPassword())).isTrue();
+        assertThat(jane.getRoles()).extracting(Role::getName).containsExactly("ROLE_STUDENT");
+        assertThat(userRepository.findByEmail(prefix + "-b@import.test").orElseThrow().getYear()).isNull();
+    }
+
+    @Test
+    void insertsAChunkInBatches() throws IOException {
+        String prefix = "batch" + System.nanoTime();
+        StringBuilder file = new StringBuilder("name,email,password,mobileNumber\n");
+        for (int i = 0; i < 20; i++) {
+            file.append("Student ").append(i).append(',').append(prefix).append('-').append(i)
+                    .append("@import.test,secret").append(i).append(",9000000000\n");
+        }
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        ImportResult result = importService.importUsers(csv(file.toString()));
+
+        assertThat(result.getCreated()).isEqualTo(20);
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(20);
+        // Email check, role lookup, id generator, one batch of users and one of user_roles;
+        // with IDENTITY ids this would take a statement per user
+        assertThat(statistics.getPrepareStatementCount()).isLessThan(10);
+    }
+
+    @Test
+    void importsEventsWithQuotedFields() throws IOException {
+        Category category = new Category();
+        category.setName("Import " + System.nanoTime());
+        category = categoryRepository.save(category);
+        LocalDateTime when = LocalDateTime.now().plusMonths(2).withNano(0);
+
+        ImportResult result = importService.importEvents(csv("""
+                name,description,dateTime,venue,maxAttendees,registrationPrice,categoryId
+                Orientation Talk,"Welcome talk.
+                Bring your ID, and a \"\"pen\"\"",%1$s,Main Hall,300,,%2$d
+                Paid Tour,Campus tour,%1$s,Gate 1,40,150.5,%2$d
+                Lost Event,Nowhere,%1$s,Gate 2,40,0,999999
+                Past Event,Too late,2001-01-01T10:00,Gate 3,40,0,%2$d
+                Bad Seats,Oops,%1$s,Gate 4,lots,0,%2$d
+                """.formatted(when, category.getId())));
+
+        assertThat(result.getRows()).extracting(ImportRowResult::getLine, ImportRowResult::getStatus).containsExactly(
+                tuple(2, "CREATED"), tuple(4, "CREATED"), tuple(5, "FAILED"), tuple(6, "FAILED"), tuple(7, "FAILED"));
+        assertThat(result.getRows().get(2).getError()).contains("Category 999999");
+        assertThat(result.getRows().get(3).getError()).contains("dateTime");
+        assertThat(result.getRows().get(4).getError()).contains("maxAttendees");
+
+        Event talk = eventRepository.findById(result.getRows().get(0).getId()).orElseThrow();
+        assertThat(talk.getDescription()).isEqualTo("Welcome talk.\nBring your ID, and a \"pen\"");
+        assertThat(talk.getDateTime()).isEqualTo(when);
+        assertThat(talk.getMaxAttendees()).isEqualTo(300);
+        assertThat(eventRepository.findById(result.getRows().get(1).getId()).orElseThrow().getRegistrationPrice())
+                .isEqualTo(150.5);
+    }
+
+    @Test
+    void rejectsFilesWithUnusableHeaders() {
+        assertThatThrownBy(() -> importService.importUsers(csv("name,emial,password,mobileNumber\n")))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageContaining("emial");
+        assertThatThrownBy(() -> importService.importUsers(csv("name,password\n")))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageContaining("email, mobileNumber");
+        assertThatThrownBy(() -> importService.importEvents(csv("")))
+                .isInstanceOf(BadRequestException.class);
+    }
+
+    private static InputStream csv(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,252 @@
+package com.college.campusconnect.service;
+
+import com.college.campusconnect.dto.RefundDuePayment;
+import com.college.campusconnect.dto.RegistrationStatusDto;
+import com.college.campusconnect.entity.Category;
+import com.college.campusconnect.entity.Event;
+import com.college.campusconnect.entity.Registration;
+import com.college.campusconnect.entity.User;
+import com.college.campusconnect.exception.PaidWithoutSeatException;
+import com.college.campusconnect.repository.CategoryRepository;
+import com.college.campusconnect.repository.EventRepository;
+import com.college.campusconnect.repository.RegistrationRepository;
+import com.college.campusconnect.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Runs the reconciler against a fake gateway over a mix of PENDING registrations,
+ * with a batch size small enough to need several keyset pages.
+ */
+@SpringBootTest(properties = {
+        "payment.reconcile.enabled=false",
+        "payment.reconcile.batch-size=2",
+        "payment.reconcile.min-age=2m",
+        "payment.reconcile.pending-ttl=30m"
+})
+class PaymentReconciliationServiceTest {
+
+    @Autowired
+    private PaymentReconciliationService reconciliationService;
+
+    @Autowired
+    private FakePaymentGateway gateway;
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RegistrationRepository registrationRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void settlesPendingRegistrationsAndReleasesSeats() {
+        Event event = createPaidEvent(10);
+        LocalDateTime now = LocalDateTime.now();
+
+        Registration paid = pending(event, "paid", "order_paid", now.minusMinutes(10));
+        Registration abandoned = pending(event, "abandoned", "order_abandoned", now.minusHours(2));
+        Registration checkingOut = pending(event, "checking-out", "order_open", now.minusMinutes(10));
+        Registration unknown = pending(event, "unknown", "order_unknown", now.minusMinutes(10));
+        Registration fresh = pending(event, "fresh", "order_fresh", now);
+        Registration orphan = pending(event, "orphan", null, now.minusHours(1));
+
+        gateway.set("order_paid", PaymentGateway.OrderState.PAID, "pay_123");
+        gateway.set("order_abandoned", PaymentGateway.OrderState.UNPAID, null);
+        gateway.set("order_open", PaymentGateway.OrderState.UNPAID, null);
+        gateway.set("order_unknown", PaymentGateway.OrderState.NOT_FOUND, null);
+        gateway.set("order_fresh", PaymentGateway.OrderState.NOT_FOUND, null);
+        assertThat(seatsTaken(event)).isEqualTo(6);
+        double expiredBefore = expiredCount();
+
+        int settled = reconciliationService.reconcile();
+
+        assertThat(settled).isEqualTo(4);
+        assertThat(status(paid)).isEqualTo("PAID");
+        assertThat(registrationRepository.findById(paid.getId()).orElseThrow().getRazorpayPaymentId()).isEqualTo("pay_123");
+        assertThat(status(abandoned)).isEqualTo("EXPIRED");
+        assertThat(status(checkingOut)).isEqualTo("PENDING");
+        assertThat(status(unknown)).isEqualTo("FAILED");
+        assertThat(status(fresh)).isEqualTo("PENDING");
+        assertThat(status(orphan)).isEqualTo("EXPIRED");
+        assertThat(seatsTaken(event)).isEqualTo(3);
+
+        // Meters and the database are shared with the other tests, so compare relative values
+        assertThat(expiredCount() - expiredBefore).isEqualTo(2);
+        assertThat(meterRegistry.get("payments.reconciler.backlog").gauge().value()).isGreaterThanOrEqualTo(2);
+
+        // A second pass has nothing left to do
+        assertThat(reconciliationService.reconcile()).isZero();
+        assertThat(seatsTaken(event)).isEqualTo(3);
+
+        // The expired registration can register again, reusing its row and taking a seat
+        RegistrationStatusDto again = eventService.registerForEvent(event.getId(), "abandoned@reconcile.test");
+        assertThat(again.getRegistrationId()).isEqualTo(abandoned.getId());
+        assertThat(again.getStatus()).isEqualTo("PENDING");
+        assertThat(seatsTaken(event)).isEqualTo(4);
+    }
+
+    @Test
+    void lateVerificationOfExpiredRegistrationTakesTheSeatBack() {
+        Event event = createPaidEvent(10);
+        Registration late = pending(event, "late-payer", "order_late", LocalDateTime.now().minusHours(2));
+        gateway.set("order_late", PaymentGateway.OrderState.UNPAID, null);
+
+        reconciliationService.reconcile();
+        assertThat(status(late)).isEqualTo("EXPIRED");
+        assertThat(seatsTaken(event)).isZero();
+
+        eventService.confirmPayment("order_late", "pay_late");
+
+        assertThat(status(late)).isEqualTo("PAID");
+        assertThat(seatsTaken(event)).isEqualTo(1);
+    }
+
+    @Test
+    void latePaymentWithNoSeatLeftIsKeptForRefund() {
+        Event event = createPaidEvent(1);
+        Registration late = pending(event, "no-seat-payer", "order_no_seat", LocalDateTime.now().minusHours(2));
+        gateway.set("order_no_seat", PaymentGateway.OrderState.UNPAID, null);
+
+        reconciliationService.reconcile();
+        assertThat(status(late)).isEqualTo("EXPIRED");
+        // Someone else takes the freed seat before the payment arrives
+        pending(event, "seat-taker", "order_seat_taker", LocalDateTime.now());
+
+        assertThatThrownBy(() -> eventService.confirmPayment("order_no_seat", "pay_no_seat"))
+                .isInstanceOf(PaidWithoutSeatException.class);
+
+        // Stored despite the refusal, and listed for a refund
+        Registration stored = registrationRepository.findById(late.getId()).orElseThrow();
+        assertThat(stored.getPaymentStatus()).isEqualTo("REFUND_DUE");
+        assertThat(stored.getRazorpayPaymentId()).isEqualTo("pay_no_seat");
+        assertThat(eventService.getRefundDuePayments())
+                .extracting(RefundDuePayment::getRazorpayPaymentId)
+                .contains("pay_no_seat");
+
+        // A redelivery after a seat frees up still does not take it
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> eventRepository.releaseSeats(event.getId(), 1));
+        assertThatThrownBy(() -> eventService.confirmPayment("order_no_seat", "pay_no_seat"))
+                .isInstanceOf(PaidWithoutSeatException.class);
+        assertThat(seatsTaken(event)).isZero();
+    }
+
+    // A PENDING registration holding a seat, as registerForEvent would have left it
+    private Registration pending(Event event, String name, String orderId, LocalDateTime registeredAt) {
+        User user = userRepository.save(User.builder()
+                .name(name)
+                .email(name + "@reconcile.test")
+                .password("not-a-real-hash")
+                .build());
+        return new TransactionTemplate(transactionManager).execute(status -> {
+            eventRepository.reserveSeat(event.getId());
+            return registrationRepository.save(Registration.builder()
+                    .user(user)
+                    .event(event)
+                    .razorpayOrderId(orderId)
+                    .paymentStatus("PENDING")
+                    .amountPaid(event.getRegistrationPrice())
+                    .registrationTime(registeredAt)
+                    .build());
+        });
+    }
+
+    private double expiredCount() {
+        return meterRegistry.get("payments.reconciler.resolved").tag("outcome", "expired").counter().count();
+    }
+
+    private String status(Registration registration) {
+        return registrationRepository.findById(registration.getId()).orElseThrow().getPaymentStatus();
+    }
+
+    private int seatsTaken(Event event) {
+        return eventRepository.findById(event.getId()).orElseThrow().getRegisteredCount();
+    }
+
+    private Event createPaidEvent(int seats) {
+        Category category = new Category();
+        category.setName("Reconcile " + System.nanoTime());
+        category = categoryRepository.save(category);
+
+        Event event = new Event();
+        event.setName("Paid Seminar");
+        event.setDescription("Paid event used for the reconciliation test");
+        event.setDateTime(LocalDateTime.now().plusDays(5));
+        event.setVenue("Seminar Hall");
+        event.setMaxAttendees(seats);
+        event.setRegistrationPrice(150);
+        event.setCategory(category);
+        return eventRepository.save(event);
+    }
+
+    @TestConfiguration
+    static class FakeGatewayConfig {
+
+        @Bean
+        @Primary
+        FakePaymentGateway fakePaymentGateway() {
+            return new FakePaymentGateway();
+        }
+    }
+
+    /**
+     * Order states set by the test; new orders are never needed here.
+     */
+    static class FakePaymentGateway implements PaymentGateway {
+
+        private final Map<String, OrderStatus> orders = new ConcurrentHashMap<>();
+
+        void set(String orderId, OrderState state, String paymentId) {
+            orders.put(orderId, new OrderStatus(state, paymentId));
+        }
+
+        @Override
+        public String createOrder(String idempotencyKey, long amountInPaise, String currency) {
+            String orderId = "order_fake_" + idempotencyKey;
+            set(orderId, OrderState.UNPAID, null);
+            return orderId;
+        }
+
+        @Override
+        public Map<String, OrderStatus> fetchOrderStatuses(Collection<String> orderIds) {
+            Map<String, OrderStatus> result = new HashMap<>();
+            for (String orderId : orderIds) {
+                OrderStatus status = orders.get(orderId);
+                if (status != null) {
+                    result.put(orderId, status);
+                }
+            }
+            return result;
+        }
+    }
+}
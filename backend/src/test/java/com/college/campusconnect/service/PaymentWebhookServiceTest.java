@@ -0,0 +1,225 @@
+package com.college.campusconnect.service;
+
+import com.college.campusconnect.entity.Category;
+import com.college.campusconnect.entity.Event;
+import com.college.campusconnect.entity.PaymentWebhookEvent;
+import com.college.campusconnect.entity.Registration;
+import com.college.campusconnect.entity.User;
+import com.college.campusconnect.exception.BadRequestException;
+import com.college.campusconnect.repository.CategoryRepository;
+import com.college.campusconnect.repository.EventRepository;
+import com.college.campusconnect.repository.PaymentWebhookEventRepository;
+import com.college.campusconnect.repository.RegistrationRepository;
+import com.college.campusconnect.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+/**
+ * Webhook ingestion and the batch consumer, with the scheduled consumer switched off so
+ * the test decides when the inbox is drained.
+ */
+@SpringBootTest(properties = {
+        "payment.webhooks.consumer-enabled=false",
+        "payment.webhooks.batch-size=2"
+})
+class PaymentWebhookServiceTest {
+
+    private static final String SECRET = "test-webhook-secret";
+
+    @Autowired
+    private PaymentWebhookService webhookService;
+
+    @Autowired
+    private PaymentWebhookEventRepository webhookEventRepository;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RegistrationRepository registrationRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void appliesEachPaymentOnceWhateverTheDeliveries() {
+        Event event = createPaidEvent(5);
+        Registration registration = pending(event, "hook-payer", "order_hook_1", "PENDING");
+
+        String captured = capture("payment.captured", "pay_hook_1", "order_hook_1");
+        assertThat(webhookService.ingest(captured, sign(captured), "evt_hook_1")).isTrue();
+        // Redelivery of the same event is dropped at the door
+        assertThat(webhookService.ingest(captured, sign(captured), "evt_hook_1")).isFalse();
+        // order.paid for the same payment is a separate event but the same payment
+        String orderPaid = capture("order.paid", "pay_hook_1", "order_hook_1");
+        webhookService.ingest(orderPaid, sign(orderPaid), "evt_hook_2");
+        String failed = capture("payment.failed", "pay_hook_0", "order_hook_1");
+        webhookService.ingest(failed, sign(failed), "evt_hook_3");
+        String foreign = capture("payment.captured", "pay_hook_9", "order_not_ours");
+        webhookService.ingest(foreign, sign(foreign), "evt_hook_4");
+
+        assertThat(registrationRepository.findById(registration.getId()).orElseThrow().getPaymentStatus()).isEqualTo("PENDING");
+
+        webhookService.drain();
+
+        Registration paid = registrationRepository.findById(registration.getId()).orElseThrow();
+        assertThat(paid.getPaymentStatus()).isEqualTo("PAID");
+        assertThat(paid.getRazorpayPaymentId()).isEqualTo("pay_hook_1");
+        assertThat(outcome("evt_hook_1")).isEqualTo("PAID");
+        assertThat(outcome("evt_hook_2")).isEqualTo("DUPLICATE");
+        assertThat(outcome("evt_hook_3")).isEqualTo("IGNORED");
+        assertThat(outcome("evt_hook_4")).isEqualTo("IGNORED");
+        assertThat(webhookEventRepository.countByProcessedAtIsNull()).isZero();
+        assertThat(seatsTaken(event)).isEqualTo(1);
+    }
+
+    @Test
+    void captureForAnExpiredRegistrationTakesTheSeatBack() {
+        Event event = createPaidEvent(5);
+        Registration registration = pending(event, "hook-late", "order_hook_late", "EXPIRED");
+        assertThat(seatsTaken(event)).isZero();
+
+        String captured = capture("payment.captured", "pay_hook_late", "order_hook_late");
+        webhookService.ingest(captured, sign(captured), "evt_hook_late");
+        webhookService.drain();
+
+        assertThat(registrationRepository.findById(registration.getId()).orElseThrow().getPaymentStatus()).isEqualTo("PAID");
+        assertThat(seatsTaken(event)).isEqualTo(1);
+    }
+
+    @Test
+    void rejectsBadSignatures() {
+        String captured = capture("payment.captured", "pay_hook_forged", "order_hook_forged");
+
+        assertThatThrownBy(() -> webhookService.ingest(captured, sign(captured + " "), "evt_hook_forged"))
+                .isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> webhookService.ingest(captured, null, "evt_hook_forged"))
+                .isInstanceOf(BadRequestException.class);
+    }
+
+    @Test
+    void ingestionDoesNotWaitForTheRegistrationRow() throws Exception {
+        Event event = createPaidEvent(5);
+        Registration registration = pending(event, "hook-locked", "order_hook_locked", "PENDING");
+
+        // Another transaction holds the registration row, as a slow update would
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Void> holder = CompletableFuture.runAsync(() ->
+                new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                    jdbcTemplate.update("update registrations set amount_paid = amount_paid where id = ?", registration.getId());
+                    locked.countDown();
+                    try {
+                        release.await(30, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }));
+        assertThat(locked.await(10, TimeUnit.SECONDS)).isTrue();
+
+        try {
+            String captured = capture("payment.captured", "pay_hook_locked", "order_hook_locked");
+            assertTimeoutPreemptively(Duration.ofSeconds(2),
+                    () -> webhookService.ingest(captured, sign(captured), "evt_hook_locked"));
+        } finally {
+            release.countDown();
+            holder.get(10, TimeUnit.SECONDS);
+        }
+
+        webhookService.drain();
+        assertThat(registrationRepository.findById(registration.getId()).orElseThrow().getPaymentStatus()).isEqualTo("PAID");
+    }
+
+    private String outcome(String eventId) {
+        return webhookEventRepository.findAll().stream()
+                .filter(event -> eventId.equals(event.getEventId()))
+                .map(PaymentWebhookEvent::getOutcome)
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private static String capture(String type, String paymentId, String orderId) {
+        return """
+                {"entity":"event","event":"%s","payload":{"payment":{"entity":{"id":"%s","order_id":"%s","status":"captured"}}}}"""
+                .formatted(type, paymentId, orderId);
+    }
+
+    private static String sign(String payload) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(SECRET.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+            return HexFormat.of().formatHex(mac.doFinal(payload.getBytes(StandardCharsets.UTF_8)));
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // A registration with an order, holding a seat only while PENDING
+    private Registration pending(Event event, String name, String orderId, String paymentStatus) {
+        User user = userRepository.save(User.builder()
+                .name(name)
+                .email(name + "@webhook.test")
+                .password("not-a-real-hash")
+                .build());
+        return new TransactionTemplate(transactionManager).execute(status -> {
+            if ("PENDING".equals(paymentStatus)) {
+                eventRepository.reserveSeat(event.getId());
+            }
+            return registrationRepository.save(Registration.builder()
+                    .user(user)
+                    .event(event)
+                    .razorpayOrderId(orderId)
+                    .paymentStatus(paymentStatus)
+                    .amountPaid(event.getRegistrationPrice())
+                    .registrationTime(LocalDateTime.now().minusHours(1))
+                    .build());
+        });
+    }
+
+    private int seatsTaken(Event event) {
+        return eventRepository.findById(event.getId()).orElseThrow().getRegisteredCount();
+    }
+
+    private Event createPaidEvent(int seats) {
+        Category category = new Category();
+        category.setName("Webhook " + System.nanoTime());
+        category = categoryRepository.save(category);
+
+        Event event = new Event();
+        event.setName("Paid Workshop");
+        event.setDescription("Paid event used for the webhook test");
+        event.setDateTime(LocalDateTime.now().plusDays(5));
+        event.setVenue("Lab 2");
+        event.setMaxAttendees(seats);
+        event.setRegistrationPrice(200);
+        event.setCategory(category);
+        return eventRepository.save(event);
+    }
+}
@@ -0,0 +1,29 @@
+package com.college.campusconnect.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Page sizes from the request are clamped before they name a rendered response, so out-of-range
+ * sizes share one entry instead of each keeping its own copy.
+ */
+@SpringBootTest
+class PublicResponseCacheTest {
+
+    @Autowired
+    private PublicResponseCache publicResponseCache;
+
+    @Test
+    void outOfRangeSizesShareTheClampedResponse() {
+        PublicResponseCache.RenderedJson largest = publicResponseCache.getUpcomingEvents(EventService.MAX_PAGE_SIZE);
+        assertThat(publicResponseCache.getUpcomingEvents(EventService.MAX_PAGE_SIZE + 1)).isSameAs(largest);
+        assertThat(publicResponseCache.getUpcomingEvents(1_000_000)).isSameAs(largest);
+
+        PublicResponseCache.RenderedJson smallest = publicResponseCache.getUpcomingEvents(1);
+        assertThat(publicResponseCache.getUpcomingEvents(0)).isSameAs(smallest);
+        assertThat(publicResponseCache.getUpcomingEvents(-5)).isSameAs(smallest);
+    }
+}
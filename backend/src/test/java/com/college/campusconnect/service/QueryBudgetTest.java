@@ -0,0 +1,151 @@
+package com.college.campusconnect.service;
+
+import com.college.campusconnect.dto.EventDto;
+import com.college.campusconnect.dto.UserDto;
+import com.college.campusconnect.entity.Category;
+import com.college.campusconnect.entity.Event;
+import com.college.campusconnect.entity.Registration;
+import com.college.campusconnect.entity.Role;
+import com.college.campusconnect.entity.User;
+import com.college.campusconnect.repository.CategoryRepository;
+import com.college.campusconnect.repository.EventRepository;
+import com.college.campusconnect.repository.RegistrationRepository;
+import com.college.campusconnect.repository.RoleRepository;
+import com.college.campusconnect.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Guards the registration listing paths against N+1 regressions: each one must issue
+ * a fixed number of SQL statements no matter how many rows it returns, as counted by
+ * Hibernate statistics.
+ */
+@SpringBootTest
+class QueryBudgetTest {
+
+    private static final int EVENTS = 12;
+    private static final int ATTENDEES = 25;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private UserCache userCache;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private RegistrationRepository registrationRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private User student;
+    private Event popularEvent;
+
+    @BeforeEach
+    void setUp() {
+        String suffix = String.valueOf(System.nanoTime());
+        Role role = roleRepository.findByName("ROLE_STUDENT").orElseThrow();
+
+        List<Category> categories = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            Category category = new Category();
+            category.setName("Budget " + i + " " + suffix);
+            categories.add(categoryRepository.save(category));
+        }
+
+        student = saveUser("budget-" + suffix + "@campus.test", role);
+        List<Event> events = new ArrayList<>();
+        for (int i = 0; i < EVENTS; i++) {
+            Event event = new Event();
+            event.setName("Workshop " + i);
+            event.setDescription("Query budget fixture");
+            event.setDateTime(LocalDateTime.now().plusDays(i + 1));
+            event.setVenue("Lab " + i);
+            event.setMaxAttendees(100);
+            event.setCategory(categories.get(i % categories.size()));
+            events.add(eventRepository.save(event));
+            register(student, events.get(i));
+        }
+
+        popularEvent = events.get(0);
+        for (int i = 0; i < ATTENDEES; i++) {
+            register(saveUser("attendee-" + i + "-" + suffix + "@campus.test", role), popularEvent);
+        }
+    }
+
+    @Test
+    void myRegisteredEventsStaysWithinBudget() {
+        userCache.evictAll();
+
+        List<EventDto> events = countingStatements(2, () -> userService.getMyRegisteredEvents(student.getEmail()));
+
+        assertThat(events).hasSize(EVENTS);
+        assertThat(events).allSatisfy(event -> assertThat(event.getCategoryName()).isNotNull());
+    }
+
+    @Test
+    void eventAttendeesStaysWithinBudget() {
+        List<UserDto> attendees = countingStatements(2, () -> eventService.getEventAttendees(popularEvent.getId()));
+
+        assertThat(attendees).hasSize(ATTENDEES + 1);
+        assertThat(attendees).allSatisfy(user -> assertThat(user.getRoles()).containsExactly("ROLE_STUDENT"));
+    }
+
+    private <T> T countingStatements(long budget, Supplier<T> call) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        T result = call.get();
+
+        assertThat(statistics.getPrepareStatementCount())
+                .as("SQL statements issued")
+                .isLessThanOrEqualTo(budget);
+        return result;
+    }
+
+    private User saveUser(String email, Role role) {
+        return userRepository.save(User.builder()
+                .name(email)
+                .email(email)
+                .password("not-a-real-hash")
+                .roles(Set.of(role))
+                .build());
+    }
+
+    private void register(User user, Event event) {
+        registrationRepository.save(Registration.builder()
+                .user(user)
+                .event(event)
+                .paymentStatus("PAID")
+                .registrationTime(LocalDateTime.now())
+                .build());
+    }
+}
@@ -0,0 +1,53 @@
+package com.college.campusconnect.service;
+
+import com.razorpay.Order;
+import com.razorpay.RazorpayException;
+import org.json.JSONObject;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Which Razorpay errors mean the order does not exist (the SDK formats them as "code:description"),
+ * and which earlier orders for a receipt can be handed out again.
+ */
+class RazorpayPaymentGatewayTest {
+
+    @Test
+    void onlyTheUnknownIdErrorMeansNotFound() {
+        assertThat(RazorpayPaymentGateway.isUnknownId(
+                new RazorpayException("BAD_REQUEST_ERROR:The id provided does not exist"))).isTrue();
+
+        // Same code, different cause: the order may well exist
+        assertThat(RazorpayPaymentGateway.isUnknownId(
+                new RazorpayException("BAD_REQUEST_ERROR:Authentication failed"))).isFalse();
+        assertThat(RazorpayPaymentGateway.isUnknownId(
+                new RazorpayException("SERVER_ERROR:The id provided does not exist"))).isFalse();
+        assertThat(RazorpayPaymentGateway.isUnknownId(
+                new RazorpayException("Unable to parse response because of timeout"))).isFalse();
+        assertThat(RazorpayPaymentGateway.isUnknownId(new RazorpayException((String) null))).isFalse();
+    }
+
+    @Test
+    void onlyAnUnpaidOrderForTheSameAmountIsReused() {
+        Order paid = order("order_paid", "paid", 25_000);
+        Order otherPrice = order("order_old_price", "created", 20_000);
+        Order attempted = order("order_attempted", "attempted", 25_000);
+
+        assertThat(RazorpayPaymentGateway.reusableOrderId(List.of(paid, otherPrice, attempted), 25_000, "INR"))
+                .isEqualTo("order_attempted");
+        assertThat(RazorpayPaymentGateway.reusableOrderId(List.of(paid, otherPrice), 25_000, "INR")).isNull();
+        assertThat(RazorpayPaymentGateway.reusableOrderId(List.of(), 25_000, "INR")).isNull();
+    }
+
+    private static Order order(String id, String status, long amount) {
+        return new Order(new JSONObject()
+                .put("id", id)
+                .put("status", status)
+                .put("amount", amount)
+                .put("currency", "INR")
+                .put("receipt", "reg_1_2"));
+    }
+}
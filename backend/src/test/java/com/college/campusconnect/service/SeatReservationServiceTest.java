@@ -0,0 +1,86 @@
+package com.college.campusconnect.service;
+
+import com.college.campusconnect.entity.Category;
+import com.college.campusconnect.entity.Event;
+import com.college.campusconnect.entity.User;
+import com.college.campusconnect.exception.EventFullException;
+import com.college.campusconnect.repository.CategoryRepository;
+import com.college.campusconnect.repository.EventRepository;
+import com.college.campusconnect.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * The local sold-out answer expires, so seats freed behind this instance's back are offered again.
+ */
+@SpringBootTest
+class SeatReservationServiceTest {
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private SeatReservationService seatReservationService;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void seatFreedElsewhereIsOfferedAfterTheRecheckWindow() throws Exception {
+        Event event = createFreeEvent(1);
+        eventService.registerForEvent(event.getId(), user("last-seat"));
+        assertThat(seatReservationService.isKnownSoldOut(event.getId())).isTrue();
+        assertThatThrownBy(() -> eventService.registerForEvent(event.getId(), user("turned-away")))
+                .isInstanceOf(EventFullException.class);
+
+        // As if another instance had released the seat: only the database knows
+        jdbcTemplate.update("update events set registered_count = registered_count - 1 where id = ?", event.getId());
+
+        Thread.sleep(2100);
+        assertThat(seatReservationService.isKnownSoldOut(event.getId())).isFalse();
+        eventService.registerForEvent(event.getId(), user("after-recheck"));
+        assertThat(eventRepository.findById(event.getId()).orElseThrow().getRegisteredCount()).isEqualTo(1);
+    }
+
+    private String user(String name) {
+        String email = name + "." + System.nanoTime() + "@seats.test";
+        userRepository.save(User.builder()
+                .name(name)
+                .email(email)
+                .password("not-a-real-hash")
+                .build());
+        return email;
+    }
+
+    private Event createFreeEvent(int seats) {
+        Category category = new Category();
+        category.setName("Seats " + System.nanoTime());
+        category = categoryRepository.save(category);
+
+        Event event = new Event();
+        event.setName("Small Seminar");
+        event.setDescription("Free event used for the sold-out re-check test");
+        event.setDateTime(LocalDateTime.now().plusDays(5));
+        event.setVenue("Seminar Hall");
+        event.setMaxAttendees(seats);
+        event.setRegistrationPrice(0);
+        event.setCategory(category);
+        return eventRepository.save(event);
+    }
+}
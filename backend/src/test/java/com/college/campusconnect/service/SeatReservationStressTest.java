@@ -0,0 +1,133 @@
+package com.college.campusconnect.service;
+
+import com.college.campusconnect.entity.Category;
+import com.college.campusconnect.entity.Event;
+import com.college.campusconnect.entity.User;
+import com.college.campusconnect.repository.CategoryRepository;
+import com.college.campusconnect.repository.EventRepository;
+import com.college.campusconnect.repository.RegistrationRepository;
+import com.college.campusconnect.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Fires a registration rush at a single event and checks that no more seats are
+ * handed out than the event has, even with duplicate requests from the same user.
+ */
+@SpringBootTest
+class SeatReservationStressTest {
+
+    private static final int SEATS = 150;
+    private static final int USERS = 2000;
+    private static final int ATTEMPTS_PER_USER = 2;
+    private static final int THREADS = 64;
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RegistrationRepository registrationRepository;
+
+    @Test
+    void registrationRushNeverOversells() throws Exception {
+        Event event = createFreeEvent();
+        List<String> emails = createUsers();
+
+        List<String> attempts = new ArrayList<>(USERS * ATTEMPTS_PER_USER);
+        for (int i = 0; i < ATTEMPTS_PER_USER; i++) {
+            attempts.addAll(emails);
+        }
+        Collections.shuffle(attempts);
+
+        AtomicInteger accepted = new AtomicInteger();
+        AtomicInteger full = new AtomicInteger();
+        AtomicInteger duplicate = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (String email : attempts) {
+            futures.add(pool.submit(() -> {
+                start.await();
+                try {
+                    eventService.registerForEvent(event.getId(), email);
+                    accepted.incrementAndGet();
+                } catch (RuntimeException e) {
+                    if ("Event is already full.".equals(e.getMessage())) {
+                        full.incrementAndGet();
+                    } else if ("User is already registered for this event.".equals(e.getMessage())) {
+                        duplicate.incrementAndGet();
+                    } else {
+                        throw e;
+                    }
+                }
+                return null;
+            }));
+        }
+
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(2, TimeUnit.MINUTES);
+        }
+        pool.shutdown();
+
+        Event reloaded = eventRepository.findById(event.getId()).orElseThrow();
+        long rows = registrationRepository.findByEvent(reloaded).size();
+
+        assertThat(accepted.get()).isEqualTo(SEATS);
+        assertThat(rows).isEqualTo(SEATS);
+        assertThat(reloaded.getRegisteredCount()).isEqualTo(SEATS);
+        assertThat(accepted.get() + full.get() + duplicate.get()).isEqualTo(attempts.size());
+    }
+
+    private Event createFreeEvent() {
+        Category category = new Category();
+        category.setName("Stress Test " + System.nanoTime());
+        category = categoryRepository.save(category);
+
+        Event event = new Event();
+        event.setName("Fest Opening Night");
+        event.setDescription("Popular event used for the registration rush test");
+        event.setDateTime(LocalDateTime.now().plusDays(7));
+        event.setVenue("Main Auditorium");
+        event.setMaxAttendees(SEATS);
+        event.setRegistrationPrice(0);
+        event.setCategory(category);
+        return eventRepository.save(event);
+    }
+
+    private List<String> createUsers() {
+        List<User> users = new ArrayList<>(USERS);
+        for (int i = 0; i < USERS; i++) {
+            users.add(User.builder()
+                    .name("Student " + i)
+                    .email("rush" + i + "@campus.test")
+                    .password("not-a-real-hash")
+                    .build());
+        }
+        return userRepository.saveAll(users).stream().map(User::getEmail).toList();
+    }
+}
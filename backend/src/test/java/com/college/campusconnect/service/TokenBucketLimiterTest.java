@@ -0,0 +1,53 @@
+package com.college.campusconnect.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Bucket arithmetic on a clock driven by the test.
+ */
+class TokenBucketLimiterTest {
+
+    private static final long SECOND = Duration.ofSeconds(1).toNanos();
+
+    @Test
+    void allowsABurstThenRefillsOneTokenPerInterval() {
+        // 5 tokens per 10 seconds: one every 2 seconds
+        TokenBucketLimiter limiter = new TokenBucketLimiter(5, Duration.ofSeconds(10));
+        long now = 1_000 * SECOND;
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(limiter.tryAcquire("a", now)).isZero();
+        }
+        assertThat(limiter.tryAcquire("a", now)).isEqualTo(2 * SECOND);
+        // A refused request does not use up a token
+        assertThat(limiter.tryAcquire("a", now + SECOND)).isEqualTo(SECOND);
+
+        assertThat(limiter.tryAcquire("a", now + 2 * SECOND)).isZero();
+        assertThat(limiter.tryAcquire("a", now + 2 * SECOND)).isPositive();
+
+        // Other keys are untouched
+        assertThat(limiter.tryAcquire("b", now)).isZero();
+    }
+
+    @Test
+    void evictsOnlyFullBuckets() {
+        TokenBucketLimiter limiter = new TokenBucketLimiter(2, Duration.ofSeconds(10));
+        long now = 1_000 * SECOND;
+        limiter.tryAcquire("idle", now);
+        limiter.tryAcquire("busy", now + 4 * SECOND);
+        limiter.tryAcquire("busy", now + 4 * SECOND);
+
+        // "idle" has refilled by now, "busy" is still empty and keeps its state
+        assertThat(limiter.evictIdle(now + 6 * SECOND)).isEqualTo(1);
+        assertThat(limiter.size()).isEqualTo(1);
+        assertThat(limiter.tryAcquire("busy", now + 6 * SECOND)).isEqualTo(3 * SECOND);
+        assertThat(limiter.tryAcquire("busy", now + 9 * SECOND)).isZero();
+
+        assertThat(limiter.evictIdle(now + 60 * SECOND)).isEqualTo(1);
+        assertThat(limiter.size()).isZero();
+    }
+}
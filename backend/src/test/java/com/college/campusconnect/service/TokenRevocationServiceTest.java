@@ -0,0 +1,27 @@
+package com.college.campusconnect.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Live revocations are kept however many there are.
+ */
+class TokenRevocationServiceTest {
+
+    @Test
+    void keepsEveryLiveRevocationPastThePurgeSize() {
+        TokenRevocationService service = new TokenRevocationService();
+        int users = 25_000;
+        for (int i = 0; i < users; i++) {
+            service.revokeBefore("user" + i + "@campus.test", 1);
+        }
+
+        assertThat(service.purgeExpired()).isZero();
+        assertThat(service.size()).isEqualTo(users);
+        for (int i = 0; i < users; i++) {
+            assertThat(service.isRevoked("user" + i + "@campus.test", 0)).isTrue();
+        }
+        assertThat(service.isRevoked("user0@campus.test", 1)).isFalse();
+    }
+}
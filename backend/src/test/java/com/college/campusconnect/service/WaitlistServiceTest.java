@@ -0,0 +1,133 @@
+package com.college.campusconnect.service;
+
+import com.college.campusconnect.dto.WaitlistStatusDto;
+import com.college.campusconnect.entity.Category;
+import com.college.campusconnect.entity.Event;
+import com.college.campusconnect.entity.User;
+import com.college.campusconnect.exception.EventFullException;
+import com.college.campusconnect.repository.CategoryRepository;
+import com.college.campusconnect.repository.EventRepository;
+import com.college.campusconnect.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Joins, leaves and promotions against a free event; promotion is run by the test
+ * instead of the scheduler.
+ */
+@SpringBootTest(properties = "waitlist.promotion.interval=1h")
+class WaitlistServiceTest {
+
+    @Autowired
+    private WaitlistService waitlistService;
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void positionsFollowJoinOrderAndMoveUpWhenSomeoneLeaves() {
+        Event event = createFreeEvent(1);
+        String owner = user("owner");
+        eventService.registerForEvent(event.getId(), owner);
+
+        String[] waiting = {user("first"), user("second"), user("third"), user("fourth")};
+        assertThatThrownBy(() -> eventService.registerForEvent(event.getId(), waiting[0]))
+                .isInstanceOf(EventFullException.class);
+        for (int i = 0; i < waiting.length; i++) {
+            assertThat(waitlistService.join(event.getId(), waiting[i]).getPosition()).isEqualTo(i + 1);
+        }
+
+        // Joining again keeps the place
+        assertThat(waitlistService.join(event.getId(), waiting[2]).getPosition()).isEqualTo(3);
+
+        waitlistService.leave(event.getId(), waiting[1]);
+
+        assertThat(waitlistService.getStatus(event.getId(), waiting[1]).getStatus()).isEqualTo("NONE");
+        assertThat(waitlistService.getStatus(event.getId(), waiting[0]).getPosition()).isEqualTo(1);
+        assertThat(waitlistService.getStatus(event.getId(), waiting[2]).getPosition()).isEqualTo(2);
+        WaitlistStatusDto last = waitlistService.getStatus(event.getId(), waiting[3]);
+        assertThat(last.getPosition()).isEqualTo(3);
+        assertThat(last.getWaiting()).isEqualTo(3);
+        assertThat(waitlistService.getStatus(event.getId(), owner).getStatus()).isEqualTo("REGISTERED");
+    }
+
+    @Test
+    void freedSeatsGoToTheFrontOfTheQueue() {
+        Event event = createFreeEvent(2);
+        String a = user("a");
+        String b = user("b");
+        eventService.registerForEvent(event.getId(), a);
+        eventService.registerForEvent(event.getId(), b);
+
+        String first = user("w1");
+        String leaver = user("w2");
+        String second = user("w3");
+        String third = user("w4");
+        for (String waiting : new String[]{first, leaver, second, third}) {
+            waitlistService.join(event.getId(), waiting);
+        }
+        waitlistService.leave(event.getId(), leaver);
+
+        // Nothing to do while the event stays full
+        assertThat(waitlistService.promotePending()).isZero();
+
+        eventService.unregisterFromEvent(event.getId(), a);
+        eventService.unregisterFromEvent(event.getId(), b);
+        assertThat(waitlistService.promotePending()).isEqualTo(2);
+
+        WaitlistStatusDto promoted = waitlistService.getStatus(event.getId(), first);
+        assertThat(promoted.getStatus()).isEqualTo("REGISTERED");
+        assertThat(promoted.getRegistrationId()).isNotNull();
+        assertThat(waitlistService.getStatus(event.getId(), second).getStatus()).isEqualTo("REGISTERED");
+        assertThat(waitlistService.getStatus(event.getId(), leaver).getStatus()).isEqualTo("NONE");
+        assertThat(waitlistService.getStatus(event.getId(), third).getPosition()).isEqualTo(1);
+        assertThat(eventRepository.findById(event.getId()).orElseThrow().getRegisteredCount()).isEqualTo(2);
+
+        // The promoted users hold real registrations: unregistering one promotes the next
+        eventService.unregisterFromEvent(event.getId(), first);
+        assertThat(waitlistService.promotePending()).isEqualTo(1);
+        assertThat(waitlistService.getStatus(event.getId(), third).getStatus()).isEqualTo("REGISTERED");
+        assertThat(waitlistService.promotePending()).isZero();
+    }
+
+    private String user(String name) {
+        String email = name + "." + System.nanoTime() + "@waitlist.test";
+        userRepository.save(User.builder()
+                .name(name)
+                .email(email)
+                .password("not-a-real-hash")
+                .build());
+        return email;
+    }
+
+    private Event createFreeEvent(int seats) {
+        Category category = new Category();
+        category.setName("Waitlist " + System.nanoTime());
+        category = categoryRepository.save(category);
+
+        Event event = new Event();
+        event.setName("Popular Workshop");
+        event.setDescription("Free event used for the waitlist test");
+        event.setDateTime(LocalDateTime.now().plusDays(5));
+        event.setVenue("Lab Block");
+        event.setMaxAttendees(seats);
+        event.setRegistrationPrice(0);
+        event.setCategory(category);
+        return eventRepository.save(event);
+    }
+}
@@ -0,0 +1,86 @@
+package com.college.campusconnect.benchmark;
+
+import com.college.campusconnect.dto.EventDto;
+import com.college.campusconnect.dto.EventPage;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON serialization of an event listing page, the last step of every listing response.
+ *
+ * The mapper is set up the way Spring Boot sets up the application's one (JSR-310 module,
+ * ISO dates rather than timestamps). Page sizes are a typical page and the largest
+ * one the API hands out.
+ *
+ * Run with:
+ * mvn -pl benchmarks -am verify -DskipTests -Pjmh -Dbench.include=EventJsonBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventJsonBenchmark {
+
+    @Param({"20", "100"})
+    private int size;
+
+    private ObjectMapper objectMapper;
+    private EventPage page;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+
+        LocalDateTime start = LocalDateTime.of(2030, 1, 1, 10, 0);
+        List<EventDto> events = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            EventDto event = new EventDto();
+            event.setId((long) i);
+            event.setName("Robotics Workshop " + i);
+            event.setDescription("Build and program a line-following robot in teams of four. Kits provided, "
+                    + "bring a laptop with the Arduino IDE installed. Snacks after the final round.");
+            event.setOrganizingClub("Robotics Club");
+            event.setDateTime(start.plusHours(i));
+            event.setVenue("Lab Block");
+            event.setPosterUrl("https://res.cloudinary.com/demo/image/upload/poster" + i + ".jpg");
+            event.setMaxAttendees(120);
+            event.setRegistrationPrice(i % 3 == 0 ? 150 : 0);
+            event.setCategoryName("Technical");
+            event.setRegisteredAttendeesCount(i);
+            events.add(event);
+        }
+        page = new EventPage(events, "MjAzMC0wMS0wMVQxMDowMHwxMDA");
+    }
+
+    @Benchmark
+    public byte[] writePage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public byte[] writeList() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(page.getEvents());
+    }
+}
@@ -0,0 +1,153 @@
+package com.college.campusconnect.benchmark;
+
+import com.college.campusconnect.CampusConnectApplication;
+import com.college.campusconnect.dto.EventCursor;
+import com.college.campusconnect.dto.EventFilter;
+import com.college.campusconnect.dto.EventPage;
+import com.college.campusconnect.entity.Category;
+import com.college.campusconnect.entity.Event;
+import com.college.campusconnect.repository.CategoryRepository;
+import com.college.campusconnect.repository.EventRepository;
+import com.college.campusconnect.service.EventService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The public event listings end to end below the controller: keyset query on the
+ * in-memory database, entity mapping and page assembly.
+ *
+ * The application is started without a web server and seeded from a fixed seed with a
+ * few thousand or fifty thousand events spread over twelve categories and eight clubs,
+ * a quarter of them in the past and a fifth of them full. deepPage starts in the middle
+ * of the catalog, which a keyset listing should answer as fast as the first page.
+ *
+ * Run with:
+ * mvn -pl benchmarks -am verify -DskipTests -Pjmh -Dbench.include=EventListingBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+public class EventListingBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+    private static final int CATEGORIES = 12;
+    private static final int INSERT_CHUNK = 1000;
+    private static final String[] CLUBS = {"Robotics Club", "Music Society", "Drama Club", "Coding Club",
+            "Sports Council", "Literary Society", "Photography Club", "Entrepreneurship Cell"};
+
+    @Param({"5000", "50000"})
+    private int events;
+
+    private ConfigurableApplicationContext context;
+    private EventService eventService;
+    private Long categoryId;
+    private String middleCursor;
+    private EventFilter filter;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(CampusConnectApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.jpa.properties.hibernate.generate_statistics=false",
+                        "logging.level.root=WARN")
+                .run();
+        eventService = context.getBean(EventService.class);
+        EventRepository eventRepository = context.getBean(EventRepository.class);
+        CategoryRepository categoryRepository = context.getBean(CategoryRepository.class);
+        TransactionTemplate transactionTemplate = context.getBean(TransactionTemplate.class);
+
+        List<Category> categories = new ArrayList<>();
+        for (int i = 0; i < CATEGORIES; i++) {
+            Category category = new Category();
+            category.setName("Benchmark " + i);
+            categories.add(categoryRepository.save(category));
+        }
+        categoryId = categories.get(0).getId();
+
+        Random random = new Random(42);
+        LocalDateTime start = LocalDateTime.now().minusDays(events / 40);
+        List<Event> chunk = new ArrayList<>(INSERT_CHUNK);
+        for (int i = 0; i < events; i++) {
+            Event event = new Event();
+            event.setName("Benchmark Event " + i);
+            event.setDescription("Seeded for EventListingBenchmark");
+            event.setOrganizingClub(CLUBS[random.nextInt(CLUBS.length)]);
+            // About ten events a day, so a quarter of the catalog is in the past
+            event.setDateTime(start.plusMinutes(i * 144L + random.nextInt(60)));
+            event.setVenue("Hall " + random.nextInt(20));
+            event.setMaxAttendees(100);
+            event.setRegisteredCount(random.nextInt(5) == 0 ? 100 : random.nextInt(100));
+            event.setRegistrationPrice(random.nextInt(3) == 0 ? 50 + random.nextInt(200) : 0);
+            event.setCategory(categories.get(random.nextInt(CATEGORIES)));
+            chunk.add(event);
+            if (chunk.size() == INSERT_CHUNK || i == events - 1) {
+                List<Event> batch = chunk;
+                transactionTemplate.executeWithoutResult(status -> eventRepository.saveAll(batch));
+                if (i >= events / 2 && middleCursor == null) {
+                    Event middle = batch.get(0);
+                    middleCursor = new EventCursor(middle.getDateTime(), middle.getId()).encode();
+                }
+                chunk = new ArrayList<>(INSERT_CHUNK);
+            }
+        }
+
+        filter = new EventFilter();
+        filter.setCategories(List.of(categories.get(1).getId(), categories.get(2).getId()));
+        filter.setPrice(EventFilter.FREE);
+        filter.setAvailable(true);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public EventPage firstPage() {
+        return eventService.getAllEvents(null, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public EventPage deepPage() {
+        return eventService.getAllEvents(middleCursor, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public EventPage upcoming() {
+        return eventService.getUpcomingEvents(null, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public EventPage byCategory() {
+        return eventService.getEventsByCategory(categoryId, null, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public EventPage filtered() {
+        return eventService.getFilteredEvents(filter, null, PAGE_SIZE);
+    }
+}
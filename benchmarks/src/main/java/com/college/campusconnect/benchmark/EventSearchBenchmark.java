@@ -0,0 +1,109 @@
+package com.college.campusconnect.benchmark;
+
+import com.college.campusconnect.service.EventSearchIndex;
+import com.college.campusconnect.service.EventSearchIndex.Document;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Query latency of the in-memory event search index with 100k events.
+ *
+ * The corpus is generated from a fixed seed: names and venues from small word lists,
+ * descriptions of 40 words drawn with a skewed (Zipf-like) distribution from a few
+ * thousand made-up words, so some terms are in most documents and most are rare.
+ * The queries cover a rare word, a common word, two words, and short and longer prefixes.
+ *
+ * Run with:
+ * mvn -pl benchmarks -am verify -DskipTests -Pjmh -Dbench.include=EventSearchBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+public class EventSearchBenchmark {
+
+    private static final String[] TOPICS = {"Hackathon", "Robotics", "Music", "Dance", "Quiz", "Debate", "Photography",
+            "Chess", "Football", "Cricket", "Drama", "Poetry", "Startup", "Coding", "Design", "Astronomy", "Yoga",
+            "Film", "Gaming", "Entrepreneurship", "Biology", "Chemistry", "Mathematics", "Literature", "Painting"};
+    private static final String[] KINDS = {"Workshop", "Festival", "Night", "Championship", "Seminar", "Meetup",
+            "Bootcamp", "Lecture", "Showcase", "Competition", "Marathon", "Conference"};
+    private static final String[] VENUES = {"Main Auditorium", "Seminar Hall", "Open Air Theatre", "Library Lawn",
+            "Sports Complex", "Lab Block", "Student Centre", "Conference Room"};
+    private static final String[] CATEGORIES = {"Technical", "Cultural", "Sports", "Academic", "Social"};
+
+    @Param({"100000"})
+    private int events;
+
+    @Param({"marathon", "workshop", "robotics workshop", "hac", "photog", "bal", "quiz championship seminar"})
+    private String query;
+
+    private EventSearchIndex index;
+    private Document updated;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        String[] vocabulary = new String[4000];
+        for (int i = 0; i < vocabulary.length; i++) {
+            vocabulary[i] = word(random);
+        }
+
+        index = new EventSearchIndex();
+        for (int id = 1; id <= events; id++) {
+            index.put(document(id, random, vocabulary));
+        }
+        updated = document(events / 2, random, vocabulary);
+    }
+
+    @Benchmark
+    public List<Long> search() {
+        return index.search(query, 20);
+    }
+
+    // An admin edit: the old version is marked dead and the new one appended
+    @Benchmark
+    public void update() {
+        index.put(updated);
+    }
+
+    private static Document document(long id, Random random, String[] vocabulary) {
+        String name = TOPICS[random.nextInt(TOPICS.length)] + " " + KINDS[random.nextInt(KINDS.length)] + " " + id;
+        StringBuilder description = new StringBuilder();
+        for (int w = 0; w < 40; w++) {
+            // Squaring a uniform number skews the picks towards the start of the vocabulary
+            double skewed = random.nextDouble() * random.nextDouble();
+            description.append(vocabulary[(int) (skewed * vocabulary.length)]).append(' ');
+        }
+        return new Document(id, name, description.toString(),
+                TOPICS[random.nextInt(TOPICS.length)] + " Club",
+                VENUES[random.nextInt(VENUES.length)],
+                CATEGORIES[random.nextInt(CATEGORIES.length)]);
+    }
+
+    private static String word(Random random) {
+        String consonants = "bcdfghklmnprstvz";
+        String vowels = "aeiou";
+        StringBuilder word = new StringBuilder();
+        int syllables = 2 + random.nextInt(3);
+        for (int s = 0; s < syllables; s++) {
+            word.append(consonants.charAt(random.nextInt(consonants.length())));
+            word.append(vowels.charAt(random.nextInt(vowels.length())));
+        }
+        return word.toString();
+    }
+}
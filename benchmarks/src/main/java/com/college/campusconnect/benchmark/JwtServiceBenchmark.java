@@ -0,0 +1,92 @@
+package com.college.campusconnect.benchmark;
+
+import com.college.campusconnect.dto.TokenClaims;
+import com.college.campusconnect.entity.Role;
+import com.college.campusconnect.entity.User;
+import com.college.campusconnect.service.JwtService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.security.Key;
+import java.util.Date;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request token verification cost: the old path (decode the secret, build a parser
+ * and parse the token three times) against the cached key/parser and single-parse validateToken.
+ *
+ * Run with:
+ * mvn -pl benchmarks -am verify -DskipTests -Pjmh -Dbench.include=JwtServiceBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtServiceBenchmark {
+
+    private static final String SECRET = "dGVzdC1vbmx5LXNlY3JldC1rZXktZm9yLWNhbXB1cy1jb25uZWN0LXRlc3Rz";
+
+    private JwtService jwtService;
+    private User user;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtService = new JwtService();
+        ReflectionTestUtils.setField(jwtService, "SECRET_KEY", SECRET);
+        jwtService.init();
+
+        Role role = new Role();
+        role.setName("ROLE_STUDENT");
+        user = User.builder()
+                .email("student@campus.test")
+                .password("x")
+                .roles(Set.of(role))
+                .build();
+        token = jwtService.generateToken(user);
+    }
+
+    @Benchmark
+    public TokenClaims validateToken() {
+        return jwtService.validateToken(token).orElseThrow();
+    }
+
+    // What the filter used to do per request: extractUsername, then isTokenValid
+    // (extractUsername again plus extractExpiration), each decoding the key and building a parser
+    @Benchmark
+    public boolean legacyVerification() {
+        String username = legacyParse(token).getSubject();
+        return legacyParse(token).getSubject().equals(username)
+                && !legacyParse(token).getExpiration().before(new Date());
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtService.generateToken(user);
+    }
+
+    private static Claims legacyParse(String token) {
+        Key key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET));
+        return Jwts.parserBuilder()
+                .setSigningKey(key)
+                .build()
+                .parseClaimsJws(token)
+                .getBody();
+    }
+}
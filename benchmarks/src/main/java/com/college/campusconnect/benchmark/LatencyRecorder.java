@@ -0,0 +1,46 @@
+package com.college.campusconnect.benchmark;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Latency samples in nanoseconds for one client thread; no sharing between threads.
+ * Merged and sorted once the run is over.
+ */
+public final class LatencyRecorder {
+
+    private long[] samples = new long[1024];
+    private int size;
+
+    public void record(long nanos) {
+        if (size == samples.length) {
+            samples = Arrays.copyOf(samples, size * 2);
+        }
+        samples[size++] = nanos;
+    }
+
+    // All samples of the given recorders, sorted
+    public static long[] merge(Collection<LatencyRecorder> recorders) {
+        int total = 0;
+        for (LatencyRecorder recorder : recorders) {
+            total += recorder.size;
+        }
+        long[] merged = new long[total];
+        int offset = 0;
+        for (LatencyRecorder recorder : recorders) {
+            System.arraycopy(recorder.samples, 0, merged, offset, recorder.size);
+            offset += recorder.size;
+        }
+        Arrays.sort(merged);
+        return merged;
+    }
+
+    // Nearest-rank percentile of sorted samples, in milliseconds
+    public static double percentile(long[] sorted, double p) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.min(sorted.length - 1, Math.ceil(p * sorted.length) - 1);
+        return sorted[Math.max(index, 0)] / 1_000_000.0;
+    }
+}
@@ -0,0 +1,106 @@
+package com.college.campusconnect.benchmark;
+
+import com.college.campusconnect.dto.EventDto;
+import com.college.campusconnect.dto.UserDto;
+import com.college.campusconnect.entity.Category;
+import com.college.campusconnect.entity.Event;
+import com.college.campusconnect.entity.Role;
+import com.college.campusconnect.entity.User;
+import com.college.campusconnect.service.MapperService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity-to-DTO mapping, which every listing and profile response goes through once per row.
+ * Measured over a page of 100 detached entities so the numbers are per page, not per call.
+ *
+ * Run with:
+ * mvn -pl benchmarks -am verify -DskipTests -Pjmh -Dbench.include=MapperServiceBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapperServiceBenchmark {
+
+    private static final int PAGE = 100;
+
+    private final MapperService mapperService = new MapperService();
+    private final List<Event> events = new ArrayList<>(PAGE);
+    private final List<User> users = new ArrayList<>(PAGE);
+
+    @Setup
+    public void setUp() {
+        Category category = new Category();
+        category.setId(1L);
+        category.setName("Technical");
+        Role student = new Role();
+        student.setName("ROLE_STUDENT");
+        Role organizer = new Role();
+        organizer.setName("ROLE_ORGANIZER");
+
+        LocalDateTime start = LocalDateTime.of(2030, 1, 1, 10, 0);
+        for (int i = 0; i < PAGE; i++) {
+            Event event = new Event();
+            event.setId((long) i);
+            event.setName("Robotics Workshop " + i);
+            event.setDescription("Build and program a line-following robot in teams of four. Kits provided.");
+            event.setOrganizingClub("Robotics Club");
+            event.setDateTime(start.plusHours(i));
+            event.setVenue("Lab Block");
+            event.setPosterUrl("https://res.cloudinary.com/demo/image/upload/poster" + i + ".jpg");
+            event.setMaxAttendees(120);
+            event.setRegistrationPrice(i % 3 == 0 ? 150 : 0);
+            event.setRegisteredCount(i);
+            event.setCategory(category);
+            events.add(event);
+
+            users.add(User.builder()
+                    .id((long) i)
+                    .name("Student " + i)
+                    .email("student" + i + "@campus.test")
+                    .password("not-a-real-hash")
+                    .mobileNumber("90000000" + (10 + i % 90))
+                    .department("Computer Science")
+                    .registrationNumber("21CS" + (1000 + i))
+                    .year(1 + i % 4)
+                    .gender(i % 2 == 0 ? "Female" : "Male")
+                    .roles(new HashSet<>(i % 10 == 0 ? Set.of(student, organizer) : Set.of(student)))
+                    .build());
+        }
+    }
+
+    @Benchmark
+    public void mapToEventDto(Blackhole blackhole) {
+        for (Event event : events) {
+            EventDto dto = mapperService.mapToEventDto(event);
+            blackhole.consume(dto);
+        }
+    }
+
+    @Benchmark
+    public void mapToUserDto(Blackhole blackhole) {
+        for (User user : users) {
+            UserDto dto = mapperService.mapToUserDto(user);
+            blackhole.consume(dto);
+        }
+    }
+}
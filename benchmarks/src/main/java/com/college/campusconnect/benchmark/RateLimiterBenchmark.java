@@ -0,0 +1,105 @@
+package com.college.campusconnect.benchmark;
+
+import com.college.campusconnect.service.RateLimitService;
+import com.college.campusconnect.service.TokenBucketLimiter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of a rate-limit decision: one bucket (allowed, refused, contended by four threads),
+ * 100k distinct callers, and the whole per-request check in RateLimitService including route
+ * matching, for limited routes and for a request that matches none.
+ *
+ * Run with:
+ * mvn -pl benchmarks -am verify -DskipTests -Pjmh -Dbench.include=RateLimiterBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RateLimiterBenchmark {
+
+    private static final int CALLERS = 100_000;
+
+    private TokenBucketLimiter open;
+    private TokenBucketLimiter exhausted;
+    private TokenBucketLimiter manyCallers;
+    private String[] callerKeys;
+    private RateLimitService rateLimitService;
+
+    @Setup
+    public void setUp() {
+        // Refills faster than any benchmark thread can ask
+        open = new TokenBucketLimiter(1_000_000, Duration.ofMillis(1));
+        exhausted = new TokenBucketLimiter(1, Duration.ofDays(1));
+        exhausted.tryAcquire("10.0.0.1", System.nanoTime());
+
+        manyCallers = new TokenBucketLimiter(1_000_000, Duration.ofMillis(1));
+        callerKeys = new String[CALLERS];
+        long now = System.nanoTime();
+        for (int i = 0; i < CALLERS; i++) {
+            callerKeys[i] = "10." + (i >> 16) + "." + ((i >> 8) & 0xff) + "." + (i & 0xff);
+            manyCallers.tryAcquire(callerKeys[i], now);
+        }
+
+        int unlimited = Integer.MAX_VALUE;
+        Duration instant = Duration.ofNanos(1);
+        rateLimitService = new RateLimitService(new SimpleMeterRegistry(), true,
+                unlimited, unlimited, instant, unlimited, unlimited, instant,
+                unlimited, unlimited, instant, unlimited, instant);
+    }
+
+    @Benchmark
+    public long oneCallerAllowed() {
+        return open.tryAcquire("10.0.0.1", System.nanoTime());
+    }
+
+    @Benchmark
+    public long oneCallerRefused() {
+        return exhausted.tryAcquire("10.0.0.1", System.nanoTime());
+    }
+
+    @Benchmark
+    @Threads(4)
+    public long oneCallerContended() {
+        return open.tryAcquire("10.0.0.1", System.nanoTime());
+    }
+
+    @Benchmark
+    public long manyCallers() {
+        String key = callerKeys[ThreadLocalRandom.current().nextInt(CALLERS)];
+        return manyCallers.tryAcquire(key, System.nanoTime());
+    }
+
+    @Benchmark
+    public Object registrationCheck() {
+        return rateLimitService.check("POST", "/api/user/events/42/register", "10.0.0.1", "student@campus.test", () -> null);
+    }
+
+    // Per account and per IP; the account comes from the (already parsed) login body
+    @Benchmark
+    public Object loginCheck() {
+        return rateLimitService.check("POST", "/api/auth/login", "10.0.0.1", null, () -> "student@campus.test");
+    }
+
+    @Benchmark
+    public Object unlimitedRouteCheck() {
+        return rateLimitService.check("POST", "/api/user/events/42/waitlist", "10.0.0.1", "student@campus.test", () -> null);
+    }
+}
@@ -0,0 +1,242 @@
+package com.college.campusconnect.benchmark;
+
+import com.college.campusconnect.CampusConnectApplication;
+import com.college.campusconnect.entity.Category;
+import com.college.campusconnect.entity.Event;
+import com.college.campusconnect.entity.Role;
+import com.college.campusconnect.entity.User;
+import com.college.campusconnect.repository.CategoryRepository;
+import com.college.campusconnect.repository.EventRepository;
+import com.college.campusconnect.repository.RoleRepository;
+import com.college.campusconnect.repository.UserRepository;
+import com.college.campusconnect.service.JwtService;
+import jakarta.servlet.Filter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.Ordered;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+
+/**
+ * Throughput and latency of the listing and registration endpoints with Tomcat on
+ * platform threads and on virtual threads.
+ *
+ * Each mode boots the application on a random port against the in-memory test database
+ * and is driven over HTTP by a fixed number of concurrent clients. Because H2 answers
+ * in microseconds, every /api request first sleeps for bench.io-delay-ms to stand in for
+ * the network waits of production (MySQL, Cloudinary, Razorpay); set it to 0 to measure
+ * the bare code path.
+ *
+ * Run with:
+ * mvn -pl benchmarks -am verify -DskipTests -Pjmh -Dbench.args= \
+ *     -Dbench.main=com.college.campusconnect.benchmark.ServerModeBenchmark
+ *
+ * Tuning (system properties, given with -Dbench.jvm="-Dbench.seconds=30 ..."):
+ * bench.concurrency (default 400), bench.seconds (measurement per endpoint, default 10),
+ * bench.warmup-seconds (default 3), bench.io-delay-ms (default 20).
+ */
+public final class ServerModeBenchmark {
+
+    private static final int CONCURRENCY = Integer.getInteger("bench.concurrency", 400);
+    private static final int SECONDS = Integer.getInteger("bench.seconds", 10);
+    private static final int WARMUP_SECONDS = Integer.getInteger("bench.warmup-seconds", 3);
+    private static final int IO_DELAY_MILLIS = Integer.getInteger("bench.io-delay-ms", 20);
+
+    private static final int LISTED_EVENTS = 60;
+    private static final int REGISTRATION_EVENTS = 100;
+    private static final int USERS = 5000;
+
+    private ServerModeBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        List<String> rows = new ArrayList<>();
+        for (boolean virtual : new boolean[]{false, true}) {
+            String mode = virtual ? "virtual" : "platform";
+            try (ConfigurableApplicationContext context = start(virtual)) {
+                Target target = Target.prepare(context);
+                rows.add(run(mode, "GET /api/public/events/all", target.listing()));
+                rows.add(run(mode, "POST /api/user/events/{id}/register", target.registration()));
+            }
+        }
+
+        System.out.printf("%nconcurrency=%d, io delay=%d ms, %d s per run%n", CONCURRENCY, IO_DELAY_MILLIS, SECONDS);
+        System.out.printf("%-9s %-37s %10s %9s %9s %9s %8s%n", "mode", "endpoint", "req/s", "p50 ms", "p99 ms", "max ms", "errors");
+        rows.forEach(System.out::println);
+    }
+
+    private static ConfigurableApplicationContext start(boolean virtual) {
+        return new SpringApplicationBuilder(CampusConnectApplication.class, DelayConfig.class)
+                .properties(
+                        "server.port=0",
+                        "spring.threads.virtual.enabled=" + virtual,
+                        "spring.datasource.hikari.maximum-pool-size=20",
+                        "spring.jpa.properties.hibernate.generate_statistics=false",
+                        "bench.io-delay-ms=" + IO_DELAY_MILLIS,
+                        "logging.level.root=WARN")
+                .run();
+    }
+
+    private static String run(String mode, String endpoint, IntFunction<HttpRequest> requests) throws Exception {
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+
+        long warmupEnd = System.nanoTime() + TimeUnit.SECONDS.toNanos(WARMUP_SECONDS);
+        long end = warmupEnd + TimeUnit.SECONDS.toNanos(SECONDS);
+        AtomicInteger sequence = new AtomicInteger();
+        AtomicInteger errors = new AtomicInteger();
+        List<LatencyRecorder> recorders = new ArrayList<>(CONCURRENCY);
+
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < CONCURRENCY; c++) {
+                LatencyRecorder recorder = new LatencyRecorder();
+                recorders.add(recorder);
+                clients.submit(() -> {
+                    long now;
+                    while ((now = System.nanoTime()) < end) {
+                        HttpRequest request = requests.apply(sequence.getAndIncrement());
+                        boolean ok;
+                        try {
+                            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                            ok = response.statusCode() < 400;
+                        } catch (Exception e) {
+                            ok = false;
+                        }
+                        if (now >= warmupEnd) {
+                            recorder.record(System.nanoTime() - now);
+                            if (!ok) {
+                                errors.incrementAndGet();
+                            }
+                        }
+                    }
+                    return null;
+                });
+            }
+        }
+
+        long[] latencies = LatencyRecorder.merge(recorders);
+        return String.format("%-9s %-37s %10.0f %9.1f %9.1f %9.1f %8d", mode, endpoint,
+                latencies.length / (double) SECONDS,
+                LatencyRecorder.percentile(latencies, 0.50), LatencyRecorder.percentile(latencies, 0.99),
+                LatencyRecorder.percentile(latencies, 1.0),
+                errors.get());
+    }
+
+    /**
+     * Seeded data and request factories for one running application.
+     */
+    private record Target(String baseUrl, List<Long> registrationEventIds, List<String> tokens) {
+
+        static Target prepare(ConfigurableApplicationContext context) {
+            String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+            CategoryRepository categoryRepository = context.getBean(CategoryRepository.class);
+            EventRepository eventRepository = context.getBean(EventRepository.class);
+            UserRepository userRepository = context.getBean(UserRepository.class);
+            Role student = context.getBean(RoleRepository.class).findByName("ROLE_STUDENT").orElseThrow();
+            JwtService jwtService = context.getBean(JwtService.class);
+
+            Category category = new Category();
+            category.setName("Benchmark");
+            category = categoryRepository.save(category);
+
+            List<Event> events = new ArrayList<>();
+            for (int i = 0; i < LISTED_EVENTS + REGISTRATION_EVENTS; i++) {
+                Event event = new Event();
+                event.setName("Benchmark Event " + i);
+                event.setDescription("Seeded for ServerModeBenchmark");
+                event.setDateTime(LocalDateTime.now().plusDays(1 + i));
+                event.setVenue("Hall " + i);
+                event.setMaxAttendees(USERS);
+                event.setRegistrationPrice(0);
+                event.setCategory(category);
+                events.add(event);
+            }
+            List<Long> registrationEventIds = eventRepository.saveAll(events).stream()
+                    .skip(LISTED_EVENTS)
+                    .map(Event::getId)
+                    .toList();
+
+            List<User> users = new ArrayList<>(USERS);
+            for (int i = 0; i < USERS; i++) {
+                users.add(User.builder()
+                        .name("Bench " + i)
+                        .email("bench" + i + "@campus.test")
+                        .password("not-a-real-hash")
+                        .roles(Set.of(student))
+                        .build());
+            }
+            List<String> tokens = userRepository.saveAll(users).stream()
+                    .map(jwtService::generateToken)
+                    .toList();
+
+            return new Target(baseUrl, registrationEventIds, tokens);
+        }
+
+        IntFunction<HttpRequest> listing() {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/public/events/all?size=20"))
+                    .timeout(Duration.ofSeconds(30))
+                    .build();
+            return n -> request;
+        }
+
+        // Consecutive requests go to different events (no single hot counter row) and every
+        // (user, event) pair is new until USERS * REGISTRATION_EVENTS requests; after that
+        // the answers are "already registered" errors
+        IntFunction<HttpRequest> registration() {
+            int eventCount = registrationEventIds.size();
+            return n -> {
+                long eventId = registrationEventIds.get(n % eventCount);
+                String token = tokens.get((n / eventCount) % USERS);
+                return HttpRequest.newBuilder(URI.create(baseUrl + "/api/user/events/" + eventId + "/register"))
+                        .header("Authorization", "Bearer " + token)
+                        .timeout(Duration.ofSeconds(30))
+                        .POST(HttpRequest.BodyPublishers.noBody())
+                        .build();
+            };
+        }
+    }
+
+    /**
+     * Adds the simulated downstream wait in front of every /api request. Registered as an
+     * application source only, deliberately not @Configuration: component scanning would
+     * otherwise pull it into every test context.
+     */
+    static class DelayConfig {
+
+        @Bean
+        FilterRegistrationBean<Filter> simulatedIoDelay(@Value("${bench.io-delay-ms}") long delayMillis) {
+            Filter filter = (request, response, chain) -> {
+                if (delayMillis > 0) {
+                    try {
+                        Thread.sleep(delayMillis);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                chain.doFilter(request, response);
+            };
+            FilterRegistrationBean<Filter> registration = new FilterRegistrationBean<>(filter);
+            registration.addUrlPatterns("/api/*");
+            registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+            return registration;
+        }
+    }
+}
@@ -0,0 +1,245 @@
+package com.college.campusconnect.loadtest;
+
+import com.college.campusconnect.config.IdGeneratorAligner;
+import com.college.campusconnect.entity.Category;
+import com.college.campusconnect.repository.CategoryRepository;
+import com.college.campusconnect.repository.RoleRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Fills an empty database with a synthetic campus under the loadtest profile.
+ *
+ * Volumes come from loadtest.dataset.* (50k users, 5k events and 1M registrations by
+ * default) and everything is drawn from a fixed seed, so two runs see the same data.
+ * Rows go in through JDBC batches with explicit ids; the id generators are moved past
+ * them afterwards. Every user is user{n}@loadtest.campus (n from 1) with the same
+ * password, hashed once, which is what the load driver logs in with.
+ *
+ * Event popularity is skewed: seat counts follow an exponential distribution, about one
+ * event in seven is sold out, a quarter are in the past and three in ten are paid.
+ * Registrations are all PAID and the registered_count columns match them.
+ */
+@Component
+@Profile("loadtest")
+public class DatasetGenerator implements CommandLineRunner {
+
+    public static final String EMAIL_DOMAIN = "@loadtest.campus";
+
+    private static final String[] TOPICS = {"Hackathon", "Robotics", "Music", "Dance", "Quiz", "Debate",
+            "Photography", "Chess", "Football", "Cricket", "Drama", "Poetry", "Startup", "Coding", "Design",
+            "Astronomy", "Yoga", "Film", "Gaming", "Literature"};
+    private static final String[] KINDS = {"Workshop", "Festival", "Night", "Championship", "Seminar", "Meetup",
+            "Bootcamp", "Lecture", "Showcase", "Competition"};
+    private static final String[] CLUBS = {"Robotics Club", "Music Society", "Drama Club", "Coding Club",
+            "Sports Council", "Literary Society", "Photography Club", "Entrepreneurship Cell", "Quiz Club",
+            "Dance Crew"};
+    private static final String[] VENUES = {"Main Auditorium", "Seminar Hall", "Open Air Theatre", "Library Lawn",
+            "Sports Complex", "Lab Block", "Student Centre", "Conference Room"};
+    private static final String[] DEPARTMENTS = {"Computer Science", "Electronics", "Mechanical", "Civil",
+            "Electrical", "Biotechnology", "Mathematics", "Physics"};
+    private static final String[] CATEGORIES = {"Technical", "Cultural", "Sports", "Academic", "Social", "Music",
+            "Arts", "Gaming", "Entrepreneurship", "Literary", "Wellness", "Science"};
+
+    private final JdbcTemplate jdbcTemplate;
+    private final CategoryRepository categoryRepository;
+    private final RoleRepository roleRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final IdGeneratorAligner idGeneratorAligner;
+
+    private final int users;
+    private final int events;
+    private final long registrations;
+    private final String password;
+    private final int batchSize;
+    private final long seed;
+
+    public DatasetGenerator(
+            JdbcTemplate jdbcTemplate,
+            CategoryRepository categoryRepository,
+            RoleRepository roleRepository,
+            PasswordEncoder passwordEncoder,
+            IdGeneratorAligner idGeneratorAligner,
+            @Value("${loadtest.dataset.users:50000}") int users,
+            @Value("${loadtest.dataset.events:5000}") int events,
+            @Value("${loadtest.dataset.registrations:1000000}") long registrations,
+            @Value("${loadtest.dataset.password:loadtest}") String password,
+            @Value("${loadtest.dataset.batch-size:5000}") int batchSize,
+            @Value("${loadtest.dataset.seed:42}") long seed
+    ) {
+        if (registrations > (long) users * events) {
+            throw new IllegalArgumentException("Cannot place " + registrations + " registrations: "
+                    + users + " users x " + events + " events is fewer pairs");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.categoryRepository = categoryRepository;
+        this.roleRepository = roleRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.idGeneratorAligner = idGeneratorAligner;
+        this.users = users;
+        this.events = events;
+        this.registrations = registrations;
+        this.password = password;
+        this.batchSize = batchSize;
+        this.seed = seed;
+    }
+
+    @Override
+    public void run(String... args) {
+        Long existing = jdbcTemplate.queryForObject("select count(*) from events", Long.class);
+        if (existing > 0) {
+            System.out.println("Load-test dataset: " + existing + " events already present, not generating");
+            return;
+        }
+
+        long started = System.nanoTime();
+        Random random = new Random(seed);
+        insertUsers();
+        List<Long> categoryIds = insertCategories();
+        int[] seats = seatsPerEvent(random);
+        insertEvents(random, categoryIds, seats);
+        insertRegistrations(random, seats);
+        idGeneratorAligner.alignIdGenerators();
+
+        System.out.printf("Load-test dataset: %d users, %d events, %d registrations in %d s%n",
+                users, events, registrations, (System.nanoTime() - started) / 1_000_000_000);
+    }
+
+    private void insertUsers() {
+        String hash = passwordEncoder.encode(password);
+        Long studentRoleId = roleRepository.findByName("ROLE_STUDENT").orElseThrow().getId();
+
+        Batch userRows = new Batch("insert into users (id, name, email, password, mobile_number, department, "
+                + "registration_number, year, gender, token_version) values (?, ?, ?, ?, ?, ?, ?, ?, ?, 0)");
+        Batch roleRows = new Batch("insert into user_roles (user_id, role_id) values (?, ?)");
+        for (long id = 1; id <= users; id++) {
+            userRows.add(id, "Student " + id, "user" + id + EMAIL_DOMAIN, hash,
+                    String.valueOf(9_000_000_000L + id), DEPARTMENTS[(int) (id % DEPARTMENTS.length)],
+                    "LT" + (100_000 + id), (int) (1 + id % 4), id % 2 == 0 ? "Female" : "Male");
+            roleRows.add(id, studentRoleId);
+        }
+        userRows.flush();
+        roleRows.flush();
+    }
+
+    private List<Long> insertCategories() {
+        List<Long> ids = new ArrayList<>(CATEGORIES.length);
+        for (String name : CATEGORIES) {
+            Category category = new Category();
+            category.setName(name);
+            category.setDescription(name + " events");
+            ids.add(categoryRepository.save(category).getId());
+        }
+        return ids;
+    }
+
+    // Taken seats per event: exponential weights scaled to the requested total, each at most
+    // the number of users (one registration per user and event)
+    private int[] seatsPerEvent(Random random) {
+        double[] weights = new double[events];
+        double total = 0;
+        for (int e = 0; e < events; e++) {
+            weights[e] = -Math.log(1 - random.nextDouble());
+            total += weights[e];
+        }
+
+        int[] seats = new int[events];
+        long placed = 0;
+        for (int e = 0; e < events; e++) {
+            seats[e] = (int) Math.min(users, Math.floor(registrations * weights[e] / total));
+            placed += seats[e];
+        }
+        // Rounding leftovers, spread round-robin over events that still have room
+        for (int e = 0; placed < registrations; e = (e + 1) % events) {
+            if (seats[e] < users) {
+                seats[e]++;
+                placed++;
+            }
+        }
+        return seats;
+    }
+
+    private void insertEvents(Random random, List<Long> categoryIds, int[] seats) {
+        // Ten events a day, starting so that a quarter of them are already over
+        LocalDateTime start = LocalDateTime.now().withNano(0).minusMinutes(events / 4 * 144L);
+        Batch rows = new Batch("insert into events (id, name, description, organizing_club, date_time, venue, "
+                + "max_attendees, registration_price, registered_count, category_id) values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)");
+        for (int e = 0; e < events; e++) {
+            String topic = TOPICS[random.nextInt(TOPICS.length)];
+            String kind = KINDS[random.nextInt(KINDS.length)];
+            boolean soldOut = seats[e] > 0 && random.nextInt(7) == 0;
+            int capacity = soldOut ? seats[e] : seats[e] + 20 + random.nextInt(seats[e] / 2 + 50);
+            double price = random.nextInt(10) < 3 ? 50 + 10 * random.nextInt(46) : 0;
+
+            rows.add((long) e + 1, topic + " " + kind + " " + (e + 1),
+                    "A " + kind.toLowerCase() + " on " + topic.toLowerCase() + " for every year and department.",
+                    CLUBS[random.nextInt(CLUBS.length)],
+                    Timestamp.valueOf(start.plusMinutes(e * 144L + random.nextInt(120))),
+                    VENUES[random.nextInt(VENUES.length)],
+                    capacity, price, seats[e], categoryIds.get(random.nextInt(categoryIds.size())));
+        }
+        rows.flush();
+    }
+
+    // Event e is attended by a run of consecutive user ids from a random start, wrapping
+    // around; the runs are at most the number of users long, so no pair repeats
+    private void insertRegistrations(Random random, int[] seats) {
+        List<Object[]> eventRows = jdbcTemplate.query("select registration_price, date_time from events order by id",
+                (rs, rowNum) -> new Object[]{rs.getDouble(1), rs.getTimestamp(2).toLocalDateTime()});
+        Batch rows = new Batch("insert into registrations (user_id, event_id, registration_time, razorpay_order_id, "
+                + "razorpay_payment_id, payment_status, amount_paid) values (?, ?, ?, ?, ?, 'PAID', ?)");
+        long sequence = 0;
+        for (int e = 0; e < events; e++) {
+            double price = (double) eventRows.get(e)[0];
+            LocalDateTime eventTime = (LocalDateTime) eventRows.get(e)[1];
+            int first = random.nextInt(users);
+            for (int j = 0; j < seats[e]; j++) {
+                sequence++;
+                long userId = (first + j) % users + 1;
+                Timestamp registeredAt = Timestamp.valueOf(eventTime.minusMinutes(60 + random.nextInt(30 * 24 * 60)));
+                rows.add(userId, (long) e + 1, registeredAt,
+                        price > 0 ? "order_seed_" + sequence : null,
+                        price > 0 ? "pay_seed_" + sequence : null,
+                        price);
+            }
+        }
+        rows.flush();
+    }
+
+    /**
+     * Collects parameter rows for one statement and sends them in JDBC batches.
+     */
+    private final class Batch {
+
+        private final String sql;
+        private final List<Object[]> rows = new ArrayList<>(batchSize);
+
+        Batch(String sql) {
+            this.sql = sql;
+        }
+
+        void add(Object... row) {
+            rows.add(row);
+            if (rows.size() == batchSize) {
+                flush();
+            }
+        }
+
+        void flush() {
+            if (!rows.isEmpty()) {
+                jdbcTemplate.batchUpdate(sql, rows);
+                rows.clear();
+            }
+        }
+    }
+}
@@ -0,0 +1,460 @@
+package com.college.campusconnect.loadtest;
+
+import com.college.campusconnect.CampusConnectApplication;
+import com.college.campusconnect.benchmark.LatencyRecorder;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Replays a mix of student traffic against the backend and reports throughput and
+ * latency percentiles per operation.
+ *
+ * A fixed number of clients run in a closed loop, each logged in as one of the dataset's
+ * users. Every iteration picks an operation by weight (loadtest.mix):
+ * - browse: the public listings, next pages, event details, category and filtered
+ *   listings, and search;
+ * - login: signs in again as a random user (BCrypt, so this is the expensive one);
+ * - register: registration for a random upcoming free event;
+ * - verify: registration for a paid event, polling the handle until the order exists,
+ *   then /api/payment/verify with a correctly signed payment, as the checkout would.
+ * Only responses after the warmup are counted. Non-2xx answers count as errors; sold-out
+ * events and repeat registrations, for instance, answer 500.
+ *
+ * With loadtest.url unset the driver starts the backend in-process under the loadtest
+ * profile (dataset generated on startup). To keep server and driver apart, start the
+ * server on its own first:
+ * mvn -pl benchmarks -am verify -DskipTests -Pjmh -Dbench.args=--spring.profiles.active=loadtest \
+ *     -Dbench.main=com.college.campusconnect.CampusConnectApplication
+ *
+ * and run the driver with:
+ * mvn -pl benchmarks -am verify -DskipTests -Pjmh -Dbench.args= \
+ *     -Dbench.main=com.college.campusconnect.loadtest.LoadDriver -Dbench.jvm="-Dloadtest.url=http://localhost:8080"
+ *
+ * Settings (system properties): loadtest.url, loadtest.concurrency (default 200),
+ * loadtest.seconds (default 60), loadtest.warmup-seconds (default 15),
+ * loadtest.mix (default browse=70,register=15,verify=10,login=5), loadtest.report (also
+ * write the results as JSON to this file). loadtest.dataset.users, loadtest.dataset.password
+ * and razorpay.key_secret must match the server's; the defaults are the profile's.
+ */
+public final class LoadDriver {
+
+    private static final String URL = System.getProperty("loadtest.url", "");
+    private static final int CONCURRENCY = Integer.getInteger("loadtest.concurrency", 200);
+    private static final int SECONDS = Integer.getInteger("loadtest.seconds", 60);
+    private static final int WARMUP_SECONDS = Integer.getInteger("loadtest.warmup-seconds", 15);
+    private static final String MIX = System.getProperty("loadtest.mix", "browse=70,register=15,verify=10,login=5");
+    private static final String REPORT = System.getProperty("loadtest.report", "");
+    private static final int USERS = Integer.getInteger("loadtest.dataset.users", 50000);
+    private static final String PASSWORD = System.getProperty("loadtest.dataset.password", "loadtest");
+    private static final String KEY_SECRET = System.getProperty("razorpay.key_secret", "loadtest-key-secret");
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+    private static final Duration ORDER_WAIT = Duration.ofSeconds(15);
+    private static final String[] SEARCH_TERMS = {"robotics", "music workshop", "hack", "quiz", "photography night",
+            "dance", "startup", "chess championship", "film", "yoga"};
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    private LoadDriver() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        ConfigurableApplicationContext server = URL.isEmpty() ? startServer() : null;
+        try {
+            String baseUrl = server == null ? URL
+                    : "http://localhost:" + server.getEnvironment().getProperty("local.server.port");
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .executor(Executors.newVirtualThreadPerTaskExecutor())
+                    .build();
+
+            Catalog catalog = Catalog.load(client, baseUrl);
+            System.out.printf("Catalog: %d upcoming events with seats (%d free, %d paid), %d categories%n",
+                    catalog.eventIds().size(), catalog.freeEventIds().size(), catalog.paidEventIds().size(),
+                    catalog.categoryIds().size());
+
+            Map<String, List<Stats>> results = run(client, baseUrl, catalog, Mix.parse(MIX));
+            report(results);
+        } finally {
+            if (server != null) {
+                server.close();
+            }
+        }
+    }
+
+    private static ConfigurableApplicationContext startServer() {
+        return new SpringApplicationBuilder(CampusConnectApplication.class)
+                .profiles("loadtest")
+                // Refused registrations are counted in the report, not logged with stack traces
+                .properties("server.port=0", "logging.level.root=WARN",
+                        "logging.level.org.apache.catalina.core.ContainerBase=OFF")
+                .run();
+    }
+
+    private static Map<String, List<Stats>> run(HttpClient client, String baseUrl, Catalog catalog, Mix mix) throws Exception {
+        long warmupEnd = System.nanoTime() + TimeUnit.SECONDS.toNanos(WARMUP_SECONDS);
+        long end = warmupEnd + TimeUnit.SECONDS.toNanos(SECONDS);
+        List<Client> clients = new ArrayList<>(CONCURRENCY);
+
+        try (ExecutorService threads = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < CONCURRENCY; c++) {
+                Client user = new Client(client, baseUrl, catalog, warmupEnd);
+                clients.add(user);
+                threads.submit(() -> {
+                    user.login();
+                    while (System.nanoTime() < end) {
+                        switch (mix.pick()) {
+                            case "browse" -> user.browse();
+                            case "login" -> user.login();
+                            case "register" -> user.register();
+                            case "verify" -> user.registerAndPay();
+                            default -> throw new IllegalStateException();
+                        }
+                    }
+                    return null;
+                });
+            }
+        }
+
+        // Per-client results grouped by operation name
+        Map<String, List<Stats>> byOperation = new TreeMap<>();
+        for (Client user : clients) {
+            user.stats.forEach((operation, stats) ->
+                    byOperation.computeIfAbsent(operation, name -> new ArrayList<>()).add(stats));
+        }
+        return byOperation;
+    }
+
+    private static void report(Map<String, List<Stats>> results) throws IOException {
+        System.out.printf("%nconcurrency=%d, %d s measured after %d s warmup, mix %s%n", CONCURRENCY, SECONDS,
+                WARMUP_SECONDS, MIX);
+        System.out.printf("%-22s %9s %9s %7s %9s %9s %9s %9s %9s%n",
+                "operation", "count", "req/s", "errors", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+
+        List<Map<String, Object>> rows = new ArrayList<>();
+        long total = 0;
+        long errors = 0;
+        for (Map.Entry<String, List<Stats>> entry : results.entrySet()) {
+            long[] latencies = LatencyRecorder.merge(entry.getValue().stream().map(stats -> stats.recorder).toList());
+            long operationErrors = entry.getValue().stream().mapToLong(stats -> stats.errors).sum();
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("operation", entry.getKey());
+            row.put("count", latencies.length);
+            row.put("throughput", latencies.length / (double) SECONDS);
+            row.put("errors", operationErrors);
+            row.put("p50", LatencyRecorder.percentile(latencies, 0.50));
+            row.put("p90", LatencyRecorder.percentile(latencies, 0.90));
+            row.put("p99", LatencyRecorder.percentile(latencies, 0.99));
+            row.put("p999", LatencyRecorder.percentile(latencies, 0.999));
+            row.put("max", LatencyRecorder.percentile(latencies, 1.0));
+            rows.add(row);
+            total += latencies.length;
+            errors += operationErrors;
+
+            System.out.printf("%-22s %9d %9.1f %7d %9.1f %9.1f %9.1f %9.1f %9.1f%n", row.values().toArray());
+        }
+        System.out.printf("%-22s %9d %9.1f %7d%n", "total", total, total / (double) SECONDS, errors);
+
+        if (!REPORT.isEmpty()) {
+            Map<String, Object> document = new LinkedHashMap<>();
+            document.put("concurrency", CONCURRENCY);
+            document.put("seconds", SECONDS);
+            document.put("warmupSeconds", WARMUP_SECONDS);
+            document.put("mix", MIX);
+            document.put("latencyUnit", "ms");
+            document.put("operations", rows);
+            Files.writeString(Path.of(REPORT), JSON.writerWithDefaultPrettyPrinter().writeValueAsString(document));
+            System.out.println("Report written to " + REPORT);
+        }
+    }
+
+    private static String hmacSha256Hex(String payload, String secret) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+            return HexFormat.of().formatHex(mac.doFinal(payload.getBytes(StandardCharsets.UTF_8)));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * One simulated student: a session token and per-operation latencies, touched by
+     * its own thread only.
+     */
+    private static final class Client {
+
+        private static final AtomicLong PAYMENTS = new AtomicLong();
+
+        private final HttpClient http;
+        private final String baseUrl;
+        private final Catalog catalog;
+        private final long warmupEnd;
+        private final Map<String, Stats> stats = new HashMap<>();
+        private String token;
+
+        Client(HttpClient http, String baseUrl, Catalog catalog, long warmupEnd) {
+            this.http = http;
+            this.baseUrl = baseUrl;
+            this.catalog = catalog;
+            this.warmupEnd = warmupEnd;
+        }
+
+        void login() {
+            String email = "user" + (1 + random().nextInt(USERS)) + DatasetGenerator.EMAIL_DOMAIN;
+            JsonNode response = send("login", post("/api/auth/login", Map.of("email", email, "password", PASSWORD)));
+            if (response != null) {
+                token = response.path("token").asText();
+            }
+        }
+
+        void browse() {
+            int pick = random().nextInt(100);
+            if (pick < 35) {
+                send("browse upcoming", get("/api/public/events?size=20"));
+            } else if (pick < 50) {
+                send("browse next page", get("/api/public/events?size=20&cursor=" + encode(pickFrom(catalog.cursors()))));
+            } else if (pick < 65) {
+                send("browse event", get("/api/public/events/" + pickFrom(catalog.eventIds())));
+            } else if (pick < 77) {
+                send("browse category", get("/api/public/categories/" + pickFrom(catalog.categoryIds()) + "/events?size=20"));
+            } else if (pick < 90) {
+                String categories = pickFrom(catalog.categoryIds()) + "," + pickFrom(catalog.categoryIds());
+                send("browse filter", get("/api/public/events/filter?size=20&available=true&categories=" + categories));
+            } else {
+                send("browse search", get("/api/public/events/search?q=" + encode(pickFrom(SEARCH_TERMS))));
+            }
+        }
+
+        void register() {
+            send("register", authorized(post("/api/user/events/" + pickFrom(catalog.freeEventIds()) + "/register", null)));
+        }
+
+        // Paid registration end to end: the handle, the order id once the gateway has answered,
+        // and the payment confirmation the checkout sends
+        void registerAndPay() {
+            JsonNode handle = send("register paid",
+                    authorized(post("/api/user/events/" + pickFrom(catalog.paidEventIds()) + "/register", null)));
+            if (handle == null || !"PENDING".equals(handle.path("status").asText())) {
+                return;
+            }
+
+            long deadline = System.nanoTime() + ORDER_WAIT.toNanos();
+            while (handle != null && handle.path("orderId").isNull() && "PENDING".equals(handle.path("status").asText())) {
+                if (System.nanoTime() > deadline) {
+                    failed("registration status");
+                    return;
+                }
+                pause(50);
+                handle = send("registration status",
+                        authorized(get("/api/user/registrations/" + handle.path("registrationId").asLong())));
+            }
+            if (handle == null || handle.path("orderId").isNull()) {
+                return;
+            }
+
+            String orderId = handle.path("orderId").asText();
+            String paymentId = "pay_lt_" + PAYMENTS.incrementAndGet();
+            send("verify", authorized(post("/api/payment/verify", Map.of(
+                    "razorpay_order_id", orderId,
+                    "razorpay_payment_id", paymentId,
+                    "razorpay_signature", hmacSha256Hex(orderId + "|" + paymentId, KEY_SECRET)))));
+        }
+
+        // Returns the parsed body of a 2xx response, null otherwise
+        private JsonNode send(String operation, HttpRequest request) {
+            long started = System.nanoTime();
+            JsonNode body = null;
+            boolean ok;
+            try {
+                HttpResponse<byte[]> response = http.send(request, HttpResponse.BodyHandlers.ofByteArray());
+                ok = response.statusCode() / 100 == 2;
+                if (ok && response.body().length > 0) {
+                    body = JSON.readTree(response.body());
+                }
+            } catch (IOException e) {
+                ok = false;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                ok = false;
+            }
+
+            if (started >= warmupEnd) {
+                Stats operationStats = stats.computeIfAbsent(operation, name -> new Stats());
+                operationStats.recorder.record(System.nanoTime() - started);
+                if (!ok) {
+                    operationStats.errors++;
+                }
+            }
+            return body;
+        }
+
+        private void failed(String operation) {
+            if (System.nanoTime() >= warmupEnd) {
+                stats.computeIfAbsent(operation, name -> new Stats()).errors++;
+            }
+        }
+
+        private HttpRequest get(String path) {
+            return HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(TIMEOUT).GET().build();
+        }
+
+        private HttpRequest post(String path, Map<String, String> body) {
+            HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(TIMEOUT);
+            if (body == null) {
+                return builder.POST(HttpRequest.BodyPublishers.noBody()).build();
+            }
+            try {
+                return builder.header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofByteArray(JSON.writeValueAsBytes(body)))
+                        .build();
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        private HttpRequest authorized(HttpRequest request) {
+            return HttpRequest.newBuilder(request, (name, value) -> true)
+                    .header("Authorization", "Bearer " + token)
+                    .build();
+        }
+
+        private static <T> T pickFrom(List<T> values) {
+            return values.get(random().nextInt(values.size()));
+        }
+
+        private static <T> T pickFrom(T[] values) {
+            return values[random().nextInt(values.length)];
+        }
+
+        private static ThreadLocalRandom random() {
+            return ThreadLocalRandom.current();
+        }
+
+        private static void pause(long millis) {
+            try {
+                Thread.sleep(millis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Latencies and error count of one operation for one client.
+     */
+    private static final class Stats {
+
+        private final LatencyRecorder recorder = new LatencyRecorder();
+        private long errors;
+    }
+
+    /**
+     * Operation weights, e.g. "browse=70,register=15,verify=10,login=5".
+     */
+    private record Mix(String[] operations, int[] cumulative) {
+
+        static Mix parse(String mix) {
+            List<String> operations = new ArrayList<>();
+            List<Integer> cumulative = new ArrayList<>();
+            int total = 0;
+            for (String part : mix.split(",")) {
+                String[] pair = part.trim().split("=");
+                if (!List.of("browse", "login", "register", "verify").contains(pair[0])) {
+                    throw new IllegalArgumentException("Unknown operation in loadtest.mix: " + pair[0]);
+                }
+                total += Integer.parseInt(pair[1]);
+                operations.add(pair[0]);
+                cumulative.add(total);
+            }
+            return new Mix(operations.toArray(String[]::new), cumulative.stream().mapToInt(Integer::intValue).toArray());
+        }
+
+        String pick() {
+            int roll = ThreadLocalRandom.current().nextInt(cumulative[cumulative.length - 1]);
+            for (int i = 0; i < cumulative.length; i++) {
+                if (roll < cumulative[i]) {
+                    return operations[i];
+                }
+            }
+            throw new IllegalStateException();
+        }
+    }
+
+    /**
+     * What the clients pick from: upcoming events that still had seats when the run
+     * started, split by price, the categories, and cursors into the upcoming listing.
+     */
+    private record Catalog(List<Long> eventIds, List<Long> freeEventIds, List<Long> paidEventIds,
+                           List<Long> categoryIds, List<String> cursors) {
+
+        static Catalog load(HttpClient client, String baseUrl) throws IOException, InterruptedException {
+            List<Long> eventIds = new ArrayList<>();
+            List<Long> free = new ArrayList<>();
+            List<Long> paid = new ArrayList<>();
+            List<String> cursors = new ArrayList<>();
+            String cursor = null;
+            do {
+                String url = baseUrl + "/api/public/events/filter?available=true&size=100"
+                        + (cursor == null ? "" : "&cursor=" + encode(cursor));
+                HttpResponse<byte[]> response = client.send(HttpRequest.newBuilder(URI.create(url)).timeout(TIMEOUT).build(),
+                        HttpResponse.BodyHandlers.ofByteArray());
+                for (JsonNode event : JSON.readTree(response.body())) {
+                    long id = event.path("id").asLong();
+                    eventIds.add(id);
+                    (event.path("registrationPrice").asDouble() > 0 ? paid : free).add(id);
+                }
+                cursor = response.headers().firstValue("X-Next-Cursor").orElse(null);
+                if (cursor != null) {
+                    cursors.add(cursor);
+                }
+            } while (cursor != null);
+
+            HttpResponse<byte[]> categories = client.send(
+                    HttpRequest.newBuilder(URI.create(baseUrl + "/api/public/categories")).timeout(TIMEOUT).build(),
+                    HttpResponse.BodyHandlers.ofByteArray());
+            List<Long> categoryIds = new ArrayList<>();
+            for (JsonNode category : JSON.readTree(categories.body())) {
+                categoryIds.add(category.path("id").asLong());
+            }
+
+            if (free.isEmpty() || paid.isEmpty() || cursors.isEmpty()) {
+                throw new IllegalStateException("The server has too few upcoming events to drive a load test; "
+                        + "is it running with the loadtest profile?");
+            }
+            return new Catalog(eventIds, free, paid, categoryIds, cursors);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.college.campusconnect.loadtest;
+
+import com.college.campusconnect.service.PaymentGateway;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Stands in for Razorpay under the loadtest profile. Orders are made up locally after a
+ * fixed delay that plays the part of the API round trip; the load driver pays them by
+ * signing with the profile's razorpay.key_secret, exactly as the checkout would.
+ */
+@Service
+@Primary
+@Profile("loadtest")
+public class SimulatedPaymentGateway implements PaymentGateway {
+
+    private final Duration latency;
+    private final AtomicLong sequence = new AtomicLong();
+    private final Set<String> orders = ConcurrentHashMap.newKeySet();
+
+    public SimulatedPaymentGateway(@Value("${loadtest.gateway.latency:150ms}") Duration latency) {
+        this.latency = latency;
+    }
+
+    @Override
+    public String createOrder(String idempotencyKey, long amountInPaise, String currency) {
+        pause();
+        String orderId = "order_sim_" + sequence.incrementAndGet();
+        orders.add(orderId);
+        return orderId;
+    }
+
+    // The reconciler only asks about orders still PENDING, i.e. ones the driver never paid
+    @Override
+    public Map<String, OrderStatus> fetchOrderStatuses(Collection<String> orderIds) {
+        pause();
+        Map<String, OrderStatus> statuses = new HashMap<>();
+        for (String orderId : orderIds) {
+            OrderState state = orders.contains(orderId) ? OrderState.UNPAID : OrderState.NOT_FOUND;
+            statuses.put(orderId, new OrderStatus(state, null));
+        }
+        return statuses;
+    }
+
+    private void pause() {
+        try {
+            Thread.sleep(latency);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
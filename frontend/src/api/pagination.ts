@@ -0,0 +1,6 @@
+import type { AxiosResponse } from 'axios';
+
+// Event listings are keyset-paginated: the body is one page and the cursor for the next
+// page comes in the X-Next-Cursor header, which is absent on the last page
+export const nextCursor = (response: AxiosResponse): string | null =>
+  (response.headers['x-next-cursor'] as string | undefined) ?? null;
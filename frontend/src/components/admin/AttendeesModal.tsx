@@ -9,7 +9,8 @@ import {
 import { Table, TableBody, TableCell, TableHead, TableHeader, TableRow } from '@/components/ui/table';
 import axiosInstance from '@/api/axiosConfig';
 import { UserDto } from '@/types';
-import { Users } from 'lucide-react';
+import { Button } from '@/components/ui/button';
+import { Download, Users } from 'lucide-react';
 
 interface AttendeesModalProps {
   eventId: number | null;
@@ -42,6 +43,25 @@ export const AttendeesModal = ({ eventId, eventName, open, onOpenChange }: Atten
     }
   };
 
+  const exportAttendees = async () => {
+    if (!eventId) return;
+
+    try {
+      const response = await axiosInstance.get(`/api/admin/events/${eventId}/attendees/export`, {
+        params: { format: 'csv' },
+        responseType: 'blob',
+      });
+      const url = URL.createObjectURL(response.data);
+      const link = document.createElement('a');
+      link.href = url;
+      link.download = `event-${eventId}-attendees.csv`;
+      link.click();
+      URL.revokeObjectURL(url);
+    } catch (error) {
+      console.error('Error exporting attendees:', error);
+    }
+  };
+
   return (
     <Dialog open={open} onOpenChange={onOpenChange}>
       <DialogContent className="max-w-3xl max-h-[80vh] overflow-y-auto">
@@ -53,6 +73,12 @@ export const AttendeesModal = ({ eventId, eventName, open, onOpenChange }: Atten
           <DialogDescription>
             {eventName} - Total Registrations: {attendees.length}
           </DialogDescription>
+          <div>
+            <Button variant="outline" size="sm" onClick={exportAttendees} disabled={attendees.length === 0}>
+              <Download className="h-4 w-4 mr-2" />
+              Export CSV
+            </Button>
+          </div>
         </DialogHeader>
 
         {isLoading ? (
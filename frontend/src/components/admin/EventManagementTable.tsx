@@ -4,13 +4,20 @@ import { Button } from '@/components/ui/button';
 import { Table, TableBody, TableCell, TableHead, TableHeader, TableRow } from '@/components/ui/table';
 import { useToast } from '@/hooks/use-toast';
 import axiosInstance from '@/api/axiosConfig';
+import { nextCursor } from '@/api/pagination';
 import { EventDto } from '@/types';
 import { Edit, Trash2, Users, Plus } from 'lucide-react';
 import { AttendeesModal } from './AttendeesModal';
 
+// Largest page the listing endpoints serve
+const PAGE_SIZE = 100;
+
 export const EventManagementTable = () => {
   const [events, setEvents] = useState<EventDto[]>([]);
   const [isLoading, setIsLoading] = useState(true);
+  // Cursor of the next page of events; null once the last page is loaded
+  const [cursor, setCursor] = useState<string | null>(null);
+  const [isLoadingMore, setIsLoadingMore] = useState(false);
   const [selectedEventId, setSelectedEventId] = useState<number | null>(null);
   const [selectedEventName, setSelectedEventName] = useState('');
   const [isModalOpen, setIsModalOpen] = useState(false);
@@ -23,8 +30,11 @@ export const EventManagementTable = () => {
 
   const fetchEvents = async () => {
     try {
-      const response = await axiosInstance.get<EventDto[]>('/api/public/events');
+      const response = await axiosInstance.get<EventDto[]>('/api/public/events', {
+        params: { size: PAGE_SIZE },
+      });
       setEvents(response.data);
+      setCursor(nextCursor(response));
     } catch (error) {
       console.error('Error fetching events:', error);
     } finally {
@@ -32,13 +42,30 @@ export const EventManagementTable = () => {
     }
   };
 
+  const fetchMoreEvents = async () => {
+    if (!cursor) return;
+    setIsLoadingMore(true);
+    try {
+      const response = await axiosInstance.get<EventDto[]>('/api/public/events', {
+        params: { cursor, size: PAGE_SIZE },
+      });
+      setEvents((loaded) => [...loaded, ...response.data]);
+      setCursor(nextCursor(response));
+    } catch (error) {
+      console.error('Error fetching events:', error);
+    } finally {
+      setIsLoadingMore(false);
+    }
+  };
+
   const handleDelete = async (id: number) => {
     if (!confirm('Are you sure you want to delete this event?')) return;
 
     try {
       await axiosInstance.delete(`/api/admin/events/${id}`);
       toast({ title: 'Event deleted successfully' });
-      fetchEvents();
+      // Keeps the pages loaded so far instead of going back to the first one
+      setEvents((loaded) => loaded.filter((event) => event.id !== id));
     } catch (error: any) {
       toast({
         title: 'Error',
@@ -139,6 +166,14 @@ export const EventManagementTable = () => {
         </div>
       )}
 
+      {cursor && !isLoading && (
+        <div className="text-center">
+          <Button variant="outline" onClick={fetchMoreEvents} disabled={isLoadingMore}>
+            {isLoadingMore ? 'Loading...' : 'Load more events'}
+          </Button>
+        </div>
+      )}
+
       <AttendeesModal
         eventId={selectedEventId}
         eventName={selectedEventName}
@@ -0,0 +1,36 @@
+import * as React from "react";
+import axiosInstance from "@/api/axiosConfig";
+import { EventDto, SeatUpdate } from "@/types";
+
+// The server streams at most this many events per connection
+const MAX_EVENTS_PER_STREAM = 100;
+
+/**
+ * Live remaining seats for the given events over one Server-Sent Events connection.
+ * EventSource reconnects on its own (e.g. after the server dropped a slow reader) and
+ * the first message per event after connecting is its current count.
+ */
+export function useSeatAvailability(eventIds: number[]) {
+  const [remaining, setRemaining] = React.useState<Record<number, number>>({});
+  const key = eventIds.slice(0, MAX_EVENTS_PER_STREAM).join(",");
+
+  React.useEffect(() => {
+    if (!key) return;
+    const source = new EventSource(
+      `${axiosInstance.defaults.baseURL}/api/public/events/seats/stream?ids=${key}`
+    );
+    source.addEventListener("seats", (message) => {
+      const update: SeatUpdate = JSON.parse((message as MessageEvent<string>).data);
+      setRemaining((current) => ({ ...current, [update.eventId]: update.remaining }));
+    });
+    return () => source.close();
+  }, [key]);
+
+  return remaining;
+}
+
+// The event with its live seat count, if one has arrived
+export function withLiveSeats(event: EventDto, remaining: Record<number, number>): EventDto {
+  const seats = remaining[event.id];
+  return seats === undefined ? event : { ...event, registeredAttendeesCount: event.maxAttendees - seats };
+}
@@ -5,17 +5,39 @@ import { Card, CardContent, CardDescription, CardHeader, CardTitle } from '@/com
 import { Badge } from '@/components/ui/badge';
 import { useAuth } from '@/context/AuthContext';
 import { useToast } from '@/hooks/use-toast';
+import { useSeatAvailability, withLiveSeats } from '@/hooks/use-seat-availability';
 import axiosInstance from '@/api/axiosConfig';
-import { EventDto, OrderResponse, RazorpayResponse } from '@/types';
+import { EventDto, RazorpayResponse, RegistrationStatus, WaitlistStatus } from '@/types';
 import { CalendarDays, MapPin, Users, DollarSign, Building, ArrowLeft } from 'lucide-react';
 
 const RAZORPAY_KEY_ID = import.meta.env.VITE_RAZORPAY_KEY_ID;
+const ORDER_POLL_INTERVAL_MS = 500;
+const ORDER_POLL_TIMEOUT_MS = 20000;
+
+const sleep = (ms: number) => new Promise((resolve) => setTimeout(resolve, ms));
+
+// Paid registrations come back PENDING; the Razorpay order id is attached in the background
+const waitForOrder = async (registration: RegistrationStatus): Promise<RegistrationStatus> => {
+  let current = registration;
+  const deadline = Date.now() + ORDER_POLL_TIMEOUT_MS;
+  while (current.status === 'PENDING' && !current.orderId && Date.now() < deadline) {
+    await sleep(ORDER_POLL_INTERVAL_MS);
+    const response = await axiosInstance.get<RegistrationStatus>(
+      `/api/user/registrations/${current.registrationId}`
+    );
+    current = response.data;
+  }
+  return current;
+};
 
 export default function EventDetailsPage() {
   const { id } = useParams<{ id: string }>();
   const [event, setEvent] = useState<EventDto | null>(null);
   const [isLoading, setIsLoading] = useState(true);
   const [isRegistering, setIsRegistering] = useState(false);
+  const [waitlist, setWaitlist] = useState<WaitlistStatus | null>(null);
+  // Seat counts are pushed by the server instead of re-fetching the event
+  const liveSeats = useSeatAvailability(id ? [Number(id)] : []);
   const { isAuthenticated, user } = useAuth();
   const { toast } = useToast();
   const navigate = useNavigate();
@@ -24,6 +46,12 @@ export default function EventDetailsPage() {
     fetchEvent();
   }, [id]);
 
+  useEffect(() => {
+    if (isAuthenticated) {
+      fetchWaitlist();
+    }
+  }, [id, isAuthenticated]);
+
   const fetchEvent = async () => {
     try {
       const response = await axiosInstance.get<EventDto>(`/api/public/events/${id}`);
@@ -40,6 +68,49 @@ export default function EventDetailsPage() {
     }
   };
 
+  const fetchWaitlist = async () => {
+    try {
+      const response = await axiosInstance.get<WaitlistStatus>(`/api/user/events/${id}/waitlist`);
+      setWaitlist(response.data);
+    } catch (error) {
+      console.error('Error fetching waitlist status:', error);
+    }
+  };
+
+  const handleJoinWaitlist = async () => {
+    try {
+      const response = await axiosInstance.post<WaitlistStatus>(`/api/user/events/${id}/waitlist`);
+      setWaitlist(response.data);
+      toast({
+        title: 'Added to the Waitlist',
+        description: `You are #${response.data.position} in line. A freed seat is given to you automatically.`,
+      });
+    } catch (error: any) {
+      toast({
+        title: 'Could Not Join the Waitlist',
+        description: error.response?.data?.message || 'Failed to join the waitlist',
+        variant: 'destructive',
+      });
+    }
+  };
+
+  const handleLeaveWaitlist = async () => {
+    try {
+      await axiosInstance.delete(`/api/user/events/${id}/waitlist`);
+      fetchWaitlist();
+      toast({
+        title: 'Left the Waitlist',
+        description: 'You are no longer waiting for a seat at this event.',
+      });
+    } catch (error: any) {
+      toast({
+        title: 'Error',
+        description: error.response?.data?.message || 'Failed to leave the waitlist',
+        variant: 'destructive',
+      });
+    }
+  };
+
   const verifyPayment = async (response: RazorpayResponse) => {
     try {
       await axiosInstance.post('/api/payment/verify', {
@@ -101,11 +172,18 @@ export default function EventDetailsPage() {
 
     setIsRegistering(true);
     try {
-      const response = await axiosInstance.post<OrderResponse>(`/api/user/events/${id}/register`);
-      const { orderId } = response.data;
+      const response = await axiosInstance.post<RegistrationStatus>(`/api/user/events/${id}/register`);
+      const registration = await waitForOrder(response.data);
 
-      if (event.registrationPrice > 0 && orderId) {
-        openRazorpayCheckout(orderId);
+      if (registration.status === 'PENDING' && registration.orderId) {
+        openRazorpayCheckout(registration.orderId);
+      } else if (registration.status !== 'PAID') {
+        toast({
+          title: 'Registration Failed',
+          description: 'We could not start the payment. Please try again.',
+          variant: 'destructive',
+        });
+        fetchEvent();
       } else {
         toast({
           title: 'Registration Successful!',
@@ -114,6 +192,12 @@ export default function EventDetailsPage() {
         fetchEvent();
       }
     } catch (error: any) {
+      // 409: the last seat went while the page was open; queue for the next free one
+      if (error.response?.status === 409) {
+        fetchEvent();
+        await handleJoinWaitlist();
+        return;
+      }
       toast({
         title: 'Registration Failed',
         description: error.response?.data?.message || 'Failed to register for event',
@@ -154,7 +238,11 @@ export default function EventDetailsPage() {
     );
   }
 
-  const spotsRemaining = event.maxAttendees - event.registeredAttendeesCount;
+  const liveEvent = withLiveSeats(event, liveSeats);
+  const spotsRemaining = liveEvent.maxAttendees - liveEvent.registeredAttendeesCount;
+  const isWaiting = waitlist?.status === 'WAITING';
+  // A promoted user of a paid event still has to pay for the seat that was taken for them
+  const canRegister = spotsRemaining > 0 || waitlist?.status === 'REGISTERED';
 
   return (
     <div className="min-h-screen py-8">
@@ -251,22 +339,37 @@ export default function EventDetailsPage() {
                   </div>
                 </div>
 
-                <Button
-                  onClick={handleRegister}
-                  disabled={isRegistering || spotsRemaining === 0}
-                  className="w-full"
-                  size="lg"
-                >
-                  {isRegistering
-                    ? 'Processing...'
-                    : spotsRemaining === 0
-                    ? 'Event Full'
-                    : isAuthenticated
-                    ? event.registrationPrice > 0
-                      ? `Pay ₹${event.registrationPrice} & Register`
-                      : 'Register for Event'
-                    : 'Login to Register'}
-                </Button>
+                {isWaiting ? (
+                  <div className="space-y-2">
+                    <p className="text-sm text-center text-muted-foreground">
+                      You are #{waitlist?.position} of {waitlist?.waiting} on the waitlist
+                    </p>
+                    <Button onClick={handleLeaveWaitlist} variant="outline" className="w-full" size="lg">
+                      Leave Waitlist
+                    </Button>
+                  </div>
+                ) : !canRegister && isAuthenticated ? (
+                  <Button onClick={handleJoinWaitlist} variant="secondary" className="w-full" size="lg">
+                    Event Full · Join Waitlist
+                  </Button>
+                ) : (
+                  <Button
+                    onClick={handleRegister}
+                    disabled={isRegistering || !canRegister}
+                    className="w-full"
+                    size="lg"
+                  >
+                    {isRegistering
+                      ? 'Processing...'
+                      : !canRegister
+                      ? 'Event Full'
+                      : isAuthenticated
+                      ? event.registrationPrice > 0
+                        ? `Pay ₹${event.registrationPrice} & Register`
+                        : 'Register for Event'
+                      : 'Login to Register'}
+                  </Button>
+                )}
               </CardContent>
             </Card>
           </div>
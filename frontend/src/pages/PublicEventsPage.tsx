@@ -1,45 +1,145 @@
-import { useState, useEffect } from 'react';
+import { useState, useEffect, useMemo } from 'react';
+import { Button } from '@/components/ui/button';
 import { Input } from '@/components/ui/input';
 import { Select, SelectContent, SelectItem, SelectTrigger, SelectValue } from '@/components/ui/select';
+import { Switch } from '@/components/ui/switch';
 import { EventCard } from '@/components/EventCard';
 import axiosInstance from '@/api/axiosConfig';
-import { EventDto, CategoryDto } from '@/types';
+import { nextCursor } from '@/api/pagination';
+import { useSeatAvailability, withLiveSeats } from '@/hooks/use-seat-availability';
+import { EventDto, CategoryDto, EventFacets, FacetCount } from '@/types';
 import { Search, Filter } from 'lucide-react';
 import { Label } from '@/components/ui/label';
 
+// "Name (12)"; a value the facet no longer lists still shows its name
+const withCount = (label: string, facet?: FacetCount) => (facet ? `${label} (${facet.count})` : label);
+
+const PAGE_SIZE = 50;
+
 export default function PublicEventsPage() {
   const [events, setEvents] = useState<EventDto[]>([]);
   const [categories, setCategories] = useState<CategoryDto[]>([]);
+  const [facets, setFacets] = useState<EventFacets | null>(null);
   const [searchTerm, setSearchTerm] = useState('');
   const [selectedCategory, setSelectedCategory] = useState<string>('all');
+  const [selectedClub, setSelectedClub] = useState<string>('all');
+  const [selectedPrice, setSelectedPrice] = useState<string>('all');
+  const [onlyAvailable, setOnlyAvailable] = useState(false);
+  const [fromDate, setFromDate] = useState('');
+  const [toDate, setToDate] = useState('');
   const [isLoading, setIsLoading] = useState(true);
+  // Cursor of the next page of the filtered listing; null once the last page is loaded
+  const [cursor, setCursor] = useState<string | null>(null);
+  const [isLoadingMore, setIsLoadingMore] = useState(false);
+  // Server-side search results for the current term; null while the search box is empty
+  const [searchResults, setSearchResults] = useState<EventDto[] | null>(null);
 
   useEffect(() => {
-    fetchData();
+    axiosInstance
+      .get<CategoryDto[]>('/api/public/categories')
+      .then((response) => setCategories(response.data))
+      .catch((error) => console.error('Error fetching categories:', error));
   }, []);
 
-  const fetchData = async () => {
+  // The filtered listing and its facet counts come from the server for the same filters
+  const params = useMemo(() => {
+    const filters: Record<string, string | boolean> = {};
+    if (selectedCategory !== 'all') filters.categories = selectedCategory;
+    if (selectedClub !== 'all') filters.clubs = selectedClub;
+    if (selectedPrice !== 'all') filters.price = selectedPrice;
+    if (onlyAvailable) filters.available = true;
+    if (fromDate) filters.from = `${fromDate}T00:00:00`;
+    if (toDate) filters.to = `${toDate}T23:59:59`;
+    return filters;
+  }, [selectedCategory, selectedClub, selectedPrice, onlyAvailable, fromDate, toDate]);
+
+  useEffect(() => {
+    let cancelled = false;
+    setIsLoading(true);
+    Promise.all([
+      axiosInstance.get<EventDto[]>('/api/public/events/filter', { params: { ...params, size: PAGE_SIZE } }),
+      axiosInstance.get<EventFacets>('/api/public/events/facets', { params }),
+    ])
+      .then(([eventsResponse, facetsResponse]) => {
+        if (!cancelled) {
+          setEvents(eventsResponse.data);
+          setCursor(nextCursor(eventsResponse));
+          setFacets(facetsResponse.data);
+        }
+      })
+      .catch((error) => console.error('Error fetching events:', error))
+      .finally(() => {
+        if (!cancelled) setIsLoading(false);
+      });
+    return () => {
+      cancelled = true;
+    };
+  }, [params]);
+
+  const loadMore = async () => {
+    if (!cursor) return;
+    setIsLoadingMore(true);
     try {
-      const [eventsResponse, categoriesResponse] = await Promise.all([
-        axiosInstance.get<EventDto[]>('/api/public/events'),
-        axiosInstance.get<CategoryDto[]>('/api/public/categories'),
-      ]);
-      
-      setEvents(eventsResponse.data);
-      setCategories(categoriesResponse.data);
+      const response = await axiosInstance.get<EventDto[]>('/api/public/events/filter', {
+        params: { ...params, cursor, size: PAGE_SIZE },
+      });
+      setEvents((loaded) => [...loaded, ...response.data]);
+      setCursor(nextCursor(response));
     } catch (error) {
-      console.error('Error fetching data:', error);
+      console.error('Error fetching events:', error);
     } finally {
-      setIsLoading(false);
+      setIsLoadingMore(false);
     }
   };
 
-  const filteredEvents = events.filter((event) => {
-    const matchesSearch = event.name.toLowerCase().includes(searchTerm.toLowerCase()) ||
-                         event.description.toLowerCase().includes(searchTerm.toLowerCase());
-    const matchesCategory = selectedCategory === 'all' || event.categoryName === selectedCategory;
-    return matchesSearch && matchesCategory;
-  });
+  // Debounced so typing a word sends one request, not one per keystroke
+  useEffect(() => {
+    const query = searchTerm.trim();
+    if (!query) {
+      setSearchResults(null);
+      return;
+    }
+    let cancelled = false;
+    const timer = setTimeout(async () => {
+      try {
+        const response = await axiosInstance.get<EventDto[]>('/api/public/events/search', {
+          params: { q: query, size: 100 },
+        });
+        if (!cancelled) {
+          setSearchResults(response.data);
+        }
+      } catch (error) {
+        console.error('Error searching events:', error);
+      }
+    }, 250);
+    return () => {
+      cancelled = true;
+      clearTimeout(timer);
+    };
+  }, [searchTerm]);
+
+  // Search covers every event, so its results are checked against the same filters as the
+  // listing here rather than against the listing's loaded pages
+  const selectedCategoryName = categories.find((category) => String(category.id) === selectedCategory)?.name;
+  const matchesFilters = (event: EventDto) => {
+    const start = new Date(event.dateTime);
+    return (
+      (selectedCategory === 'all' || event.categoryName === selectedCategoryName) &&
+      (selectedClub === 'all' || event.organizingClub === selectedClub) &&
+      (selectedPrice === 'all' || (selectedPrice === 'free') === (event.registrationPrice <= 0)) &&
+      (!onlyAvailable || event.registeredAttendeesCount < event.maxAttendees) &&
+      start >= (fromDate ? new Date(`${fromDate}T00:00:00`) : new Date()) &&
+      (!toDate || start <= new Date(`${toDate}T23:59:59`))
+    );
+  };
+  const shownEvents = searchResults ? searchResults.filter(matchesFilters) : events;
+
+  // One stream for the seats of every shown event
+  const liveSeats = useSeatAvailability(shownEvents.map((event) => event.id));
+  const filteredEvents = shownEvents.map((event) => withLiveSeats(event, liveSeats));
+
+  const categoryFacet = (id: number) => facets?.categories.find((facet) => facet.value === String(id));
+  const priceFacet = (value: string) => facets?.price.find((facet) => facet.value === value);
 
   return (
     <div className="min-h-screen py-8">
@@ -55,7 +155,7 @@ export default function PublicEventsPage() {
           </div>
 
           {/* Filters */}
-          <div className="flex flex-col md:flex-row gap-4 max-w-2xl mx-auto">
+          <div className="flex flex-col md:flex-row gap-4 max-w-4xl mx-auto">
             <div className="flex-1 relative">
               <Search className="absolute left-3 top-1/2 -translate-y-1/2 h-4 w-4 text-muted-foreground" />
               <Input
@@ -74,14 +174,56 @@ export default function PublicEventsPage() {
                 <SelectContent>
                   <SelectItem value="all">All Categories</SelectItem>
                   {categories.map((category) => (
-                    <SelectItem key={category.id} value={category.name}>
-                      {category.name}
+                    <SelectItem key={category.id} value={String(category.id)}>
+                      {withCount(category.name, categoryFacet(category.id))}
+                    </SelectItem>
+                  ))}
+                </SelectContent>
+              </Select>
+            </div>
+            <div className="w-full md:w-48">
+              <Select value={selectedClub} onValueChange={setSelectedClub}>
+                <SelectTrigger>
+                  <SelectValue placeholder="All Clubs" />
+                </SelectTrigger>
+                <SelectContent>
+                  <SelectItem value="all">All Clubs</SelectItem>
+                  {facets?.clubs.map((club) => (
+                    <SelectItem key={club.value} value={club.value}>
+                      {withCount(club.label, club)}
                     </SelectItem>
                   ))}
                 </SelectContent>
               </Select>
             </div>
           </div>
+
+          <div className="flex flex-col md:flex-row md:items-end gap-4 max-w-4xl mx-auto">
+            <div className="w-full md:w-40">
+              <Select value={selectedPrice} onValueChange={setSelectedPrice}>
+                <SelectTrigger>
+                  <SelectValue placeholder="Any Price" />
+                </SelectTrigger>
+                <SelectContent>
+                  <SelectItem value="all">Any Price</SelectItem>
+                  <SelectItem value="free">{withCount('Free', priceFacet('free'))}</SelectItem>
+                  <SelectItem value="paid">{withCount('Paid', priceFacet('paid'))}</SelectItem>
+                </SelectContent>
+              </Select>
+            </div>
+            <div className="space-y-1">
+              <Label htmlFor="from-date">From</Label>
+              <Input id="from-date" type="date" value={fromDate} onChange={(e) => setFromDate(e.target.value)} />
+            </div>
+            <div className="space-y-1">
+              <Label htmlFor="to-date">To</Label>
+              <Input id="to-date" type="date" value={toDate} onChange={(e) => setToDate(e.target.value)} />
+            </div>
+            <div className="flex items-center gap-2 md:pb-2">
+              <Switch id="only-available" checked={onlyAvailable} onCheckedChange={setOnlyAvailable} />
+              <Label htmlFor="only-available">Seats available</Label>
+            </div>
+          </div>
         </div>
 
         {isLoading ? (
@@ -100,6 +242,15 @@ export default function PublicEventsPage() {
             ))}
           </div>
         )}
+
+        {/* Search results come in one ranked list; only the listing has further pages */}
+        {!isLoading && !searchResults && cursor && (
+          <div className="text-center mt-8">
+            <Button variant="outline" onClick={loadMore} disabled={isLoadingMore}>
+              {isLoadingMore ? 'Loading...' : 'Load more events'}
+            </Button>
+          </div>
+        )}
       </div>
     </div>
   );
@@ -63,6 +63,20 @@ export interface CategoryDto {
   description: string;
 }
 
+export interface FacetCount {
+  value: string;
+  label: string;
+  count: number;
+}
+
+export interface EventFacets {
+  total: number;
+  categories: FacetCount[];
+  clubs: FacetCount[];
+  price: FacetCount[];
+  availability: FacetCount[];
+}
+
 export interface CategoryRequest {
   name: string;
   description: string;
@@ -72,8 +86,27 @@ export interface UploadResponse {
   url: string;
 }
 
-export interface OrderResponse {
-  orderId: string;
+export interface RegistrationStatus {
+  registrationId: number;
+  eventId: number;
+  status: 'PENDING' | 'PAID' | 'FAILED';
+  orderId: string | null;
+}
+
+// One message of the live seat stream; delta is the change since the previous message
+export interface SeatUpdate {
+  eventId: number;
+  remaining: number;
+  delta: number;
+}
+
+// A user's place on a full event's waitlist; REGISTERED once a freed seat was given to them
+export interface WaitlistStatus {
+  eventId: number;
+  status: 'WAITING' | 'REGISTERED' | 'NONE';
+  position: number | null;
+  waiting: number;
+  registrationId: number | null;
 }
 
 export interface PaymentVerificationRequest {